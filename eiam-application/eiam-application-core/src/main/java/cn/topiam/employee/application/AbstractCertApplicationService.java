@@ -30,6 +30,7 @@ import org.springframework.util.IdGenerator;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import cn.topiam.employee.application.event.ApplicationConfigEventUtils;
 import cn.topiam.employee.common.entity.app.AppCertEntity;
 import cn.topiam.employee.common.enums.app.AppCertUsingType;
 import cn.topiam.employee.common.exception.app.AppCreateCertException;
@@ -101,6 +102,8 @@ public abstract class AbstractCertApplicationService extends AbstractApplication
             //使用类型
             config.setUsingType(usingType);
             appCertRepository.save(config);
+            //通知集群刷新应用缓存
+            ApplicationConfigEventUtils.refresh(appId);
         } catch (Exception e) {
             logger.error("创建应用证书异常", e);
             throw new AppCreateCertException();
@@ -18,40 +18,65 @@
 package cn.topiam.employee.application;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.*;
 import org.springframework.context.annotation.Configuration;
 
+import cn.topiam.employee.application.event.ApplicationConfigEventListener;
 import cn.topiam.employee.application.exception.AppNotExistException;
 import cn.topiam.employee.application.exception.AppTemplateNotExistException;
 import cn.topiam.employee.common.entity.app.AppEntity;
+import cn.topiam.employee.common.enums.app.AppProtocol;
 import cn.topiam.employee.common.repository.app.AppRepository;
 
 /**
  * 应用服务加载器
+ * <p>
+ * 维护 appCode/appId 到应用模版的索引，启动时预热，应用新增、修改、删除时通过应用配置事件更新。
  *
  * @author TopIAM
  * Created by support@topiam.cn on 2022/8/20 21:08
  */
 @Configuration
-public class ApplicationServiceLoader implements ApplicationContextAware {
+public class ApplicationServiceLoader implements ApplicationContextAware,
+                                      SmartInitializingSingleton, ApplicationConfigEventListener {
 
-    private final Logger                          logger                = LoggerFactory
+    private final Logger                            logger                = LoggerFactory
         .getLogger(ApplicationServiceLoader.class);
     /**
      * 用于保存接口实现类名及对应的类
      */
-    private Map<String, ApplicationService>       loadMap               = new HashMap<>(16);
-    private ApplicationContext                    applicationContext;
+    private final Map<String, ApplicationService>   loadMap               = new ConcurrentHashMap<>(
+        16);
+    private ApplicationContext                      applicationContext;
     /**
      * key: code，value：templateImpl
      */
-    private final Map<String, ApplicationService> applicationServiceMap = new HashMap<>(16);
+    private final Map<String, ApplicationService>   applicationServiceMap = new ConcurrentHashMap<>(
+        16);
+    /**
+     * key: appCode
+     */
+    private final Map<String, ApplicationIndex>     appCodeIndex          = new ConcurrentHashMap<>(
+        16);
+    /**
+     * key: appId
+     */
+    private final Map<String, ApplicationIndex>     appIdIndex            = new ConcurrentHashMap<>(
+        16);
+    /**
+     * 索引版本，应用变更时递增，避免并发加载写入过期索引
+     */
+    private final AtomicLong                        indexVersion          = new AtomicLong();
+    private volatile AppRepository                  appRepository;
 
     /**
      * Set the ApplicationContext that this object runs in.
@@ -70,7 +95,22 @@ public class ApplicationServiceLoader implements ApplicationContextAware {
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
-        loadMap = applicationContext.getBeansOfType(ApplicationService.class);
+        loadMap.putAll(applicationContext.getBeansOfType(ApplicationService.class));
+    }
+
+    /**
+     * 预热应用索引
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            long version = indexVersion.get();
+            List<AppEntity> list = getAppRepository().findAll();
+            list.forEach(app -> putIndex(app, version));
+            logger.info("预热应用索引完成, 应用数量: {}", list.size());
+        } catch (Exception e) {
+            logger.warn("预热应用索引失败: {}", e.getMessage(), e);
+        }
     }
 
     /**
@@ -109,12 +149,17 @@ public class ApplicationServiceLoader implements ApplicationContextAware {
      * @return {@link List}
      */
     public ApplicationService getApplicationServiceByAppId(String appId) {
-        AppRepository repository = applicationContext.getBean(AppRepository.class);
-        Optional<AppEntity> optional = repository.findById(appId);
+        ApplicationIndex index = appIdIndex.get(appId);
+        if (!Objects.isNull(index)) {
+            return getApplicationService(index.template());
+        }
+        long version = indexVersion.get();
+        Optional<AppEntity> optional = getAppRepository().findById(appId);
         if (optional.isEmpty()) {
             throw new AppNotExistException();
         }
         AppEntity app = optional.get();
+        putIndex(app, version);
         return getApplicationService(app.getTemplate());
     }
 
@@ -125,12 +170,17 @@ public class ApplicationServiceLoader implements ApplicationContextAware {
      * @return {@link List}
      */
     public ApplicationService getApplicationServiceByAppCode(String appCode) {
-        AppRepository repository = applicationContext.getBean(AppRepository.class);
-        Optional<AppEntity> optional = repository.findByCode(appCode);
+        ApplicationIndex index = appCodeIndex.get(appCode);
+        if (!Objects.isNull(index)) {
+            return getApplicationService(index.template());
+        }
+        long version = indexVersion.get();
+        Optional<AppEntity> optional = getAppRepository().findByCode(appCode);
         if (optional.isEmpty()) {
             throw new AppNotExistException();
         }
         AppEntity app = optional.get();
+        putIndex(app, version);
         return getApplicationService(app.getTemplate());
     }
 
@@ -142,4 +192,67 @@ public class ApplicationServiceLoader implements ApplicationContextAware {
         }
         loadMap.putAll(applicationServiceMap);
     }
+
+    /**
+     * 刷新应用索引（应用新增、修改）
+     *
+     * @param appId {@link String}
+     */
+    @Override
+    public void refresh(String appId) {
+        removeIndex(appId);
+        long version = indexVersion.get();
+        getAppRepository().findById(appId).ifPresent(app -> putIndex(app, version));
+    }
+
+    /**
+     * 删除应用索引
+     *
+     * @param appId {@link String}
+     */
+    @Override
+    public void destroy(String appId) {
+        removeIndex(appId);
+    }
+
+    private void putIndex(AppEntity app, long version) {
+        ApplicationIndex index = new ApplicationIndex(app.getId(), app.getCode(),
+            app.getTemplate(), app.getProtocol());
+        appIdIndex.put(index.appId(), index);
+        appCodeIndex.put(index.appCode(), index);
+        //加载期间应用发生变更，丢弃本次结果
+        if (version != indexVersion.get()) {
+            appIdIndex.remove(index.appId(), index);
+            appCodeIndex.remove(index.appCode(), index);
+        }
+    }
+
+    private void removeIndex(String appId) {
+        indexVersion.incrementAndGet();
+        ApplicationIndex index = appIdIndex.remove(appId);
+        if (!Objects.isNull(index)) {
+            appCodeIndex.remove(index.appCode(), index);
+        }
+    }
+
+    private AppRepository getAppRepository() {
+        AppRepository repository = appRepository;
+        if (Objects.isNull(repository)) {
+            repository = applicationContext.getBean(AppRepository.class);
+            appRepository = repository;
+        }
+        return repository;
+    }
+
+    /**
+     * 应用索引
+     *
+     * @param appId 应用ID
+     * @param appCode 应用编码
+     * @param template 应用模版
+     * @param protocol 应用协议
+     */
+    private record ApplicationIndex(String appId, String appCode, String template,
+                                    AppProtocol protocol) {
+    }
 }
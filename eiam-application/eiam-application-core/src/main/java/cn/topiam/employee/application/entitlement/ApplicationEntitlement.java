@@ -0,0 +1,52 @@
+/*
+ * eiam-application-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.application.entitlement;
+
+import java.util.Set;
+
+/**
+ * 用户应用授权
+ *
+ * @param version 授权版本
+ * @param appIds 应用ID
+ * @param appCodes 应用编码
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 00:21
+ */
+public record ApplicationEntitlement(long version, Set<String> appIds, Set<String> appCodes) {
+
+    /**
+     * 是否拥有应用访问权限
+     *
+     * @param appCode {@link String}
+     * @return {@link Boolean}
+     */
+    public boolean hasAppCode(String appCode) {
+        return appCodes.contains(appCode);
+    }
+
+    /**
+     * 是否拥有应用访问权限
+     *
+     * @param appId {@link String}
+     * @return {@link Boolean}
+     */
+    public boolean hasAppId(String appId) {
+        return appIds.contains(appId);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * eiam-application-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.application.entitlement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import cn.topiam.employee.application.event.ApplicationConfigEventListener;
+import cn.topiam.employee.common.entity.app.po.AppPO;
+import cn.topiam.employee.common.repository.app.AppRepository;
+import cn.topiam.employee.support.security.userdetails.Group;
+import cn.topiam.employee.support.security.userdetails.Organization;
+import cn.topiam.employee.support.security.userdetails.UserDetails;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 用户应用授权
+ * <p>
+ * 按用户缓存可访问应用的ID、编码集合，协议端点鉴权时O(1)判断。
+ * 缓存有容量上限与过期时间，过期后重新加载，用户组、组织变更最迟在过期后生效。
+ * 访问授权策略变更、应用启用、禁用、删除时授权版本递增，缓存按新版本重新加载。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 00:26
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationEntitlementService implements ApplicationConfigEventListener {
+
+    /**
+     * 最大缓存用户数
+     */
+    private static final long                           MAXIMUM_SIZE = 10000;
+
+    /**
+     * 缓存过期时间
+     */
+    private static final Duration                       TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    /**
+     * 授权版本
+     */
+    private final AtomicLong                            version      = new AtomicLong();
+
+    /**
+     * key: userId
+     */
+    //@formatter:off
+    private final Cache<String, ApplicationEntitlement> entitlements = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(TIME_TO_LIVE)
+            .build();
+    //@formatter:on
+
+    /**
+     * 是否拥有应用访问权限
+     *
+     * @param userDetails {@link UserDetails}
+     * @param appCode {@link String}
+     * @return {@link Boolean}
+     */
+    public boolean isEntitled(UserDetails userDetails, String appCode) {
+        return getEntitlement(userDetails).hasAppCode(appCode);
+    }
+
+    /**
+     * 获取用户应用授权
+     *
+     * @param userDetails {@link UserDetails}
+     * @return {@link ApplicationEntitlement}
+     */
+    public ApplicationEntitlement getEntitlement(UserDetails userDetails) {
+        long current = version.get();
+        ApplicationEntitlement entitlement = entitlements.getIfPresent(userDetails.getId());
+        if (!Objects.isNull(entitlement) && entitlement.version() == current) {
+            return entitlement;
+        }
+        entitlement = loadEntitlement(userDetails, current);
+        entitlements.put(userDetails.getId(), entitlement);
+        return entitlement;
+    }
+
+    private ApplicationEntitlement loadEntitlement(UserDetails userDetails, long version) {
+        //@formatter:off
+        List<String> subjectIds = new ArrayList<>();
+        subjectIds.add(userDetails.getId());
+        if (!Objects.isNull(userDetails.getGroups())) {
+            subjectIds.addAll(userDetails.getGroups().stream().map(Group::getId).toList());
+        }
+        if (!Objects.isNull(userDetails.getOrganizations())) {
+            subjectIds.addAll(userDetails.getOrganizations().stream().map(Organization::getId).toList());
+        }
+        List<AppPO> appList = appRepository.getAppList(subjectIds);
+        Set<String> appIds = appList.stream().map(AppPO::getId).collect(Collectors.toUnmodifiableSet());
+        Set<String> appCodes = appList.stream().map(AppPO::getCode).collect(Collectors.toUnmodifiableSet());
+        //@formatter:on
+        return new ApplicationEntitlement(version, appIds, appCodes);
+    }
+
+    /**
+     * 授权版本递增，已缓存的授权全部失效
+     */
+    private void increment() {
+        version.incrementAndGet();
+        entitlements.invalidateAll();
+    }
+
+    /**
+     * 应用配置、证书变更不影响授权
+     *
+     * @param appId {@link String}
+     */
+    @Override
+    public void refresh(String appId) {
+    }
+
+    @Override
+    public void destroy(String appId) {
+        increment();
+    }
+
+    @Override
+    public void entitlement(String appId) {
+        increment();
+    }
+
+    /**
+     * AppRepository
+     */
+    private final AppRepository appRepository;
+}
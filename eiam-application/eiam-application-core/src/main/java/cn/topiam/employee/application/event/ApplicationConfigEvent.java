@@ -0,0 +1,45 @@
+/*
+ * eiam-application-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.application.event;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 应用配置事件
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 21:02
+ */
+@Data
+@RequiredArgsConstructor
+public class ApplicationConfigEvent implements Serializable {
+    @Serial
+    private static final long                serialVersionUID = -4419546236780528412L;
+    /**
+     * 应用ID
+     */
+    private final String                     appId;
+    /**
+     * 事件类型
+     */
+    private final ApplicationConfigEventType applicationConfigEventType;
+}
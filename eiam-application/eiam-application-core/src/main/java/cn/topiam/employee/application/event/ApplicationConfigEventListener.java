@@ -0,0 +1,53 @@
+/*
+ * eiam-application-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.application.event;
+
+/**
+ * 应用配置事件监听
+ * <p>
+ * 用于清理按应用缓存的配置、证书等数据，实现方只需处理与自身相关的应用。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 21:05
+ */
+public interface ApplicationConfigEventListener {
+
+    /**
+     * 刷新
+     *
+     * @param appId {@link String}
+     */
+    void refresh(String appId);
+
+    /**
+     * 销毁
+     *
+     * @param appId {@link String}
+     */
+    default void destroy(String appId) {
+        refresh(appId);
+    }
+
+    /**
+     * 授权变更
+     *
+     * @param appId {@link String}
+     */
+    default void entitlement(String appId) {
+    }
+}
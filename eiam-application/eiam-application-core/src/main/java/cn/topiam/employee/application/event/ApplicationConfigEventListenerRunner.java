@@ -0,0 +1,88 @@
+/*
+ * eiam-application-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.application.event;
+
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 应用配置事件刷新
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 21:12
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Configuration
+public class ApplicationConfigEventListenerRunner implements CommandLineRunner, Ordered {
+
+    /**
+     * Callback used to run the bean.
+     *
+     * @param args incoming main method arguments
+     */
+    @Override
+    public void run(String... args) {
+        RTopic topic = redissonClient.getTopic(ApplicationConfigEventUtils.APPLICATION_CONFIG_EVENT);
+        //添加监听器
+        topic.addListener(ApplicationConfigEvent.class, (channel, msg) -> {
+            for (ApplicationConfigEventListener listener : applicationConfigEventListeners) {
+                try {
+                    //销毁
+                    if (ApplicationConfigEventType.DESTROY
+                        .equals(msg.getApplicationConfigEventType())) {
+                        listener.destroy(msg.getAppId());
+                        continue;
+                    }
+                    //授权
+                    if (ApplicationConfigEventType.ENTITLEMENT
+                        .equals(msg.getApplicationConfigEventType())) {
+                        listener.entitlement(msg.getAppId());
+                        continue;
+                    }
+                    //刷新
+                    listener.refresh(msg.getAppId());
+                } catch (Exception e) {
+                    log.error("处理应用 [{}] 配置事件异常: {}", msg.getAppId(), e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the order value of this object.
+     *
+     * @return the order value
+     * @see #HIGHEST_PRECEDENCE
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    private final RedissonClient                                 redissonClient;
+
+    private final ObjectProvider<ApplicationConfigEventListener> applicationConfigEventListeners;
+}
@@ -0,0 +1,87 @@
+/*
+ * eiam-application-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.application.event;
+
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import cn.topiam.employee.support.context.ApplicationContextService;
+
+/**
+ * 应用配置事件工具
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 21:08
+ */
+public class ApplicationConfigEventUtils {
+    public static final String APPLICATION_CONFIG_EVENT = "eiam-application-config-event";
+
+    /**
+     * refresh
+     * <p>
+     * 利用redis订阅分发，通知集群刷新应用缓存
+     */
+    public static void refresh(String appId) {
+        publish(new ApplicationConfigEvent(appId, ApplicationConfigEventType.REFRESH));
+    }
+
+    /**
+     * destroy
+     * <p>
+     * 利用redis订阅分发，通知集群销毁应用缓存
+     */
+    public static void destroy(String appId) {
+        publish(new ApplicationConfigEvent(appId, ApplicationConfigEventType.DESTROY));
+    }
+
+    /**
+     * entitlement
+     * <p>
+     * 利用redis订阅分发，通知集群应用访问授权已变更
+     */
+    public static void entitlement(String appId) {
+        publish(new ApplicationConfigEvent(appId, ApplicationConfigEventType.ENTITLEMENT));
+    }
+
+    /**
+     * 存在事务时在提交后发布，避免其他节点读取到未提交的数据
+     *
+     * @param event {@link ApplicationConfigEvent}
+     */
+    private static void publish(ApplicationConfigEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager
+                .registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        doPublish(event);
+                    }
+                });
+            return;
+        }
+        doPublish(event);
+    }
+
+    private static void doPublish(ApplicationConfigEvent event) {
+        RedissonClient redisson = ApplicationContextService.getBean(RedissonClient.class);
+        RTopic topic = redisson.getTopic(APPLICATION_CONFIG_EVENT);
+        topic.publish(event);
+    }
+}
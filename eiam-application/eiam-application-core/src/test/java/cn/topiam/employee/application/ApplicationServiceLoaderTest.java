@@ -0,0 +1,127 @@
+/*
+ * eiam-application-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.application;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+
+import cn.topiam.employee.common.entity.app.AppEntity;
+import cn.topiam.employee.common.repository.app.AppRepository;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * 应用服务加载器索引测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/20 00:20
+ */
+class ApplicationServiceLoaderTest {
+
+    private final AppRepository        appRepository = mock(AppRepository.class);
+
+    private final ApplicationService   templateA     = mock(ApplicationService.class);
+
+    private final ApplicationService   templateB     = mock(ApplicationService.class);
+
+    private ApplicationServiceLoader   loader;
+
+    @BeforeEach
+    void setUp() {
+        when(templateA.getCode()).thenReturn("template-a");
+        when(templateB.getCode()).thenReturn("template-b");
+        ApplicationContext applicationContext = mock(ApplicationContext.class);
+        when(applicationContext.getBeansOfType(ApplicationService.class))
+            .thenReturn(Map.of("templateA", templateA, "templateB", templateB));
+        when(applicationContext.getBean(AppRepository.class)).thenReturn(appRepository);
+        loader = new ApplicationServiceLoader();
+        loader.setApplicationContext(applicationContext);
+    }
+
+    /**
+     * 预热后按 appCode、appId 获取应用服务不再查询数据库
+     */
+    @Test
+    void warmUpIndex() {
+        when(appRepository.findAll()).thenReturn(List.of(app("template-a")));
+        loader.afterSingletonsInstantiated();
+
+        assertThat(loader.getApplicationServiceByAppCode("app-code")).isSameAs(templateA);
+        assertThat(loader.getApplicationServiceByAppId("app-id")).isSameAs(templateA);
+        verify(appRepository, never()).findByCode(anyString());
+        verify(appRepository, never()).findById(anyString());
+    }
+
+    /**
+     * 刷新后索引指向新的应用模版，删除后重新查询数据库
+     */
+    @Test
+    void refreshAndDestroy() {
+        when(appRepository.findAll()).thenReturn(List.of(app("template-a")));
+        loader.afterSingletonsInstantiated();
+
+        when(appRepository.findById("app-id")).thenReturn(Optional.of(app("template-b")));
+        loader.refresh("app-id");
+        assertThat(loader.getApplicationServiceByAppCode("app-code")).isSameAs(templateB);
+
+        loader.destroy("app-id");
+        when(appRepository.findByCode("app-code")).thenReturn(Optional.of(app("template-a")));
+        assertThat(loader.getApplicationServiceByAppCode("app-code")).isSameAs(templateA);
+        verify(appRepository).findByCode("app-code");
+    }
+
+    /**
+     * 加载期间应用被删除，丢弃加载结果，下次重新查询数据库
+     */
+    @Test
+    void dropStaleLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch destroyed = new CountDownLatch(1);
+        when(appRepository.findByCode("app-code")).thenAnswer(invocation -> {
+            loading.countDown();
+            assertThat(destroyed.await(5, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(app("template-a"));
+        });
+        CompletableFuture<ApplicationService> future = CompletableFuture
+            .supplyAsync(() -> loader.getApplicationServiceByAppCode("app-code"));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        loader.destroy("app-id");
+        destroyed.countDown();
+        assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(templateA);
+
+        when(appRepository.findByCode("app-code")).thenReturn(Optional.of(app("template-b")));
+        assertThat(loader.getApplicationServiceByAppCode("app-code")).isSameAs(templateB);
+        verify(appRepository, times(2)).findByCode("app-code");
+    }
+
+    private static AppEntity app(String template) {
+        AppEntity app = new AppEntity();
+        app.setId("app-id");
+        app.setCode("app-code");
+        app.setTemplate(template);
+        return app;
+    }
+}
@@ -20,12 +20,16 @@ package cn.topiam.employee.application.oidc;
 import java.security.PrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.nimbusds.jose.jwk.RSAKey;
 
 import cn.topiam.employee.application.AbstractCertApplicationService;
+import cn.topiam.employee.application.event.ApplicationConfigEventListener;
 import cn.topiam.employee.application.exception.AppCertNotExistException;
 import cn.topiam.employee.application.exception.AppNotExistException;
 import cn.topiam.employee.application.oidc.model.OidcProtocolConfig;
@@ -43,7 +47,18 @@ import static cn.topiam.employee.support.util.CertUtils.readPublicKey;
  * Created by support@topiam.cn on 2022/8/23 21:58
  */
 public abstract class AbstractOidcApplicationService extends AbstractCertApplicationService
-                                                     implements OidcApplicationService {
+                                                     implements OidcApplicationService,
+                                                     ApplicationConfigEventListener {
+
+    /**
+     * 协议配置缓存（已解析JWK），key: appCode
+     */
+    private final Map<String, OidcProtocolConfig> protocolConfigCache   = new ConcurrentHashMap<>(16);
+
+    /**
+     * 协议配置缓存版本，刷新时递增，避免并发加载写入过期配置
+     */
+    private final AtomicLong                      protocolConfigVersion = new AtomicLong();
 
     @Override
     public void delete(String appId) {
@@ -59,6 +74,17 @@ public abstract class AbstractOidcApplicationService extends AbstractCertApplica
         appOidcConfigRepository.deleteByAppId(appId);
     }
 
+    /**
+     * 刷新，清除该应用的协议配置缓存
+     *
+     * @param appId {@link String}
+     */
+    @Override
+    public void refresh(String appId) {
+        protocolConfigVersion.incrementAndGet();
+        protocolConfigCache.values().removeIf(config -> appId.equals(config.getAppId()));
+    }
+
     /**
      * 获取协议配置
      *
@@ -67,6 +93,27 @@ public abstract class AbstractOidcApplicationService extends AbstractCertApplica
      */
     @Override
     public OidcProtocolConfig getProtocolConfig(String appCode) {
+        OidcProtocolConfig config = protocolConfigCache.get(appCode);
+        if (!Objects.isNull(config)) {
+            return config;
+        }
+        long version = protocolConfigVersion.get();
+        config = loadProtocolConfig(appCode);
+        protocolConfigCache.put(appCode, config);
+        //加载期间应用发生变更，丢弃本次结果
+        if (version != protocolConfigVersion.get()) {
+            protocolConfigCache.remove(appCode, config);
+        }
+        return config;
+    }
+
+    /**
+     * 加载协议配置并解析证书
+     *
+     * @param appCode {@link String}
+     * @return {@link OidcProtocolConfig}
+     */
+    private OidcProtocolConfig loadProtocolConfig(String appCode) {
         AppOidcConfigPO appConfig = appOidcConfigRepository.findByAppCode(appCode);
         if (Objects.isNull(appConfig)) {
             throw new AppNotExistException();
@@ -33,6 +33,7 @@ import org.springframework.stereotype.Component;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Sets;
 
+import cn.topiam.employee.application.event.ApplicationConfigEventUtils;
 import cn.topiam.employee.application.exception.AppNotExistException;
 import cn.topiam.employee.application.oidc.converter.AppOidcStandardConfigConverter;
 import cn.topiam.employee.application.oidc.pojo.AppOidcStandardSaveConfigParam;
@@ -182,6 +183,8 @@ public class OidcStandardApplicationServiceImpl extends AbstractOidcApplicationS
             entity.getClientAuthMethods().remove(NONE.getValue());
         }
         appOidcConfigRepository.save(entity);
+        //通知集群刷新应用缓存
+        ApplicationConfigEventUtils.refresh(appId);
     }
 
     /**
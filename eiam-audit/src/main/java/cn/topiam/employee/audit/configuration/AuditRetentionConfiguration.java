@@ -0,0 +1,54 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.topiam.employee.audit.retention.AuditPartitionManager;
+import cn.topiam.employee.audit.retention.AuditRetentionProperties;
+import cn.topiam.employee.audit.retention.AuditRetentionTask;
+import cn.topiam.employee.common.storage.Storage;
+
+/**
+ * 审计日志保留配置
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 18:05
+ */
+@Configuration
+@EnableConfigurationProperties(AuditRetentionProperties.class)
+public class AuditRetentionConfiguration {
+
+    @Bean
+    public AuditPartitionManager auditPartitionManager(JdbcTemplate jdbcTemplate,
+                                                       ObjectMapper objectMapper) {
+        return new AuditPartitionManager(jdbcTemplate, objectMapper);
+    }
+
+    @Bean
+    public AuditRetentionTask auditRetentionTask(AuditPartitionManager auditPartitionManager,
+                                                 AuditRetentionProperties properties,
+                                                 Storage storage) {
+        return new AuditRetentionTask(auditPartitionManager, properties, storage);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.topiam.employee.audit.repository.AuditRepository;
+import cn.topiam.employee.audit.writer.AuditWal;
+import cn.topiam.employee.audit.writer.AuditWriter;
+import cn.topiam.employee.audit.writer.AuditWriterProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 审计日志写入配置
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 14:55
+ */
+@Configuration
+@EnableConfigurationProperties(AuditWriterProperties.class)
+public class AuditWriterConfiguration {
+
+    @Bean
+    public AuditWal auditWal(AuditWriterProperties properties, ObjectMapper objectMapper) {
+        return new AuditWal(properties.getWal(), objectMapper);
+    }
+
+    @Bean
+    public AuditWriter auditWriter(AuditRepository auditRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   AuditWriterProperties properties, AuditWal auditWal,
+                                   MeterRegistry meterRegistry) {
+        return new AuditWriter(auditRepository, new TransactionTemplate(transactionManager),
+            properties, auditWal, meterRegistry);
+    }
+}
@@ -17,18 +17,21 @@
  */
 package cn.topiam.employee.audit.endpoint;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 import cn.topiam.employee.audit.endpoint.pojo.AuditListQuery;
 import cn.topiam.employee.audit.endpoint.pojo.AuditListResult;
 import cn.topiam.employee.audit.endpoint.pojo.DictResult;
+import cn.topiam.employee.audit.enums.AuditExportFormat;
 import cn.topiam.employee.audit.service.AuditService;
 import cn.topiam.employee.support.repository.page.domain.Page;
 import cn.topiam.employee.support.repository.page.domain.PageModel;
@@ -38,6 +41,7 @@ import lombok.AllArgsConstructor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
 import static cn.topiam.employee.support.constant.EiamConstants.V1_API_PATH;
 
@@ -87,6 +91,28 @@ public class AuditEndpoint {
         return ApiRestResult.ok(dict);
     }
 
+    /**
+     * 导出审计日志，流式写入响应
+     *
+     * @param query    {@link AuditListQuery}
+     * @param format   {@link AuditExportFormat}
+     * @param response {@link HttpServletResponse}
+     * @throws IOException IOException
+     */
+    @Operation(description = "导出审计日志")
+    @PreAuthorize(value = "authenticated and @sae.hasAuthority(T(cn.topiam.employee.support.security.userdetails.UserType).ADMIN)")
+    @GetMapping(value = "/export", produces = MediaType.ALL_VALUE)
+    public void exportAudit(@Validated AuditListQuery query,
+                            @RequestParam(value = "format", defaultValue = "csv") AuditExportFormat format,
+                            HttpServletResponse response) throws IOException {
+        String filename = "audit." + format.getCode();
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(filename).build().toString());
+        auditService.exportAudit(query, format, response.getOutputStream());
+    }
+
     /**
      * AuditService
      */
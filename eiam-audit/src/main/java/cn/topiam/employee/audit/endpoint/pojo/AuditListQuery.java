@@ -70,6 +70,12 @@ public class AuditListQuery implements Serializable {
     @Parameter(description = "事件状态")
     private EventStatus     eventStatus;
 
+    /**
+     * 操作目标ID
+     */
+    @Parameter(description = "操作目标ID")
+    private String          targetId;
+
     /**
      * 事件开始时间
      */
@@ -83,4 +89,17 @@ public class AuditListQuery implements Serializable {
     @Parameter(description = "事件结束时间")
     @DateTimeFormat(pattern = DEFAULT_DATE_TIME_FORMATTER_PATTERN)
     private LocalDateTime   endEventTime;
+
+    /**
+     * 游标分页：上一页最后一条记录的事件时间
+     */
+    @Parameter(description = "上一页最后一条记录的事件时间")
+    @DateTimeFormat(pattern = DEFAULT_DATE_TIME_FORMATTER_PATTERN)
+    private LocalDateTime   lastEventTime;
+
+    /**
+     * 游标分页：上一页最后一条记录的ID
+     */
+    @Parameter(description = "上一页最后一条记录的ID")
+    private String          lastId;
 }
@@ -66,6 +66,8 @@ public class AuditEntity extends BaseEntity {
     public static final String ACTOR_ID_FIELD_NAME   = "actorId";
 
     public static final String EVENT_TIME_FIELD_NAME = "eventTime";
+
+    public static final String TARGET_ID_FIELD_NAME  = "targetId";
     /**
      * Request Id
      */
@@ -152,4 +154,10 @@ public class AuditEntity extends BaseEntity {
      */
     @Column(name = "actor_auth_type")
     private String             actorAuthType;
+
+    /**
+     * 操作目标ID，由 target_ 生成（只读）
+     */
+    @Column(name = "target_id", insertable = false, updatable = false)
+    private String             targetId;
 }
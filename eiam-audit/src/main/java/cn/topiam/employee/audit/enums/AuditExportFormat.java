@@ -0,0 +1,68 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import cn.topiam.employee.support.web.converter.EnumConvert;
+
+import lombok.Getter;
+
+/**
+ * 审计日志导出格式
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 21:10
+ */
+@Getter
+public enum AuditExportFormat {
+                               /**
+                                * CSV
+                                */
+                               CSV("csv", "text/csv"),
+                               /**
+                                * NDJSON，每行一条 JSON
+                                */
+                               NDJSON("ndjson", "application/x-ndjson");
+
+    @JsonValue
+    private final String code;
+    private final String contentType;
+
+    AuditExportFormat(String code, String contentType) {
+        this.code = code;
+        this.contentType = contentType;
+    }
+
+    /**
+     * 获取类型
+     *
+     * @param code {@link String}
+     * @return {@link AuditExportFormat}
+     */
+    @EnumConvert
+    public static AuditExportFormat getType(String code) {
+        AuditExportFormat[] values = values();
+        for (AuditExportFormat format : values) {
+            if (String.valueOf(format.getCode()).equals(code)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -23,22 +23,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationListener;
 import org.springframework.lang.NonNull;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import com.alibaba.fastjson2.JSONObject;
 
 import cn.topiam.employee.audit.entity.*;
-import cn.topiam.employee.audit.repository.AuditRepository;
+import cn.topiam.employee.audit.writer.AuditWriter;
 
 /**
  * 事件监听
+ * <p>
+ * 仅组装审计记录并放入 {@link AuditWriter} 缓冲队列，由其批量写入数据库。
  *
  * @author TopIAM
  * Created by support@topiam.cn on 2021/9/12 22:49
  */
 @Component
-@Async
 public class AuditEventListener implements ApplicationListener<AuditEvent> {
 
     private final Logger logger = LoggerFactory.getLogger(AuditEventListener.class);
@@ -74,20 +74,20 @@ public class AuditEventListener implements ApplicationListener<AuditEvent> {
             entity.setActorId(actor.getId());
             entity.setActorType(actor.getType());
             entity.setActorAuthType(actor.getAuthType());
-            auditRepository.save(entity);
+            auditWriter.write(entity);
         } catch (Exception e) {
-            logger.error("Audit record saving failed: {}", JSONObject.toJSONString(entity), e);
+            logger.error("Audit record writing failed: {}", JSONObject.toJSONString(entity), e);
         }
 
     }
 
     /**
-     * AuditRepository
+     * AuditWriter
      */
-    private final AuditRepository auditRepository;
+    private final AuditWriter auditWriter;
 
-    public AuditEventListener(AuditRepository auditRepository) {
-        this.auditRepository = auditRepository;
+    public AuditEventListener(AuditWriter auditWriter) {
+        this.auditWriter = auditWriter;
     }
 
 }
@@ -18,8 +18,13 @@
 package cn.topiam.employee.audit.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import cn.topiam.employee.audit.entity.AuditEntity;
+import cn.topiam.employee.audit.enums.EventStatus;
 import cn.topiam.employee.audit.event.type.EventType;
 import cn.topiam.employee.audit.repository.result.AuditStatisticsResult;
 import cn.topiam.employee.audit.repository.result.AuthnQuantityResult;
@@ -43,4 +48,35 @@ public interface AuditCustomizedRepository {
 
     List<AuditStatisticsResult> authnZone(List<EventType> types, LocalDateTime startTime,
                                           LocalDateTime endTime);
+
+    /**
+     * 查询已存在的审计日志ID（含已删除）
+     *
+     * @param ids {@link Collection}
+     * @return {@link Set}
+     */
+    Set<String> findExistingIds(Collection<String> ids);
+
+    /**
+     * 按小时、日累加审计统计
+     *
+     * @param entities {@link List}
+     */
+    void rollup(List<AuditEntity> entities);
+
+    /**
+     * 按事件时间倒序流式读取审计日志，逐条回调，不在内存中保留结果集
+     *
+     * @param actorType {@link String} 操作者类型
+     * @param actorIds  {@link Collection} 操作者ID，为 null 时不过滤
+     * @param types     {@link List} 事件类型
+     * @param status    {@link EventStatus} 事件状态
+     * @param targetId  {@link String} 操作目标ID
+     * @param startTime {@link LocalDateTime} 开始时间
+     * @param endTime   {@link LocalDateTime} 结束时间
+     * @param consumer  {@link Consumer}
+     */
+    void stream(String actorType, Collection<String> actorIds, List<EventType> types,
+                EventStatus status, String targetId, LocalDateTime startTime,
+                LocalDateTime endTime, Consumer<AuditEntity> consumer);
 }
@@ -17,24 +17,46 @@
  */
 package cn.topiam.employee.audit.repository.impl;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.topiam.employee.audit.entity.AuditEntity;
+import cn.topiam.employee.audit.entity.GeoLocation;
+import cn.topiam.employee.audit.entity.Target;
+import cn.topiam.employee.audit.entity.UserAgent;
+import cn.topiam.employee.audit.enums.EventStatus;
 import cn.topiam.employee.audit.event.type.EventType;
 import cn.topiam.employee.audit.repository.AuditCustomizedRepository;
 import cn.topiam.employee.audit.repository.impl.mapper.AuditStatisticsResultMapper;
 import cn.topiam.employee.audit.repository.impl.mapper.AuthnQuantityResultMapper;
 import cn.topiam.employee.audit.repository.result.AuditStatisticsResult;
 import cn.topiam.employee.audit.repository.result.AuthnQuantityResult;
+import cn.topiam.employee.core.security.access.converter.UserTypeConverter;
 
 import lombok.RequiredArgsConstructor;
 
 /**
+ * 审计统计从小时、日统计表（eiam_audit_rollup_hour、eiam_audit_rollup_day）读取，
+ * 统计表在审计日志写入时同步累加，查询量与时间桶数量相关，与审计日志数量无关。
  *
  * @author TopIAM
  * Created by support@topiam.cn on 2022/10/2 02:54
@@ -43,33 +65,51 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AuditCustomizedRepositoryImpl implements AuditCustomizedRepository {
 
+    /**
+     * 小时统计表
+     */
+    private static final String              ROLLUP_HOUR_TABLE   = "eiam_audit_rollup_hour";
+
+    /**
+     * 日统计表
+     */
+    private static final String              ROLLUP_DAY_TABLE    = "eiam_audit_rollup_day";
+
+    private static final UserTypeConverter   USER_TYPE_CONVERTER = new UserTypeConverter();
+
     /**
      * NamedParameterJdbcTemplate
      */
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
+    /**
+     * ObjectMapper
+     */
+    private final ObjectMapper               objectMapper;
+
     @Override
     public List<AuditStatisticsResult> authnHotProvider(List<EventType> types,
                                                         LocalDateTime startTime,
                                                         LocalDateTime endTime) {
+        String table = getRollupTable(startTime, endTime);
         String sql = """
                         SELECT
-                            actor_auth_type AS key_,
-                            COUNT(*) AS count_
+                            NULLIF( actor_auth_type, '' ) AS key_,
+                            SUM( count_ ) AS count_
                         FROM
-                            eiam_audit
+                            %s
                         WHERE
                             event_type IN (:types)
-                            AND event_time BETWEEN :startTime
+                            AND bucket_time BETWEEN :startTime
                             AND :endTime
                         GROUP BY
                             actor_auth_type
                         ORDER BY count_
-                """;
+                """.formatted(table);
         MapSqlParameterSource params = new MapSqlParameterSource();
         params.addValue("types",
             types.stream().map(EventType::getCode).collect(Collectors.toList()));
-        params.addValue("startTime", startTime);
+        params.addValue("startTime", getBucketTime(table, startTime));
         params.addValue("endTime", endTime);
         return namedParameterJdbcTemplate.query(sql, params, new AuditStatisticsResultMapper());
     }
@@ -77,26 +117,29 @@ public class AuditCustomizedRepositoryImpl implements AuditCustomizedRepository
     @Override
     public List<AuthnQuantityResult> authnQuantity(List<EventType> types, LocalDateTime startTime,
                                                    LocalDateTime endTime, String dateFormat) {
+        //按小时展示时只能使用小时统计表
+        String table = dateFormat.contains("%H") ? ROLLUP_HOUR_TABLE
+            : getRollupTable(startTime, endTime);
         String sql = """
                         SELECT
-                            DATE_FORMAT( event_time, :dateFormat ) AS name_,
-                            COUNT(*) AS count_,
-                            event_status AS status_
+                            DATE_FORMAT( bucket_time, :dateFormat ) AS name_,
+                            SUM( count_ ) AS count_,
+                            NULLIF( event_status, '' ) AS status_
                          FROM
-                            eiam_audit
+                            %s
                          WHERE
                             event_type IN (:types)
-                            AND event_time BETWEEN :startTime
+                            AND bucket_time BETWEEN :startTime
                             AND :endTime
                          GROUP BY
-                            DATE_FORMAT( event_time, :dateFormat ),
+                            DATE_FORMAT( bucket_time, :dateFormat ),
                             event_status
                         ORDER BY name_
-                """;
+                """.formatted(table);
         MapSqlParameterSource params = new MapSqlParameterSource();
         params.addValue("types",
             types.stream().map(EventType::getCode).collect(Collectors.toList()));
-        params.addValue("startTime", startTime);
+        params.addValue("startTime", getBucketTime(table, startTime));
         params.addValue("endTime", endTime);
         params.addValue("dateFormat", dateFormat);
         return namedParameterJdbcTemplate.query(sql, params, new AuthnQuantityResultMapper());
@@ -105,26 +148,25 @@ public class AuditCustomizedRepositoryImpl implements AuditCustomizedRepository
     @Override
     public List<AuditStatisticsResult> appVisitRank(EventType type, LocalDateTime startTime,
                                                     LocalDateTime endTime) {
+        String table = getRollupTable(startTime, endTime);
         String sql = """
                         SELECT
-                            JSON_EXTRACT( target_, '$[0].id' ) AS key_,
-                            COUNT(*) AS count_
+                            app_id AS key_,
+                            SUM( count_ ) AS count_
                          FROM
-                            eiam_audit
+                            %s
                          WHERE
                             event_type = :type
-                            AND event_time BETWEEN :startTime
+                            AND bucket_time BETWEEN :startTime
                             AND :endTime
+                            AND app_id <> ''
                          GROUP BY
-                            JSON_EXTRACT(
-                                target_,
-                            '$[0].id'
-                            )
+                            app_id
                         ORDER BY count_
-                """;
+                """.formatted(table);
         MapSqlParameterSource params = new MapSqlParameterSource();
         params.addValue("type", type.getCode());
-        params.addValue("startTime", startTime);
+        params.addValue("startTime", getBucketTime(table, startTime));
         params.addValue("endTime", endTime);
         return namedParameterJdbcTemplate.query(sql, params, new AuditStatisticsResultMapper());
     }
@@ -132,27 +174,227 @@ public class AuditCustomizedRepositoryImpl implements AuditCustomizedRepository
     @Override
     public List<AuditStatisticsResult> authnZone(List<EventType> types, LocalDateTime startTime,
                                                  LocalDateTime endTime) {
+        String table = getRollupTable(startTime, endTime);
         String sql = """
                         SELECT
-                            JSON_EXTRACT( geo_location, '$.provinceCode' ) AS key_,
-                            COUNT(*) AS count_
+                            NULLIF( province_code, '' ) AS key_,
+                            SUM( count_ ) AS count_
                          FROM
-                            eiam_audit
+                            %s
                          WHERE
                             event_type IN (:types)
-                            AND event_time BETWEEN :startTime
+                            AND bucket_time BETWEEN :startTime
                             AND :endTime
                          GROUP BY
-                         	JSON_EXTRACT(
-                         	geo_location,
-                         	'$.provinceCode'
-                         	)
-                """;
+                            province_code
+                """.formatted(table);
         MapSqlParameterSource params = new MapSqlParameterSource();
         params.addValue("types",
             types.stream().map(EventType::getCode).collect(Collectors.toList()));
-        params.addValue("startTime", startTime);
+        params.addValue("startTime", getBucketTime(table, startTime));
         params.addValue("endTime", endTime);
         return namedParameterJdbcTemplate.query(sql, params, new AuditStatisticsResultMapper());
     }
+
+    @Override
+    public Set<String> findExistingIds(Collection<String> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return new HashSet<>();
+        }
+        String sql = "SELECT id_ FROM eiam_audit WHERE id_ IN (:ids)";
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(sql,
+            new MapSqlParameterSource("ids", ids), String.class));
+    }
+
+    @Override
+    public void rollup(List<AuditEntity> entities) {
+        Map<RollupKey, Long> hour = new TreeMap<>();
+        Map<RollupKey, Long> day = new TreeMap<>();
+        for (AuditEntity entity : entities) {
+            if (Objects.isNull(entity.getEventTime()) || Objects.isNull(entity.getEventType())) {
+                continue;
+            }
+            RollupKey key = RollupKey.of(entity);
+            hour.merge(key, 1L, Long::sum);
+            day.merge(key.withBucketTime(key.bucketTime().truncatedTo(ChronoUnit.DAYS)), 1L,
+                Long::sum);
+        }
+        //按主键顺序写入，避免多节点并发累加时死锁
+        upsert(ROLLUP_HOUR_TABLE, hour);
+        upsert(ROLLUP_DAY_TABLE, day);
+    }
+
+    private void upsert(String table, Map<RollupKey, Long> rollup) {
+        if (CollectionUtils.isEmpty(rollup)) {
+            return;
+        }
+        String sql = """
+                        INSERT INTO %s ( bucket_time, event_type, event_status, actor_auth_type, app_id, province_code, count_ )
+                        VALUES
+                            ( :bucketTime, :eventType, :eventStatus, :actorAuthType, :appId, :provinceCode, :count )
+                            ON DUPLICATE KEY UPDATE count_ = count_ + VALUES( count_ )
+                """.formatted(table);
+        MapSqlParameterSource[] params = rollup.entrySet().stream().map(entry -> {
+            RollupKey key = entry.getKey();
+            MapSqlParameterSource param = new MapSqlParameterSource();
+            param.addValue("bucketTime", key.bucketTime());
+            param.addValue("eventType", key.eventType());
+            param.addValue("eventStatus", key.eventStatus());
+            param.addValue("actorAuthType", key.actorAuthType());
+            param.addValue("appId", key.appId());
+            param.addValue("provinceCode", key.provinceCode());
+            param.addValue("count", entry.getValue());
+            return param;
+        }).toArray(MapSqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(sql, params);
+    }
+
+    @Override
+    public void stream(String actorType, Collection<String> actorIds, List<EventType> types,
+                       EventStatus status, String targetId, LocalDateTime startTime,
+                       LocalDateTime endTime, Consumer<AuditEntity> consumer) {
+        StringBuilder sql = new StringBuilder("""
+                        SELECT
+                            id_, event_type, event_status, event_time, actor_id, actor_type,
+                            actor_auth_type, target_, user_agent, geo_location
+                        FROM
+                            eiam_audit
+                        WHERE
+                            is_deleted = 0
+                """);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (StringUtils.hasText(actorType)) {
+            sql.append(" AND actor_type = :actorType");
+            params.addValue("actorType", actorType);
+        }
+        if (!Objects.isNull(actorIds)) {
+            if (actorIds.isEmpty()) {
+                return;
+            }
+            sql.append(" AND actor_id IN (:actorIds)");
+            params.addValue("actorIds", actorIds);
+        }
+        if (!CollectionUtils.isEmpty(types)) {
+            sql.append(" AND event_type IN (:types)");
+            params.addValue("types",
+                types.stream().map(EventType::getCode).collect(Collectors.toList()));
+        }
+        if (!Objects.isNull(status)) {
+            sql.append(" AND event_status = :status");
+            params.addValue("status", status.getCode());
+        }
+        if (StringUtils.hasText(targetId)) {
+            sql.append(" AND target_id = :targetId");
+            params.addValue("targetId", targetId);
+        }
+        if (!Objects.isNull(startTime) && !Objects.isNull(endTime)) {
+            sql.append(" AND event_time BETWEEN :startTime AND :endTime");
+            params.addValue("startTime", startTime);
+            params.addValue("endTime", endTime);
+        }
+        sql.append(" ORDER BY event_time DESC, id_ DESC");
+        //MySQL 按行流式读取（fetchSize 为 Integer.MIN_VALUE），结果集不进入内存
+        JdbcTemplate template = new JdbcTemplate(
+            Objects.requireNonNull(namedParameterJdbcTemplate.getJdbcTemplate().getDataSource()));
+        template.setFetchSize(Integer.MIN_VALUE);
+        new NamedParameterJdbcTemplate(template).query(sql.toString(), params,
+            (RowCallbackHandler) rs -> consumer.accept(getAuditEntity(rs)));
+    }
+
+    private AuditEntity getAuditEntity(ResultSet rs) throws SQLException {
+        AuditEntity entity = new AuditEntity();
+        entity.setId(rs.getString("id_"));
+        entity.setEventType(EventType.getType(rs.getString("event_type")));
+        entity.setEventStatus(EventStatus.getType(rs.getString("event_status")));
+        Timestamp eventTime = rs.getTimestamp("event_time");
+        entity.setEventTime(Objects.isNull(eventTime) ? null : eventTime.toLocalDateTime());
+        entity.setActorId(rs.getString("actor_id"));
+        String actorType = rs.getString("actor_type");
+        if (!Objects.isNull(actorType)) {
+            entity.setActorType(USER_TYPE_CONVERTER.convertToEntityAttribute(actorType));
+        }
+        entity.setActorAuthType(rs.getString("actor_auth_type"));
+        entity.setTargets(readJson(rs.getString("target_"), new TypeReference<List<Target>>() {
+        }));
+        entity.setUserAgent(readJson(rs.getString("user_agent"), new TypeReference<UserAgent>() {
+        }));
+        entity.setGeoLocation(
+            readJson(rs.getString("geo_location"), new TypeReference<GeoLocation>() {
+            }));
+        return entity;
+    }
+
+    private <T> T readJson(String json, TypeReference<T> type) throws SQLException {
+        if (!StringUtils.hasText(json)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Audit json column parse failed: " + json, e);
+        }
+    }
+
+    /**
+     * 时间范围按整天对齐时使用日统计表，否则使用小时统计表
+     *
+     * @param startTime {@link LocalDateTime}
+     * @param endTime {@link LocalDateTime}
+     * @return {@link String}
+     */
+    private String getRollupTable(LocalDateTime startTime, LocalDateTime endTime) {
+        boolean startOfDay = startTime.toLocalTime().equals(LocalTime.MIDNIGHT);
+        boolean endOfDay = endTime.toLocalTime().equals(LocalTime.MIDNIGHT)
+                           || endTime.toLocalTime().truncatedTo(ChronoUnit.SECONDS)
+                               .equals(LocalTime.MAX.truncatedTo(ChronoUnit.SECONDS));
+        return startOfDay && endOfDay ? ROLLUP_DAY_TABLE : ROLLUP_HOUR_TABLE;
+    }
+
+    private LocalDateTime getBucketTime(String table, LocalDateTime time) {
+        return time
+            .truncatedTo(ROLLUP_DAY_TABLE.equals(table) ? ChronoUnit.DAYS : ChronoUnit.HOURS);
+    }
+
+    /**
+     * 统计维度
+     */
+    private record RollupKey(LocalDateTime bucketTime, String eventType, String eventStatus,
+                             String actorAuthType, String appId, String provinceCode)
+                            implements Comparable<RollupKey> {
+
+        //@formatter:off
+        private static final Comparator<RollupKey> COMPARATOR = Comparator.comparing(RollupKey::bucketTime)
+                .thenComparing(RollupKey::eventType)
+                .thenComparing(RollupKey::eventStatus)
+                .thenComparing(RollupKey::actorAuthType)
+                .thenComparing(RollupKey::appId)
+                .thenComparing(RollupKey::provinceCode);
+        //@formatter:on
+
+        static RollupKey of(AuditEntity entity) {
+            String appId = "";
+            //应用访问排行仅统计单点登录事件的应用
+            if (entity.getEventType() == EventType.APP_SSO
+                && !CollectionUtils.isEmpty(entity.getTargets())) {
+                Target target = entity.getTargets().get(0);
+                appId = Objects.toString(target.getId(), "");
+            }
+            String provinceCode = Objects.isNull(entity.getGeoLocation()) ? ""
+                : Objects.toString(entity.getGeoLocation().getProvinceCode(), "");
+            String eventStatus = Objects.isNull(entity.getEventStatus()) ? ""
+                : entity.getEventStatus().getCode();
+            return new RollupKey(entity.getEventTime().truncatedTo(ChronoUnit.HOURS),
+                entity.getEventType().getCode(), eventStatus,
+                Objects.toString(entity.getActorAuthType(), ""), appId, provinceCode);
+        }
+
+        RollupKey withBucketTime(LocalDateTime time) {
+            return new RollupKey(time, eventType, eventStatus, actorAuthType, appId, provinceCode);
+        }
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return COMPARATOR.compare(this, other);
+        }
+    }
 }
@@ -0,0 +1,235 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.retention;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 审计日志分区管理
+ * <p>
+ * eiam_audit 按 event_time 月分区，分区名 pyyyyMM，p_max 为兜底分区。
+ * 新分区通过拆分 p_max 创建，提前创建可保证 p_max 为空，拆分不搬迁数据。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 17:30
+ */
+public class AuditPartitionManager {
+
+    public static final String             TABLE_NAME      = "eiam_audit";
+
+    private static final String            MAX_PARTITION   = "p_max";
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /**
+     * 获取月分区
+     *
+     * @return {@link List} 升序，不含 p_max
+     */
+    public List<YearMonth> getPartitions() {
+        String sql = """
+                SELECT
+                    PARTITION_NAME
+                FROM
+                    information_schema.PARTITIONS
+                WHERE
+                    TABLE_SCHEMA = DATABASE()
+                    AND TABLE_NAME = ?
+                    AND PARTITION_NAME IS NOT NULL
+                """;
+        List<String> names = jdbcTemplate.queryForList(sql, String.class, TABLE_NAME);
+        List<YearMonth> partitions = new ArrayList<>();
+        for (String name : names) {
+            YearMonth month = parse(name);
+            if (!Objects.isNull(month)) {
+                partitions.add(month);
+            }
+        }
+        partitions.sort(null);
+        return partitions;
+    }
+
+    /**
+     * 表是否已分区
+     *
+     * @return {@link Boolean}
+     */
+    public boolean isPartitioned() {
+        String sql = """
+                SELECT
+                    COUNT(*)
+                FROM
+                    information_schema.PARTITIONS
+                WHERE
+                    TABLE_SCHEMA = DATABASE()
+                    AND TABLE_NAME = ?
+                    AND PARTITION_NAME = ?
+                """;
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, TABLE_NAME, MAX_PARTITION);
+        return !Objects.isNull(count) && count > 0;
+    }
+
+    /**
+     * 最早事件月份
+     *
+     * @return {@link YearMonth} 表为空时返回 null
+     */
+    public YearMonth getMinEventMonth() {
+        Timestamp min = jdbcTemplate.queryForObject(
+            "SELECT MIN(event_time) FROM %s".formatted(TABLE_NAME), Timestamp.class);
+        return Objects.isNull(min) ? null : YearMonth.from(min.toLocalDateTime());
+    }
+
+    /**
+     * 拆分 p_max，创建月分区
+     *
+     * @param months {@link List} 升序，均晚于已有分区
+     */
+    public void createPartitions(List<YearMonth> months) {
+        if (months.isEmpty()) {
+            return;
+        }
+        //@formatter:off
+        String partitions = months.stream()
+                .map(month -> "PARTITION %s VALUES LESS THAN ('%s')".formatted(getName(month), getUpperBound(month)))
+                .collect(Collectors.joining(", "));
+        //@formatter:on
+        jdbcTemplate.execute("ALTER TABLE %s REORGANIZE PARTITION %s INTO (%s, PARTITION %s VALUES LESS THAN (MAXVALUE))"
+            .formatted(TABLE_NAME, MAX_PARTITION, partitions, MAX_PARTITION));
+    }
+
+    /**
+     * 删除分区，O(1)
+     *
+     * @param month {@link YearMonth}
+     */
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute(
+            "ALTER TABLE %s DROP PARTITION %s".formatted(TABLE_NAME, getName(month)));
+    }
+
+    /**
+     * 导出分区数据为 NDJSON，JSON 类型字段原样输出
+     *
+     * @param month        {@link YearMonth}
+     * @param outputStream {@link OutputStream}
+     * @return {@link Long} 导出条数
+     * @throws IOException IOException
+     */
+    public long exportPartition(YearMonth month, OutputStream outputStream) throws IOException {
+        long[] count = { 0 };
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream,
+            JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            //MySQL 按行流式读取，避免整个分区进入内存
+            JdbcTemplate template = new JdbcTemplate(
+                Objects.requireNonNull(jdbcTemplate.getDataSource()));
+            template.setFetchSize(Integer.MIN_VALUE);
+            RowCallbackHandler handler = rs -> {
+                ResultSetMetaData metaData = rs.getMetaData();
+                try {
+                    generator.writeStartObject();
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        String column = metaData.getColumnLabel(i);
+                        Object value = rs.getObject(i);
+                        generator.writeFieldName(column);
+                        if (Objects.isNull(value)) {
+                            generator.writeNull();
+                        } else if ("JSON".equalsIgnoreCase(metaData.getColumnTypeName(i))) {
+                            generator.writeRawValue(rs.getString(i));
+                        } else if (value instanceof Timestamp timestamp) {
+                            generator.writeString(timestamp.toLocalDateTime().toString());
+                        } else if (value instanceof Number number) {
+                            generator.writeNumber(number.toString());
+                        } else {
+                            generator.writeString(rs.getString(i));
+                        }
+                    }
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+            template.query("SELECT * FROM %s PARTITION (%s)".formatted(TABLE_NAME, getName(month)),
+                handler);
+        }
+        return count[0];
+    }
+
+    /**
+     * 分区名
+     *
+     * @param month {@link YearMonth}
+     * @return {@link String}
+     */
+    public static String getName(YearMonth month) {
+        return "p" + month.format(MONTH_FORMATTER);
+    }
+
+    private static YearMonth parse(String name) {
+        if (!name.matches("p\\d{6}")) {
+            return null;
+        }
+        return YearMonth.parse(name.substring(1), MONTH_FORMATTER);
+    }
+
+    /**
+     * 分区上界
+     *
+     * @param month {@link YearMonth}
+     * @return {@link LocalDate}
+     */
+    public static LocalDate getUpperBound(YearMonth month) {
+        return month.plusMonths(1).atDay(1);
+    }
+
+    /**
+     * JdbcTemplate
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * ObjectMapper
+     */
+    private final ObjectMapper objectMapper;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.retention;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 审计日志保留配置
+ *
+ * <pre>
+ * topiam:
+ *   audit:
+ *     retention:
+ *       enabled: true
+ *       retain-months: 12
+ *       archive: true
+ *       premake-months: 3
+ * </pre>
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 17:20
+ */
+@Data
+@ConfigurationProperties(prefix = "topiam.audit.retention")
+public class AuditRetentionProperties {
+
+    /**
+     * 是否删除过期分区，关闭时只维护分区
+     */
+    private boolean enabled       = false;
+
+    /**
+     * 保留月数（不含当月）
+     */
+    private int     retainMonths  = 12;
+
+    /**
+     * 删除前是否归档到存储（gzip 压缩的 NDJSON），归档失败时不删除
+     */
+    private boolean archive       = true;
+
+    /**
+     * 提前创建的分区月数
+     */
+    private int     premakeMonths = 3;
+}
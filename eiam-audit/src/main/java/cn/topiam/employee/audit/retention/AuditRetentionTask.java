@@ -0,0 +1,169 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.retention;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import cn.topiam.employee.common.storage.Storage;
+import cn.topiam.employee.support.lock.Lock;
+import cn.topiam.employee.support.trace.Trace;
+
+/**
+ * 审计日志保留任务
+ * <p>
+ * 每天提前创建后续月份分区；开启保留策略后，超过保留月数的分区先归档到存储，再整体删除。
+ * <p>
+ * 分区均通过拆分空的 p_max 创建，不搬迁数据；仅当 p_max 中已有数据（如手工分区只含 p_max）时，
+ * 首次拆分会复制其中全部数据并阻塞写入，大表请在维护窗口内执行。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 17:50
+ */
+public class AuditRetentionTask {
+
+    private final Logger logger = LoggerFactory.getLogger(AuditRetentionTask.class);
+
+    /**
+     * 每天凌晨两点执行
+     */
+    @Trace
+    @Lock(throwException = false)
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void execute() {
+        if (!partitionManager.isPartitioned()) {
+            logger.warn("审计日志表未分区，跳过保留任务");
+            return;
+        }
+        logger.info("审计日志保留任务开始");
+        YearMonth current = YearMonth.now();
+        List<YearMonth> partitions = partitionManager.getPartitions();
+        //提前创建分区，尚无月分区时从最早事件月份开始，避免历史数据全部落入同一分区
+        YearMonth last = partitions.isEmpty() ? getSeedMonth(current).minusMonths(1)
+            : partitions.get(partitions.size() - 1);
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = last.plusMonths(1); !month
+            .isAfter(current.plusMonths(properties.getPremakeMonths())); month = month
+                .plusMonths(1)) {
+            months.add(month);
+        }
+        if (!months.isEmpty()) {
+            partitionManager.createPartitions(months);
+            logger.info("创建审计日志分区: {}", months);
+        }
+        if (!properties.isEnabled()) {
+            logger.info("审计日志保留任务结束");
+            return;
+        }
+        //删除上界不晚于保留起始日期的分区
+        LocalDate cutoff = current.minusMonths(properties.getRetainMonths()).atDay(1);
+        for (YearMonth month : partitions) {
+            if (AuditPartitionManager.getUpperBound(month).isAfter(cutoff)) {
+                break;
+            }
+            if (properties.isArchive() && !archive(month)) {
+                //归档失败时保留分区，下次重试
+                break;
+            }
+            partitionManager.dropPartition(month);
+            logger.info("删除审计日志分区: {}", AuditPartitionManager.getName(month));
+        }
+        logger.info("审计日志保留任务结束");
+    }
+
+    /**
+     * 首个分区月份
+     *
+     * @param current {@link YearMonth}
+     * @return {@link YearMonth}
+     */
+    private YearMonth getSeedMonth(YearMonth current) {
+        YearMonth min = partitionManager.getMinEventMonth();
+        return Objects.isNull(min) || min.isAfter(current) ? current : min;
+    }
+
+    /**
+     * 归档分区
+     *
+     * @param month {@link YearMonth}
+     * @return {@link Boolean}
+     */
+    private boolean archive(YearMonth month) {
+        String name = AuditPartitionManager.getName(month);
+        Path file = null;
+        try {
+            file = Files.createTempFile("audit-" + name, ".ndjson.gz");
+            long count;
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(file))) {
+                count = partitionManager.exportPartition(month, outputStream);
+            }
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                String path = storage.upload(
+                    "audit/" + AuditPartitionManager.TABLE_NAME + "-" + name + ".ndjson.gz",
+                    inputStream);
+                logger.info("归档审计日志分区: {}, 条数: {}, 路径: {}", name, count, path);
+            }
+            return true;
+        } catch (Exception e) {
+            logger.error("归档审计日志分区失败: {}", name, e);
+            return false;
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (Exception e) {
+                    logger.warn("删除审计日志归档临时文件失败: {}", file);
+                }
+            }
+        }
+    }
+
+    /**
+     * AuditPartitionManager
+     */
+    private final AuditPartitionManager    partitionManager;
+
+    /**
+     * AuditRetentionProperties
+     */
+    private final AuditRetentionProperties properties;
+
+    /**
+     * Storage
+     */
+    private final Storage                  storage;
+
+    public AuditRetentionTask(AuditPartitionManager partitionManager,
+                              AuditRetentionProperties properties, Storage storage) {
+        this.partitionManager = partitionManager;
+        this.properties = properties;
+        this.storage = storage;
+    }
+}
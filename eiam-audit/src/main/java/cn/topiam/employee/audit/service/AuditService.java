@@ -17,11 +17,14 @@
  */
 package cn.topiam.employee.audit.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 import cn.topiam.employee.audit.endpoint.pojo.AuditListQuery;
 import cn.topiam.employee.audit.endpoint.pojo.AuditListResult;
 import cn.topiam.employee.audit.endpoint.pojo.DictResult;
+import cn.topiam.employee.audit.enums.AuditExportFormat;
 import cn.topiam.employee.support.repository.page.domain.Page;
 import cn.topiam.employee.support.repository.page.domain.PageModel;
 
@@ -48,4 +51,15 @@ public interface AuditService {
      * @return {@link List}
      */
     List<DictResult> getAuditDict(String userType);
+
+    /**
+     * 流式导出审计日志
+     *
+     * @param query        {@link AuditListQuery}
+     * @param format       {@link AuditExportFormat}
+     * @param outputStream {@link OutputStream}
+     * @throws IOException IOException
+     */
+    void exportAudit(AuditListQuery query, AuditExportFormat format,
+                     OutputStream outputStream) throws IOException;
 }
@@ -0,0 +1,129 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.service.converter;
+
+import java.time.Duration;
+import java.util.*;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import cn.topiam.employee.audit.entity.AuditEntity;
+import cn.topiam.employee.common.entity.account.UserEntity;
+import cn.topiam.employee.common.entity.setting.AdministratorEntity;
+import cn.topiam.employee.common.repository.account.UserRepository;
+import cn.topiam.employee.common.repository.setting.AdministratorRepository;
+import cn.topiam.employee.support.security.userdetails.UserType;
+
+/**
+ * 审计操作者名称解析
+ * <p>
+ * 按操作者类型批量查询（findAllById），结果在本地短时缓存，一页审计日志最多各查询一次用户、管理员。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 16:40
+ */
+@Component
+public class AuditActorResolver {
+
+    private final Cache<String, String> cache = Caffeine.newBuilder().maximumSize(10000)
+        .expireAfterWrite(Duration.ofMinutes(1)).build();
+
+    /**
+     * 批量解析操作者名称
+     *
+     * @param entities {@link Collection}
+     * @return {@link Map} key：{@link #getKey(UserType, String)}，value：名称
+     */
+    public Map<String, String> resolve(Collection<AuditEntity> entities) {
+        Map<String, String> names = new HashMap<>(16);
+        Set<String> userIds = new HashSet<>();
+        Set<String> adminIds = new HashSet<>();
+        for (AuditEntity entity : entities) {
+            UserType type = entity.getActorType();
+            String id = entity.getActorId();
+            if (!StringUtils.hasText(id) || Objects.isNull(type)) {
+                continue;
+            }
+            String key = getKey(type, id);
+            String name = cache.getIfPresent(key);
+            if (!Objects.isNull(name)) {
+                names.put(key, name);
+            } else if (UserType.USER.equals(type)) {
+                userIds.add(id);
+            } else if (UserType.ADMIN.equals(type)) {
+                adminIds.add(id);
+            } else {
+                names.put(key, "");
+            }
+        }
+        if (!CollectionUtils.isEmpty(userIds)) {
+            for (UserEntity user : userRepository.findAllById(userIds)) {
+                put(names, getKey(UserType.USER, user.getId()),
+                    Objects.toString(user.getFullName(), user.getUsername()));
+            }
+        }
+        if (!CollectionUtils.isEmpty(adminIds)) {
+            for (AdministratorEntity administrator : administratorRepository
+                .findAllById(adminIds)) {
+                put(names, getKey(UserType.ADMIN, administrator.getId()),
+                    administrator.getUsername());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 获取名称 key
+     *
+     * @param type {@link UserType}
+     * @param id   {@link String}
+     * @return {@link String}
+     */
+    public static String getKey(UserType type, String id) {
+        return type.getType() + ":" + id;
+    }
+
+    private void put(Map<String, String> names, String key, String name) {
+        if (Objects.isNull(name)) {
+            return;
+        }
+        names.put(key, name);
+        cache.put(key, name);
+    }
+
+    /**
+     * UserRepository
+     */
+    private final UserRepository          userRepository;
+
+    /**
+     * AdministratorRepository
+     */
+    private final AdministratorRepository administratorRepository;
+
+    public AuditActorResolver(UserRepository userRepository,
+                              AdministratorRepository administratorRepository) {
+        this.userRepository = userRepository;
+        this.administratorRepository = administratorRepository;
+    }
+}
@@ -19,6 +19,7 @@ package cn.topiam.employee.audit.service.converter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.mapstruct.Mapper;
@@ -30,9 +31,7 @@ import cn.topiam.employee.audit.endpoint.pojo.AuditListQuery;
 import cn.topiam.employee.audit.endpoint.pojo.AuditListResult;
 import cn.topiam.employee.audit.entity.AuditEntity;
 import cn.topiam.employee.common.entity.account.UserEntity;
-import cn.topiam.employee.common.entity.setting.AdministratorEntity;
 import cn.topiam.employee.common.repository.account.UserRepository;
-import cn.topiam.employee.common.repository.setting.AdministratorRepository;
 import cn.topiam.employee.support.context.ApplicationContextService;
 import cn.topiam.employee.support.repository.page.domain.Page;
 import cn.topiam.employee.support.repository.page.domain.PageModel;
@@ -62,9 +61,58 @@ public interface AuditDataConverter {
      */
     default Page<AuditListResult> entityConvertToAuditListResult(org.springframework.data.domain.Page<AuditEntity> auditEntityPage,
                                                                  PageModel page) {
+        List<AuditListResult> list = entityConvertToAuditListResult(auditEntityPage.getContent());
+        //@formatter:off
+        Page<AuditListResult> result = new Page<>();
+        result.setPagination(Page.Pagination.builder()
+                .total(auditEntityPage.getTotalElements())
+                .totalPages(auditEntityPage.getTotalPages())
+                .current(page.getCurrent() + 1)
+                .build());
+        result.setList(list);
+        //@formatter:on
+        return result;
+    }
+
+    /**
+     * 游标分页结果转审计列表，不查询总数
+     *
+     * @param entities {@link List} 多查询一条，用于判断是否存在下一页
+     * @param page     {@link PageModel}
+     * @return {@link Page}
+     */
+    default Page<AuditListResult> entityConvertToAuditListResult(List<AuditEntity> entities,
+                                                                 PageModel page) {
+        int size = page.getPageSize();
+        boolean hasNext = entities.size() > size;
+        List<AuditListResult> list = entityConvertToAuditListResult(
+            hasNext ? entities.subList(0, size) : entities);
+        //已浏览条数（存在下一页时加一），前端据此展示下一页
+        long current = page.getCurrent() + 1;
+        long total = (current - 1) * size + list.size() + (hasNext ? 1 : 0);
+        //@formatter:off
+        Page<AuditListResult> result = new Page<>();
+        result.setPagination(Page.Pagination.builder()
+                .total(total)
+                .totalPages((int) (hasNext ? current + 1 : current))
+                .current(page.getCurrent() + 1)
+                .build());
+        result.setList(list);
+        //@formatter:on
+        return result;
+    }
+
+    /**
+     * 审计实体转审计列表，操作者名称批量解析
+     *
+     * @param entities {@link List}
+     * @return {@link List}
+     */
+    default List<AuditListResult> entityConvertToAuditListResult(List<AuditEntity> entities) {
+        AuditActorResolver resolver = ApplicationContextService.getBean(AuditActorResolver.class);
+        Map<String, String> names = resolver.resolve(entities);
         List<AuditListResult> list = new ArrayList<>();
-        //总记录数
-        auditEntityPage.forEach(audit -> {
+        entities.forEach(audit -> {
             AuditListResult result = new AuditListResult();
             result.setId(audit.getId());
             result.setEventStatus(audit.getEventStatus());
@@ -75,49 +123,17 @@ public interface AuditDataConverter {
             result.setGeoLocation(audit.getGeoLocation());
             //用户ID
             result.setUserId(audit.getActorId());
-            result.setUsername(getUsername(audit.getActorType(), audit.getActorId()));
+            if (StringUtils.hasText(audit.getActorId())) {
+                result.setUsername(names.get(
+                    AuditActorResolver.getKey(audit.getActorType(), audit.getActorId())));
+            }
             //用户类型
             result.setUserType(audit.getActorType().getType());
             //操作对象
             result.setTargets(audit.getTargets());
             list.add(result);
         });
-        //@formatter:off
-        Page<AuditListResult> result = new Page<>();
-        result.setPagination(Page.Pagination.builder()
-                .total(auditEntityPage.getTotalElements())
-                .totalPages(auditEntityPage.getTotalPages())
-                .current(page.getCurrent() + 1)
-                .build());
-        result.setList(list);
-        //@formatter:on
-        return result;
-    }
-
-    /**
-     * 获取用户名
-     *
-     * @param actorId   {@link String}
-     * @param actorType {@link UserType}
-     * @return {@link String}
-     */
-    private String getUsername(UserType actorType, String actorId) {
-        if (!StringUtils.hasText(actorId)) {
-            return null;
-        }
-        if (UserType.USER.equals(actorType)) {
-            UserRepository repository = ApplicationContextService.getBean(UserRepository.class);
-            UserEntity user = repository.findById(actorId).orElse(new UserEntity());
-            return Objects.toString(user.getFullName(), user.getUsername());
-        }
-        if (UserType.ADMIN.equals(actorType)) {
-            AdministratorRepository repository = ApplicationContextService
-                .getBean(AdministratorRepository.class);
-            AdministratorEntity administrator = repository.findById(actorId)
-                .orElse(new AdministratorEntity());
-            return administrator.getUsername();
-        }
-        return "";
+        return list;
     }
 
     /**
@@ -171,6 +187,11 @@ public interface AuditDataConverter {
                 predicates
                     .add(criteriaBuilder.equal(root.get("eventStatus"), query.getEventStatus()));
             }
+            // 操作目标
+            if (StringUtils.hasText(query.getTargetId())) {
+                predicates.add(criteriaBuilder.equal(root.get(AuditEntity.TARGET_ID_FIELD_NAME),
+                    query.getTargetId()));
+            }
             // 事件时间
             if (Objects.nonNull(query.getStartEventTime())
                 && Objects.nonNull(query.getEndEventTime())) {
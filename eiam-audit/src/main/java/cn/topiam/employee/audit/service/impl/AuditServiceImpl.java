@@ -17,30 +17,50 @@
  */
 package cn.topiam.employee.audit.service.impl;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import cn.topiam.employee.audit.endpoint.pojo.AuditListQuery;
 import cn.topiam.employee.audit.endpoint.pojo.AuditListResult;
 import cn.topiam.employee.audit.endpoint.pojo.DictResult;
 import cn.topiam.employee.audit.entity.AuditEntity;
+import cn.topiam.employee.audit.entity.GeoLocation;
+import cn.topiam.employee.audit.entity.Target;
+import cn.topiam.employee.audit.entity.UserAgent;
+import cn.topiam.employee.audit.enums.AuditExportFormat;
 import cn.topiam.employee.audit.event.type.EventType;
 import cn.topiam.employee.audit.repository.AuditRepository;
 import cn.topiam.employee.audit.service.AuditService;
 import cn.topiam.employee.audit.service.converter.AuditDataConverter;
+import cn.topiam.employee.common.entity.account.UserEntity;
+import cn.topiam.employee.common.repository.account.UserRepository;
 import cn.topiam.employee.support.exception.BadParamsException;
 import cn.topiam.employee.support.repository.page.domain.Page;
 import cn.topiam.employee.support.repository.page.domain.PageModel;
+import cn.topiam.employee.support.security.userdetails.UserDetails;
 import cn.topiam.employee.support.security.userdetails.UserType;
 import cn.topiam.employee.support.security.util.SecurityUtils;
 
 import lombok.RequiredArgsConstructor;
+
+import jakarta.persistence.criteria.Path;
+import static cn.topiam.employee.audit.entity.AuditEntity.EVENT_TIME_FIELD_NAME;
+import static cn.topiam.employee.audit.service.converter.AuditDataConverter.SORT_EVENT_TIME;
 import static cn.topiam.employee.support.security.userdetails.UserType.USER;
 
 /**
@@ -53,6 +73,20 @@ import static cn.topiam.employee.support.security.userdetails.UserType.USER;
 @RequiredArgsConstructor
 public class AuditServiceImpl implements AuditService {
 
+    private static final String   ID_FIELD_NAME     = "id";
+
+    /**
+     * 导出时每批解析操作者名称的条数
+     */
+    private static final int      EXPORT_BATCH_SIZE = 500;
+
+    /**
+     * CSV 表头
+     */
+    private static final String[] CSV_HEADER        = { "事件ID", "事件时间", "事件类型", "事件状态",
+                                                        "用户类型", "用户ID", "用户名称", "IP", "地理位置",
+                                                        "浏览器", "操作系统", "操作对象" };
+
     /**
      * List
      *
@@ -72,6 +106,10 @@ public class AuditServiceImpl implements AuditService {
         if (Objects.isNull(specification)) {
             return new Page<>();
         }
+        //游标分页
+        if (Objects.nonNull(query.getLastEventTime()) && StringUtils.hasText(query.getLastId())) {
+            return getAuditList(specification, query, page);
+        }
         // 排序
         List<Sort.Order> orders = new ArrayList<>();
         for (PageModel.Sort sort : page.getSorts()) {
@@ -86,6 +124,50 @@ public class AuditServiceImpl implements AuditService {
             .entityConvertToAuditListResult(auditRepository.findAll(specification, request), page);
     }
 
+    /**
+     * 游标分页，按 (event_time, id) 定位上一页最后一条记录，不使用 OFFSET，也不查询总数
+     *
+     * @param specification {@link Specification}
+     * @param query {@link AuditListQuery}
+     * @param page {@link PageModel}
+     * @return {@link Page}
+     */
+    private Page<AuditListResult> getAuditList(Specification<AuditEntity> specification,
+                                               AuditListQuery query, PageModel page) {
+        boolean asc = page.getSorts().stream().anyMatch(
+            sort -> SORT_EVENT_TIME.equals(sort.getSorter()) && Boolean.TRUE.equals(sort.getAsc()));
+        Sort.Direction direction = asc ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, EVENT_TIME_FIELD_NAME).and(Sort.by(direction, ID_FIELD_NAME));
+        Specification<AuditEntity> after = after(query.getLastEventTime(), query.getLastId(), asc);
+        //多查询一条用于判断是否存在下一页
+        List<AuditEntity> list = auditRepository.findBy(specification.and(after),
+            fluent -> fluent.sortBy(sort).limit(page.getPageSize() + 1).all());
+        return auditDataConverter.entityConvertToAuditListResult(list, page);
+    }
+
+    /**
+     * 游标条件
+     *
+     * @param eventTime {@link LocalDateTime}
+     * @param id {@link String}
+     * @param asc {@link Boolean}
+     * @return {@link Specification}
+     */
+    static Specification<AuditEntity> after(LocalDateTime eventTime, String id, boolean asc) {
+        return (root, criteriaQuery, criteriaBuilder) -> {
+            Path<LocalDateTime> time = root.get(EVENT_TIME_FIELD_NAME);
+            Path<String> key = root.get(ID_FIELD_NAME);
+            if (asc) {
+                return criteriaBuilder.or(criteriaBuilder.greaterThan(time, eventTime),
+                    criteriaBuilder.and(criteriaBuilder.equal(time, eventTime),
+                        criteriaBuilder.greaterThan(key, id)));
+            }
+            return criteriaBuilder.or(criteriaBuilder.lessThan(time, eventTime),
+                criteriaBuilder.and(criteriaBuilder.equal(time, eventTime),
+                    criteriaBuilder.lessThan(key, id)));
+        };
+    }
+
     /**
      * 获取字典类型
      *
@@ -124,6 +206,186 @@ public class AuditServiceImpl implements AuditService {
         return list;
     }
 
+    /**
+     * 流式导出审计日志
+     * <p>
+     * 按事件时间倒序从数据库流式读取，每 {@link #EXPORT_BATCH_SIZE} 条批量解析操作者名称后写出，
+     * 内存中最多保留一批数据，与导出总量无关。
+     *
+     * @param query        {@link AuditListQuery}
+     * @param format       {@link AuditExportFormat}
+     * @param outputStream {@link OutputStream}
+     */
+    @Override
+    public void exportAudit(AuditListQuery query, AuditExportFormat format,
+                            OutputStream outputStream) throws IOException {
+        UserDetails currentUser = SecurityUtils.getCurrentUser();
+        if (USER.equals(currentUser.getUserType())
+            && !USER.getType().equals(query.getUserType())) {
+            throw new BadParamsException("用户类型错误");
+        }
+        //操作者条件，与列表查询一致
+        List<String> actorIds = null;
+        if (USER.equals(currentUser.getUserType())) {
+            actorIds = List.of(currentUser.getId());
+        } else if (StringUtils.hasText(query.getUsername())) {
+            actorIds = userRepository.findByFullNameLike("%" + query.getUsername() + "%").stream()
+                .map(UserEntity::getId).toList();
+        } else if (UserType.ADMIN.getType().equals(query.getUserType())) {
+            actorIds = List.of(currentUser.getId());
+        }
+        try (AuditExporter exporter = AuditExporter.of(format, outputStream, objectMapper)) {
+            List<AuditEntity> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+            auditRepository.stream(query.getUserType(), actorIds, query.getEventType(),
+                query.getEventStatus(), query.getTargetId(), query.getStartEventTime(),
+                query.getEndEventTime(), entity -> {
+                    batch.add(entity);
+                    if (batch.size() >= EXPORT_BATCH_SIZE) {
+                        exporter.write(auditDataConverter.entityConvertToAuditListResult(batch));
+                        batch.clear();
+                    }
+                });
+            exporter.write(auditDataConverter.entityConvertToAuditListResult(batch));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 审计日志导出
+     */
+    interface AuditExporter extends Closeable {
+
+        /**
+         * 写出一批数据并刷新到输出流
+         *
+         * @param list {@link List}
+         */
+        void write(List<AuditListResult> list);
+
+        static AuditExporter of(AuditExportFormat format, OutputStream outputStream,
+                                ObjectMapper objectMapper) throws IOException {
+            if (AuditExportFormat.NDJSON.equals(format)) {
+                return new NdjsonAuditExporter(
+                    objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8));
+            }
+            return new CsvAuditExporter(new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * CSV 导出
+     */
+    static class CsvAuditExporter implements AuditExporter {
+
+        private final Writer writer;
+
+        CsvAuditExporter(Writer writer) throws IOException {
+            this.writer = writer;
+            //BOM，Excel 按 UTF-8 打开
+            writer.write('\uFEFF');
+            writeRow(CSV_HEADER);
+        }
+
+        @Override
+        public void write(List<AuditListResult> list) {
+            try {
+                for (AuditListResult result : list) {
+                    UserAgent userAgent = Objects.requireNonNullElseGet(result.getUserAgent(),
+                        UserAgent::new);
+                    GeoLocation geoLocation = Objects
+                        .requireNonNullElseGet(result.getGeoLocation(), GeoLocation::new);
+                    List<Target> targets = Objects.requireNonNullElse(result.getTargets(),
+                        List.of());
+                    String status = Objects.isNull(result.getEventStatus()) ? ""
+                        : result.getEventStatus().getDesc();
+                    writeRow(result.getId(), Objects.toString(result.getEventTime(), ""),
+                        result.getEventType(), status, result.getUserType(), result.getUserId(),
+                        result.getUsername(), geoLocation.getIp(),
+                        join(" ", geoLocation.getCountryName(), geoLocation.getProvinceName(),
+                            geoLocation.getCityName()),
+                        join(" ", userAgent.getBrowser(), userAgent.getBrowserMajorVersion()),
+                        join(" ", userAgent.getPlatform(), userAgent.getPlatformVersion()),
+                        targets.stream()
+                            .map(target -> join(":", target.getTypeName(), target.getName()))
+                            .collect(Collectors.joining(";")));
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeRow(String... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        /**
+         * 转义 CSV 字段，以 = + - @ 制表符 回车开头的字段前加单引号，避免在表格软件中作为公式执行
+         */
+        private static String escape(String value) {
+            if (!StringUtils.hasText(value)) {
+                return "";
+            }
+            if ("=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.contains(",") || value.contains("\"") || value.contains("\n")
+                || value.contains("\r")) {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+            return value;
+        }
+
+        private static String join(String delimiter, String... values) {
+            return Stream.of(values).filter(StringUtils::hasText)
+                .collect(Collectors.joining(delimiter));
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * NDJSON 导出，每行一条审计日志
+     */
+    private static class NdjsonAuditExporter implements AuditExporter {
+
+        private final JsonGenerator generator;
+
+        NdjsonAuditExporter(JsonGenerator generator) {
+            this.generator = generator;
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(List<AuditListResult> list) {
+            try {
+                for (AuditListResult result : list) {
+                    generator.writeObject(result);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+        }
+    }
+
     /**
      * AuditDataConverter
      */
@@ -133,4 +395,14 @@ public class AuditServiceImpl implements AuditService {
      * AuditRepository
      */
     private final AuditRepository    auditRepository;
+
+    /**
+     * UserRepository
+     */
+    private final UserRepository     userRepository;
+
+    /**
+     * ObjectMapper
+     */
+    private final ObjectMapper       objectMapper;
 }
@@ -0,0 +1,428 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.writer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.topiam.employee.audit.entity.AuditEntity;
+
+/**
+ * 审计日志预写日志（WAL）
+ * <p>
+ * 按段追加写入本地文件，单条记录格式：长度（4 字节）+ CRC32（4 字节）+ JSON。
+ * 段文件超过 segment-size 后滚动，已写入数据库的位置记录在 checkpoint 文件中，
+ * 早于 checkpoint 的段文件会被删除。
+ * <p>
+ * 启动时校验最后一个段文件，截断进程崩溃时写入不完整的尾部记录。
+ * checkpoint 在数据库写入成功后更新，崩溃恢复时可能重复读取最后一批数据（至少一次），
+ * 记录ID在写入前分配，写入数据库时按ID去重。
+ * <p>
+ * 多次重试仍无法写入数据库的记录移入死信文件（dead-letter.wal），格式与段文件相同，需人工处理。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 15:20
+ */
+public class AuditWal implements Closeable {
+
+    private final Logger                    logger           = LoggerFactory.getLogger(AuditWal.class);
+
+    private static final String             SEGMENT_PREFIX   = "audit-";
+
+    private static final String             SEGMENT_SUFFIX   = ".wal";
+
+    private static final String             CHECKPOINT_FILE  = "checkpoint";
+
+    private static final String             DEAD_LETTER_FILE = "dead-letter.wal";
+
+    private static final int                HEADER_SIZE      = 8;
+
+    private static final int                MAX_RECORD_SIZE  = 16 * 1024 * 1024;
+
+    private final Path                      directory;
+
+    private final AuditWriterProperties.Wal config;
+
+    private final ObjectMapper              objectMapper;
+
+    /**
+     * 当前写入段
+     */
+    private FileChannel                     active;
+
+    /**
+     * 当前写入段序号
+     */
+    private long                            activeSegment;
+
+    /**
+     * 当前写入段已完整写入的位置
+     */
+    private volatile long                   activeEnd;
+
+    /**
+     * 已写入数据库的位置
+     */
+    private volatile Position               checkpoint;
+
+    /**
+     * 上次 fsync 时间
+     */
+    private long                            lastSync;
+
+    /**
+     * 未 fsync 数据
+     */
+    private boolean                         dirty;
+
+    public AuditWal(AuditWriterProperties.Wal config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.directory = Paths.get(config.getDirectory());
+        this.objectMapper = objectMapper.copy()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * 追加写入
+     *
+     * @param entities {@link List}
+     * @throws IOException IOException
+     */
+    public synchronized void append(List<AuditEntity> entities) throws IOException {
+        open();
+        for (AuditEntity entity : entities) {
+            ByteBuffer buffer = encode(entity);
+            int length = buffer.remaining();
+            if (activeEnd > 0 && activeEnd + length > config.getSegmentSize().toBytes()) {
+                roll();
+            }
+            while (buffer.hasRemaining()) {
+                active.write(buffer);
+            }
+            activeEnd += length;
+        }
+        dirty = true;
+        if (config.getFsync() == AuditWriterProperties.FsyncPolicy.ALWAYS) {
+            sync();
+        } else if (config.getFsync() == AuditWriterProperties.FsyncPolicy.INTERVAL
+                   && System.currentTimeMillis() - lastSync >= config.getFsyncInterval()
+                       .toMillis()) {
+            sync();
+        }
+    }
+
+    /**
+     * 写入死信文件
+     *
+     * @param entities {@link List}
+     * @throws IOException IOException
+     */
+    public synchronized void deadLetter(List<AuditEntity> entities) throws IOException {
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (AuditEntity entity : entities) {
+                ByteBuffer buffer = encode(entity);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * 将已写入数据刷到磁盘，NEVER 策略下交由操作系统处理
+     *
+     * @throws IOException IOException
+     */
+    public synchronized void sync() throws IOException {
+        if (!dirty || Objects.isNull(active)
+            || config.getFsync() == AuditWriterProperties.FsyncPolicy.NEVER) {
+            return;
+        }
+        active.force(false);
+        lastSync = System.currentTimeMillis();
+        dirty = false;
+    }
+
+    /**
+     * 是否存在未写入数据库的数据
+     *
+     * @return {@link Boolean}
+     * @throws IOException IOException
+     */
+    public boolean hasPending() throws IOException {
+        synchronized (this) {
+            if (Objects.isNull(active)) {
+                if (listSegments().isEmpty()) {
+                    return false;
+                }
+                open();
+            }
+        }
+        Position position = checkpoint;
+        return position.segment() < activeSegment || position.offset() < activeEnd;
+    }
+
+    /**
+     * 从 checkpoint 开始读取
+     *
+     * @param max {@link Integer} 最大条数
+     * @return {@link Batch}
+     * @throws IOException IOException
+     */
+    public Batch read(int max) throws IOException {
+        open();
+        Position position = checkpoint;
+        List<AuditEntity> entities = new ArrayList<>(max);
+        while (entities.size() < max) {
+            long segment = position.segment();
+            long limit;
+            synchronized (this) {
+                if (segment > activeSegment) {
+                    break;
+                }
+                limit = segment == activeSegment ? activeEnd : -1;
+            }
+            Path path = segmentPath(segment);
+            if (!Files.exists(path)) {
+                //段文件已被删除，跳到下一段
+                position = new Position(segment + 1, 0);
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long end = limit < 0 ? channel.size() : limit;
+                long offset = scan(channel, position.offset(), end, max - entities.size(),
+                    entities);
+                if (offset < end && entities.size() < max) {
+                    //非尾部损坏，跳过当前段剩余数据
+                    logger.error("Audit wal segment corrupted, skip from offset {}: {}", offset,
+                        path);
+                    offset = end;
+                }
+                position = new Position(segment, offset);
+                if (offset >= end && limit < 0) {
+                    position = new Position(segment + 1, 0);
+                } else if (offset >= end) {
+                    break;
+                }
+            }
+        }
+        return new Batch(entities, position);
+    }
+
+    /**
+     * 提交 checkpoint，并删除已写入数据库的段文件
+     *
+     * @param position {@link Position}
+     * @throws IOException IOException
+     */
+    public void commit(Position position) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        byte[] bytes = (position.segment() + ":" + position.offset())
+            .getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(bytes));
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+        checkpoint = position;
+        for (Long segment : listSegments()) {
+            if (segment < position.segment()) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (Objects.isNull(active)) {
+            return;
+        }
+        sync();
+        active.close();
+        active = null;
+    }
+
+    /**
+     * 打开 WAL，截断最后一个段文件中不完整的记录
+     */
+    private synchronized void open() throws IOException {
+        if (!Objects.isNull(active)) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Long> segments = listSegments();
+        activeSegment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+        active = FileChannel.open(segmentPath(activeSegment), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = active.size();
+        long end = scan(active, 0, size, Integer.MAX_VALUE, null);
+        if (end < size) {
+            logger.warn("Audit wal segment truncated from {} to {}: {}", size, end,
+                segmentPath(activeSegment));
+            active.truncate(end);
+            active.force(true);
+        }
+        active.position(end);
+        activeEnd = end;
+        checkpoint = loadCheckpoint(segments);
+        lastSync = System.currentTimeMillis();
+    }
+
+    private void roll() throws IOException {
+        active.force(false);
+        active.close();
+        activeSegment++;
+        active = FileChannel.open(segmentPath(activeSegment), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeEnd = 0;
+        dirty = false;
+    }
+
+    /**
+     * 顺序读取记录，返回最后一条完整记录的结束位置，无法反序列化的记录跳过且不计数
+     */
+    private long scan(FileChannel channel, long from, long end, int max,
+                      List<AuditEntity> out) throws IOException {
+        long offset = from;
+        int count = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (count < max && offset + HEADER_SIZE <= end) {
+            header.clear();
+            readFully(channel, header, offset);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || offset + HEADER_SIZE + length > end) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, offset + HEADER_SIZE);
+            if (crc(payload.array()) != crc) {
+                break;
+            }
+            offset += HEADER_SIZE + length;
+            if (Objects.isNull(out)) {
+                count++;
+                continue;
+            }
+            try {
+                out.add(objectMapper.readValue(payload.array(), AuditEntity.class));
+                count++;
+            } catch (IOException e) {
+                logger.error("Audit wal record deserialize failed, skip: {}",
+                    new String(payload.array(), StandardCharsets.UTF_8), e);
+            }
+        }
+        return offset;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer,
+                                  long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of audit wal segment");
+            }
+        }
+    }
+
+    private Position loadCheckpoint(List<Long> segments) throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (Files.exists(path)) {
+            String[] value = Files.readString(path, StandardCharsets.UTF_8).trim().split(":");
+            return new Position(Long.parseLong(value[0]), Long.parseLong(value[1]));
+        }
+        return new Position(segments.isEmpty() ? activeSegment : segments.get(0), 0);
+    }
+
+    private List<Long> listSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> stream = Files.list(directory)) {
+            //@formatter:off
+            return stream.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+            //@formatter:on
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory
+            .resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * 编码单条记录：长度 + CRC32 + JSON
+     */
+    private ByteBuffer encode(AuditEntity entity) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(entity);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt(crc(payload));
+        buffer.put(payload);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int crc(byte[] bytes) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes);
+        return (int) crc32.getValue();
+    }
+
+    /**
+     * WAL 位置
+     *
+     * @param segment 段序号
+     * @param offset  段内偏移
+     */
+    public record Position(long segment, long offset) {
+    }
+
+    /**
+     * 读取结果
+     *
+     * @param entities 审计记录
+     * @param next     下一次读取位置
+     */
+    public record Batch(List<AuditEntity> entities, Position next) {
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.writer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alibaba.fastjson2.JSONObject;
+
+import cn.topiam.employee.audit.entity.AuditEntity;
+import cn.topiam.employee.audit.repository.AuditRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 审计日志批量写入
+ * <p>
+ * 审计事件进入有界队列，由单独线程按条数（batch-size）或时间（flush-interval）批量写入数据库，
+ * 队列满时按 overflow-policy 阻塞、丢弃或写入本地预写日志。
+ * <p>
+ * 开启预写日志（wal.enabled）后审计事件先写入 {@link AuditWal}，不再经过内存队列，
+ * 写入线程按 checkpoint 读取并批量写入数据库，写入失败时按指数退避重试，数据库恢复后继续写入。
+ * 同一批数据非连接类失败达到 max-attempts 次后二分重试，仍无法写入的单条记录移入死信文件，避免阻塞后续数据。
+ * 记录ID在写入预写日志前分配，回放时跳过数据库中已存在的记录，不会重复写入或重复统计。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 14:40
+ */
+public class AuditWriter implements InitializingBean, DisposableBean {
+
+    private final Logger                     logger      = LoggerFactory.getLogger(AuditWriter.class);
+
+    /**
+     * 最长退避时间
+     */
+    private static final long                MAX_BACKOFF = 60000;
+
+    private final BlockingQueue<AuditEntity> queue;
+
+    private final Counter                    dropped;
+
+    private final Counter                    spilled;
+
+    private final Counter                    failed;
+
+    private final Timer                      flushTimer;
+
+    private volatile boolean                 running;
+
+    /**
+     * 预写日志下次回放时间，数据库写入失败后退避
+     */
+    private long                             nextReplayTime;
+
+    /**
+     * 当前退避时间
+     */
+    private long                             backoff;
+
+    /**
+     * 当前批次连续失败次数
+     */
+    private int                              attempts;
+
+    private Thread                           worker;
+
+    /**
+     * 写入审计日志
+     *
+     * @param entity {@link AuditEntity}
+     */
+    public void write(AuditEntity entity) {
+        if (properties.getWal().isEnabled()) {
+            try {
+                assignId(List.of(entity));
+                wal.append(List.of(entity));
+                return;
+            } catch (IOException e) {
+                //预写日志不可用时退回内存队列
+                logger.error("Audit wal append failed", e);
+            }
+        }
+        if (queue.offer(entity)) {
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                try {
+                    if (queue.offer(entity, properties.getBlockTimeout().toMillis(),
+                        TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                drop(entity);
+            }
+            case SPILL -> spill(List.of(entity));
+            default -> drop(entity);
+        }
+    }
+
+    private void run() {
+        long interval = properties.getFlushInterval().toNanos();
+        int batchSize = properties.getBatchSize();
+        List<AuditEntity> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditEntity first = queue.poll(interval, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    //空闲时回放预写日志
+                    if (running) {
+                        replay(batchSize);
+                    }
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + interval;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditEntity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                //关闭时中断，继续写完队列中剩余数据
+                queue.drainTo(batch);
+                flush(batch);
+            } catch (Exception e) {
+                logger.error("Audit writer error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void replay(int batchSize) throws IOException {
+        wal.sync();
+        if (System.currentTimeMillis() < nextReplayTime || !wal.hasPending()) {
+            return;
+        }
+        long interval = properties.getFlushInterval().toMillis();
+        while (running) {
+            AuditWal.Batch batch = wal.read(batchSize);
+            if (!batch.entities().isEmpty()) {
+                try {
+                    if (attempts >= properties.getWal().getMaxAttempts()) {
+                        saveOrDeadLetter(batch.entities());
+                    } else {
+                        save(batch.entities());
+                    }
+                } catch (Exception e) {
+                    if (!isRecoverable(e)) {
+                        attempts++;
+                    }
+                    backoff = Math.min(Math.max(backoff * 2, interval), MAX_BACKOFF);
+                    nextReplayTime = System.currentTimeMillis() + backoff;
+                    logger.error("Audit wal replay failed {} times, retry after {} ms", attempts,
+                        backoff, e);
+                    return;
+                }
+            }
+            wal.commit(batch.next());
+            attempts = 0;
+            backoff = 0;
+            if (batch.entities().size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 二分写入，定位无法写入的记录并移入死信文件，数据库连接类异常直接抛出，等待退避后重试
+     *
+     * @param entities {@link List}
+     * @throws IOException IOException
+     */
+    private void saveOrDeadLetter(List<AuditEntity> entities) throws IOException {
+        try {
+            save(entities);
+            return;
+        } catch (RuntimeException e) {
+            if (isRecoverable(e)) {
+                throw e;
+            }
+            if (entities.size() == 1) {
+                wal.deadLetter(entities);
+                failed.increment();
+                logger.error("Audit record moved to dead letter: {}",
+                    JSONObject.toJSONString(entities.get(0)), e);
+                return;
+            }
+        }
+        int middle = entities.size() / 2;
+        saveOrDeadLetter(entities.subList(0, middle));
+        saveOrDeadLetter(entities.subList(middle, entities.size()));
+    }
+
+    /**
+     * 数据库不可用等可恢复异常，重试不计入失败次数
+     *
+     * @param e {@link Exception}
+     * @return {@link Boolean}
+     */
+    private static boolean isRecoverable(Exception e) {
+        return e instanceof TransientDataAccessException
+               || e instanceof RecoverableDataAccessException
+               || e instanceof DataAccessResourceFailureException
+               || e instanceof CannotCreateTransactionException;
+    }
+
+    private void flush(List<AuditEntity> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            save(batch);
+        } catch (Exception e) {
+            if (properties.getOverflowPolicy() == AuditWriterProperties.OverflowPolicy.SPILL) {
+                logger.error("Audit batch saving failed, spill {} records", batch.size(), e);
+                spill(batch);
+                return;
+            }
+            failed.increment(batch.size());
+            for (AuditEntity entity : batch) {
+                logger.error("Audit record saving failed: {}", JSONObject.toJSONString(entity));
+            }
+            logger.error("Audit batch saving failed", e);
+        }
+    }
+
+    private void save(List<AuditEntity> batch) {
+        //审计日志与统计在同一事务中写入
+        flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            //预写日志回放可能重复，跳过已写入的记录
+            Set<String> existing = auditRepository.findExistingIds(batch.stream()
+                .map(AuditEntity::getId).filter(Objects::nonNull).toList());
+            List<AuditEntity> entities = existing.isEmpty() ? batch
+                : batch.stream().filter(entity -> !existing.contains(entity.getId())).toList();
+            auditRepository.saveAll(entities);
+            auditRepository.rollup(entities);
+        }));
+    }
+
+    /**
+     * 写入预写日志前分配ID，回放时按ID去重
+     *
+     * @param entities {@link List}
+     */
+    private static void assignId(List<AuditEntity> entities) {
+        for (AuditEntity entity : entities) {
+            if (Objects.isNull(entity.getId())) {
+                entity.setId(UUID.randomUUID().toString());
+            }
+        }
+    }
+
+    private void spill(List<AuditEntity> entities) {
+        try {
+            assignId(entities);
+            wal.append(entities);
+            spilled.increment(entities.size());
+        } catch (IOException e) {
+            logger.error("Audit spill failed", e);
+            entities.forEach(this::drop);
+        }
+    }
+
+    private void drop(AuditEntity entity) {
+        dropped.increment();
+        logger.warn("Audit record dropped: {}", JSONObject.toJSONString(entity));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        worker = new Thread(this::run, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        worker.join(properties.getShutdownTimeout().toMillis());
+        if (worker.isAlive()) {
+            worker.interrupt();
+            logger.warn("Audit writer shutdown timeout, remaining {} records", queue.size());
+        }
+        wal.close();
+    }
+
+    /**
+     * AuditRepository
+     */
+    private final AuditRepository       auditRepository;
+
+    /**
+     * TransactionTemplate
+     */
+    private final TransactionTemplate   transactionTemplate;
+
+    /**
+     * AuditWriterProperties
+     */
+    private final AuditWriterProperties properties;
+
+    /**
+     * AuditWal
+     */
+    private final AuditWal              wal;
+
+    public AuditWriter(AuditRepository auditRepository, TransactionTemplate transactionTemplate,
+                       AuditWriterProperties properties, AuditWal wal, MeterRegistry registry) {
+        this.auditRepository = auditRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.wal = wal;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        //@formatter:off
+        Gauge.builder("audit.writer.queue.size", queue, BlockingQueue::size)
+                .description("审计日志缓冲队列长度")
+                .register(registry);
+        this.dropped = Counter.builder("audit.writer.dropped")
+                .description("审计日志丢弃条数")
+                .register(registry);
+        this.spilled = Counter.builder("audit.writer.spilled")
+                .description("审计日志写入预写日志条数")
+                .register(registry);
+        this.failed = Counter.builder("audit.writer.failed")
+                .description("审计日志写入数据库失败条数（丢弃或移入死信文件）")
+                .register(registry);
+        this.flushTimer = Timer.builder("audit.writer.flush")
+                .description("审计日志批量写入耗时")
+                .register(registry);
+        //@formatter:on
+    }
+}
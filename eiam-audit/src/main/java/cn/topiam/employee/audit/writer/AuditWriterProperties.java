@@ -0,0 +1,161 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.writer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * 审计日志批量写入配置
+ *
+ * <pre>
+ * topiam:
+ *   audit:
+ *     writer:
+ *       capacity: 10000
+ *       batch-size: 200
+ *       flush-interval: 1s
+ *       overflow-policy: block
+ *       block-timeout: 2s
+ *       wal:
+ *         enabled: true
+ *         directory: /data/topiam/audit
+ *         segment-size: 64MB
+ *         fsync: interval
+ *         fsync-interval: 200ms
+ *         max-attempts: 5
+ * </pre>
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 14:10
+ */
+@Data
+@ConfigurationProperties(prefix = "topiam.audit.writer")
+public class AuditWriterProperties {
+
+    /**
+     * 缓冲队列容量
+     */
+    private int            capacity        = 10000;
+
+    /**
+     * 单批写入条数，达到后立即写入
+     */
+    private int            batchSize       = 200;
+
+    /**
+     * 最长写入间隔，未达到批量条数时到期写入
+     */
+    private Duration       flushInterval   = Duration.ofSeconds(1);
+
+    /**
+     * 队列满时的处理策略
+     */
+    private OverflowPolicy overflowPolicy  = OverflowPolicy.BLOCK;
+
+    /**
+     * BLOCK 策略下最长等待时间，超时后丢弃并计数
+     */
+    private Duration       blockTimeout    = Duration.ofSeconds(2);
+
+    /**
+     * 应用关闭时等待缓冲区写完的最长时间
+     */
+    private Duration       shutdownTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 本地预写日志
+     */
+    private Wal            wal             = new Wal();
+
+    /**
+     * 队列满处理策略
+     */
+    public enum OverflowPolicy {
+                                /**
+                                 * 阻塞调用线程，直到队列有空间或超时
+                                 */
+                                BLOCK,
+                                /**
+                                 * 直接丢弃并计数
+                                 */
+                                DROP,
+                                /**
+                                 * 写入本地预写日志，由写入线程空闲时回放
+                                 */
+                                SPILL
+    }
+
+    /**
+     * fsync 策略
+     */
+    public enum FsyncPolicy {
+                             /**
+                              * 每次写入后 fsync
+                              */
+                             ALWAYS,
+                             /**
+                              * 按 fsync-interval 间隔 fsync
+                              */
+                             INTERVAL,
+                             /**
+                              * 不主动 fsync，交由操作系统刷盘
+                              */
+                             NEVER
+    }
+
+    @Data
+    public static class Wal {
+
+        /**
+         * 是否先写入预写日志，开启后审计事件先落盘，再由写入线程批量写入数据库，
+         * 数据库不可用时保留在本地，恢复后继续写入
+         */
+        private boolean     enabled       = false;
+
+        /**
+         * 预写日志目录，SPILL 策略也使用该目录。需位于持久化存储上（容器部署时挂载数据卷），
+         * 不能使用临时目录，否则重启后未写入数据库的审计日志会丢失
+         */
+        private String      directory     = System.getProperty("user.home") + "/.topiam/audit";
+
+        /**
+         * 单个段文件大小
+         */
+        private DataSize    segmentSize   = DataSize.ofMegabytes(64);
+
+        /**
+         * fsync 策略
+         */
+        private FsyncPolicy fsync         = FsyncPolicy.INTERVAL;
+
+        /**
+         * INTERVAL 策略下 fsync 间隔
+         */
+        private Duration    fsyncInterval = Duration.ofMillis(200);
+
+        /**
+         * 同一批数据连续失败次数达到该值后二分重试，无法写入的记录移入死信文件
+         */
+        private int         maxAttempts   = 5;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.service.converter;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.springframework.data.jpa.domain.Specification;
+
+import cn.topiam.employee.audit.endpoint.pojo.AuditListQuery;
+import cn.topiam.employee.audit.entity.AuditEntity;
+import cn.topiam.employee.support.repository.page.domain.PageModel;
+import cn.topiam.employee.support.security.userdetails.UserDetails;
+import cn.topiam.employee.support.security.userdetails.UserType;
+import cn.topiam.employee.support.security.util.SecurityUtils;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import static cn.topiam.employee.audit.entity.AuditEntity.TARGET_ID_FIELD_NAME;
+
+/**
+ * 审计列表查询条件测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/20 11:40
+ */
+@SuppressWarnings("unchecked")
+class AuditDataConverterTest {
+
+    private final AuditDataConverter converter = mock(AuditDataConverter.class,
+        CALLS_REAL_METHODS);
+
+    private final Root<AuditEntity>  root      = mock(Root.class);
+
+    private final CriteriaQuery<?>   query     = mock(CriteriaQuery.class);
+
+    private final CriteriaBuilder    builder   = mock(CriteriaBuilder.class);
+
+    /**
+     * 操作目标条件使用生成列 target_id，不读取 JSON 字段 target_
+     */
+    @Test
+    void targetIdUsesGeneratedColumn() throws NoSuchFieldException {
+        Path<Object> targetId = mock(Path.class);
+        when(root.get(anyString())).thenReturn(mock(Path.class));
+        when(root.get(TARGET_ID_FIELD_NAME)).thenReturn(targetId);
+        AuditListQuery listQuery = new AuditListQuery();
+        listQuery.setTargetId("target-id");
+        PageModel page = mock(PageModel.class);
+        when(page.getSorts()).thenReturn(List.of());
+        UserDetails user = mock(UserDetails.class);
+        when(user.getUserType()).thenReturn(UserType.USER);
+        when(user.getId()).thenReturn("user-id");
+
+        try (MockedStatic<SecurityUtils> securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            Specification<AuditEntity> specification = converter
+                .auditListRequestConvertToSpecification(listQuery, page);
+            specification.toPredicate(root, query, builder);
+        }
+
+        verify(builder).equal(targetId, "target-id");
+        verify(root, never()).get("targets");
+        assertThat(AuditEntity.class.getDeclaredField(TARGET_ID_FIELD_NAME)
+            .getAnnotation(Column.class).name()).isEqualTo("target_id");
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.service.impl;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import cn.topiam.employee.audit.entity.AuditEntity;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import static cn.topiam.employee.audit.entity.AuditEntity.EVENT_TIME_FIELD_NAME;
+
+/**
+ * 审计日志游标分页条件测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/20 00:05
+ */
+@SuppressWarnings("unchecked")
+class AuditKeysetSpecificationTest {
+
+    private static final LocalDateTime EVENT_TIME = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private static final String        ID         = "audit-id";
+
+    private final Root<AuditEntity>    root       = mock(Root.class);
+
+    private final CriteriaQuery<?>     query      = mock(CriteriaQuery.class);
+
+    private final CriteriaBuilder      builder    = mock(CriteriaBuilder.class);
+
+    private final Path<LocalDateTime>  time       = mock(Path.class);
+
+    private final Path<String>         key        = mock(Path.class);
+
+    /**
+     * 倒序：event_time &lt; t OR (event_time = t AND id &lt; id)
+     */
+    @Test
+    void descending() {
+        Predicate timeBefore = mock(Predicate.class);
+        Predicate timeEqual = mock(Predicate.class);
+        Predicate idBefore = mock(Predicate.class);
+        Predicate tie = mock(Predicate.class);
+        Predicate expected = mock(Predicate.class);
+        mockPaths();
+        when(builder.lessThan(time, EVENT_TIME)).thenReturn(timeBefore);
+        when(builder.equal(time, EVENT_TIME)).thenReturn(timeEqual);
+        when(builder.lessThan(key, ID)).thenReturn(idBefore);
+        when(builder.and(timeEqual, idBefore)).thenReturn(tie);
+        when(builder.or(timeBefore, tie)).thenReturn(expected);
+
+        Specification<AuditEntity> after = AuditServiceImpl.after(EVENT_TIME, ID, false);
+        assertThat(after.toPredicate(root, query, builder)).isSameAs(expected);
+    }
+
+    /**
+     * 正序：event_time &gt; t OR (event_time = t AND id &gt; id)
+     */
+    @Test
+    void ascending() {
+        Predicate timeAfter = mock(Predicate.class);
+        Predicate timeEqual = mock(Predicate.class);
+        Predicate idAfter = mock(Predicate.class);
+        Predicate tie = mock(Predicate.class);
+        Predicate expected = mock(Predicate.class);
+        mockPaths();
+        when(builder.greaterThan(time, EVENT_TIME)).thenReturn(timeAfter);
+        when(builder.equal(time, EVENT_TIME)).thenReturn(timeEqual);
+        when(builder.greaterThan(key, ID)).thenReturn(idAfter);
+        when(builder.and(timeEqual, idAfter)).thenReturn(tie);
+        when(builder.or(timeAfter, tie)).thenReturn(expected);
+
+        Specification<AuditEntity> after = AuditServiceImpl.after(EVENT_TIME, ID, true);
+        assertThat(after.toPredicate(root, query, builder)).isSameAs(expected);
+    }
+
+    private void mockPaths() {
+        when(root.<LocalDateTime> get(EVENT_TIME_FIELD_NAME)).thenReturn(time);
+        when(root.<String> get("id")).thenReturn(key);
+    }
+}
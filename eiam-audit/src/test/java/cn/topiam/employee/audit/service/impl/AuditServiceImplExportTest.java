@@ -0,0 +1,131 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.MockedStatic;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.topiam.employee.audit.endpoint.pojo.AuditListQuery;
+import cn.topiam.employee.audit.endpoint.pojo.AuditListResult;
+import cn.topiam.employee.audit.entity.AuditEntity;
+import cn.topiam.employee.audit.enums.AuditExportFormat;
+import cn.topiam.employee.audit.repository.AuditRepository;
+import cn.topiam.employee.audit.service.converter.AuditDataConverter;
+import cn.topiam.employee.common.repository.account.UserRepository;
+import cn.topiam.employee.support.security.userdetails.UserDetails;
+import cn.topiam.employee.support.security.userdetails.UserType;
+import cn.topiam.employee.support.security.util.SecurityUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * 审计日志流式导出测试
+ * <p>
+ * 仓库流式返回大量数据，导出过程中每批交给转换器的数据不超过批大小，输出行数与数据总量一致。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/20 12:40
+ */
+class AuditServiceImplExportTest {
+
+    private static final int         TOTAL              = 200_000;
+
+    private static final int         EXPORT_BATCH_SIZE  = (int) ReflectionTestUtils
+        .getField(AuditServiceImpl.class, "EXPORT_BATCH_SIZE");
+
+    private final AuditDataConverter auditDataConverter = mock(AuditDataConverter.class);
+
+    private final AuditRepository    auditRepository    = mock(AuditRepository.class);
+
+    private final AuditServiceImpl   auditService       = new AuditServiceImpl(auditDataConverter,
+        auditRepository, mock(UserRepository.class), new ObjectMapper());
+
+    /**
+     * 转换器每批最多持有 {@link #EXPORT_BATCH_SIZE} 条，全部数据均被写出
+     */
+    @ParameterizedTest
+    @EnumSource(AuditExportFormat.class)
+    @SuppressWarnings("unchecked")
+    void streamInBoundedBatches(AuditExportFormat format) throws IOException {
+        doAnswer(invocation -> {
+            Consumer<AuditEntity> consumer = invocation.getArgument(7);
+            for (int i = 0; i < TOTAL; i++) {
+                AuditEntity entity = new AuditEntity();
+                entity.setId(String.valueOf(i));
+                consumer.accept(entity);
+            }
+            return null;
+        }).when(auditRepository).stream(any(), any(), any(), any(), any(), any(), any(), any());
+        AtomicInteger maxBatch = new AtomicInteger();
+        AtomicInteger converted = new AtomicInteger();
+        when(auditDataConverter.entityConvertToAuditListResult(anyList())).thenAnswer(invocation -> {
+            List<AuditEntity> batch = invocation.getArgument(0);
+            maxBatch.accumulateAndGet(batch.size(), Math::max);
+            converted.addAndGet(batch.size());
+            return batch.stream().map(entity -> {
+                AuditListResult result = new AuditListResult();
+                result.setId(entity.getId());
+                return result;
+            }).toList();
+        });
+        LineCountingOutputStream outputStream = new LineCountingOutputStream();
+        AuditListQuery query = new AuditListQuery();
+        query.setUserType(UserType.ADMIN.getType());
+        UserDetails user = mock(UserDetails.class);
+        when(user.getUserType()).thenReturn(UserType.ADMIN);
+        when(user.getId()).thenReturn("admin-id");
+
+        try (MockedStatic<SecurityUtils> securityUtils = mockStatic(SecurityUtils.class)) {
+            securityUtils.when(SecurityUtils::getCurrentUser).thenReturn(user);
+            auditService.exportAudit(query, format, outputStream);
+        }
+
+        assertThat(maxBatch.get()).isEqualTo(EXPORT_BATCH_SIZE);
+        assertThat(converted.get()).isEqualTo(TOTAL);
+        //CSV 额外一行表头
+        int header = AuditExportFormat.CSV.equals(format) ? 1 : 0;
+        assertThat(outputStream.lines).isEqualTo(TOTAL + header);
+    }
+
+    /**
+     * 只统计换行数，不保留输出内容
+     */
+    private static class LineCountingOutputStream extends OutputStream {
+
+        private int lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.service.impl;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import cn.topiam.employee.audit.endpoint.pojo.AuditListResult;
+import cn.topiam.employee.audit.entity.Target;
+import cn.topiam.employee.audit.enums.TargetType;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 审计日志 CSV 导出测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 23:50
+ */
+class CsvAuditExporterTest {
+
+    private static final String HEADER = "事件ID,事件时间,事件类型,事件状态,用户类型,用户ID,用户名称,IP,地理位置,浏览器,操作系统,操作对象\r\n";
+
+    /**
+     * 公式字符前加单引号，含逗号、引号、换行的字段加引号并转义引号
+     */
+    @Test
+    void escapeFields() throws IOException {
+        StringWriter writer = new StringWriter();
+        try (AuditServiceImpl.CsvAuditExporter exporter = new AuditServiceImpl.CsvAuditExporter(
+            writer)) {
+            exporter.write(List.of(result("1", "=HYPERLINK(\"http://x\")", null),
+                result("2", "-1+1", Target.builder().id("t1").name("a,b\nc")
+                    .type(TargetType.USER).typeName("用户").build()),
+                result("3", "\tcmd", null), result("4", "张三", null)));
+        }
+        //@formatter:off
+        assertThat(writer.toString()).isEqualTo("\uFEFF" + HEADER
+                + "1,,eiam:event:login:portal,,user,u1,\"'=HYPERLINK(\"\"http://x\"\")\",,,,,\r\n"
+                + "2,,eiam:event:login:portal,,user,u1,'-1+1,,,,,\"用户:a,b\nc\"\r\n"
+                + "3,,eiam:event:login:portal,,user,u1,'\tcmd,,,,,\r\n"
+                + "4,,eiam:event:login:portal,,user,u1,张三,,,,,\r\n");
+        //@formatter:on
+    }
+
+    /**
+     * 无数据时只输出 BOM 及表头
+     */
+    @Test
+    void headerOnly() throws IOException {
+        StringWriter writer = new StringWriter();
+        try (AuditServiceImpl.CsvAuditExporter exporter = new AuditServiceImpl.CsvAuditExporter(
+            writer)) {
+            exporter.write(List.of());
+        }
+        assertThat(writer.toString()).isEqualTo("\uFEFF" + HEADER);
+    }
+
+    private static AuditListResult result(String id, String username, Target target) {
+        AuditListResult result = new AuditListResult();
+        result.setId(id);
+        result.setEventType("eiam:event:login:portal");
+        result.setUserType("user");
+        result.setUserId("u1");
+        result.setUsername(username);
+        result.setTargets(target == null ? null : List.of(target));
+        return result;
+    }
+}
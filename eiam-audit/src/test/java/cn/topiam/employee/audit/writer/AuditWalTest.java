@@ -0,0 +1,150 @@
+/*
+ * eiam-audit - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.audit.writer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.topiam.employee.audit.entity.AuditEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 审计日志预写日志测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 22:10
+ */
+class AuditWalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path                       directory;
+
+    /**
+     * 进程崩溃时写入不完整的尾部记录，重新打开时截断，后续写入可正常读取
+     */
+    @Test
+    void truncateTornTail() throws IOException {
+        AuditWal wal = createWal(DataSize.ofMegabytes(1));
+        wal.append(entities(0, 2));
+        wal.close();
+        //写入半条记录：头部声明 100 字节，实际只有 10 字节
+        Path segment = listSegments().get(0);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.allocate(18);
+            buffer.putInt(100);
+            buffer.putInt(0);
+            buffer.position(buffer.capacity());
+            buffer.flip();
+            channel.write(buffer);
+        }
+
+        wal = createWal(DataSize.ofMegabytes(1));
+        assertThat(actorIds(wal.read(10))).containsExactly("actor-0", "actor-1");
+        assertThat(Files.size(segment)).isEqualTo(size);
+        wal.append(entities(2, 3));
+        assertThat(actorIds(wal.read(10))).containsExactly("actor-0", "actor-1", "actor-2");
+        wal.close();
+    }
+
+    /**
+     * 非尾部段文件损坏时跳过该段剩余数据，继续读取后续段
+     */
+    @Test
+    void skipCorruptedMiddleSegment() throws IOException {
+        //每条记录单独一个段文件
+        AuditWal wal = createWal(DataSize.ofBytes(1));
+        wal.append(entities(0, 3));
+        wal.close();
+        List<Path> segments = listSegments();
+        assertThat(segments).hasSize(3);
+        //破坏第二个段文件的 CRC
+        try (FileChannel channel = FileChannel.open(segments.get(1), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 0 }), 4);
+        }
+
+        wal = createWal(DataSize.ofBytes(1));
+        AuditWal.Batch batch = wal.read(10);
+        assertThat(actorIds(batch)).containsExactly("actor-0", "actor-2");
+        wal.commit(batch.next());
+        assertThat(wal.hasPending()).isFalse();
+        wal.close();
+    }
+
+    /**
+     * 重新打开后从 checkpoint 继续读取，已提交的段文件被删除
+     */
+    @Test
+    void resumeFromCheckpoint() throws IOException {
+        AuditWal wal = createWal(DataSize.ofBytes(1));
+        wal.append(entities(0, 3));
+        AuditWal.Batch batch = wal.read(2);
+        assertThat(actorIds(batch)).containsExactly("actor-0", "actor-1");
+        wal.commit(batch.next());
+        wal.close();
+
+        wal = createWal(DataSize.ofBytes(1));
+        assertThat(wal.hasPending()).isTrue();
+        batch = wal.read(10);
+        assertThat(actorIds(batch)).containsExactly("actor-2");
+        wal.commit(batch.next());
+        assertThat(wal.hasPending()).isFalse();
+        assertThat(listSegments()).hasSize(1);
+        wal.close();
+    }
+
+    private AuditWal createWal(DataSize segmentSize) {
+        AuditWriterProperties.Wal config = new AuditWriterProperties.Wal();
+        config.setDirectory(directory.toString());
+        config.setSegmentSize(segmentSize);
+        config.setFsync(AuditWriterProperties.FsyncPolicy.ALWAYS);
+        return new AuditWal(config, objectMapper);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(path -> path.getFileName().toString().endsWith(".wal")).sorted()
+                .toList();
+        }
+    }
+
+    private static List<AuditEntity> entities(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> new AuditEntity()
+            .setActorId("actor-" + i).setEventTime(LocalDateTime.of(2026, 10, 19, 0, 0))).toList();
+    }
+
+    private static List<String> actorIds(AuditWal.Batch batch) {
+        return batch.entities().stream().map(AuditEntity::getActorId).toList();
+    }
+}
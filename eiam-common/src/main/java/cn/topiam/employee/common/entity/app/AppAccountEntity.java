@@ -19,6 +19,8 @@ package cn.topiam.employee.common.entity.app;
 
 import org.hibernate.annotations.SoftDelete;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import cn.topiam.employee.support.repository.SoftDeleteConverter;
 import cn.topiam.employee.support.repository.base.BaseEntity;
 
@@ -29,7 +31,9 @@ import lombok.experimental.Accessors;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import static cn.topiam.employee.support.repository.base.BaseEntity.IS_DELETED_COLUMN;
 
 /**
@@ -75,4 +79,17 @@ public class AppAccountEntity extends BaseEntity {
      */
     @Column(name = "default_")
     private Boolean defaulted;
+
+    /**
+     * 加载时的账户名称，修改账户名称后清除旧账户缓存
+     */
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    private String  loadedAccount;
+
+    @PostLoad
+    private void postLoad() {
+        this.loadedAccount = this.account;
+    }
 }
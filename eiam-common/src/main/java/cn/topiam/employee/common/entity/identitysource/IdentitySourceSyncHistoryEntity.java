@@ -127,4 +127,10 @@ public class IdentitySourceSyncHistoryEntity extends BaseEntity {
      */
     @Column(name = "status_")
     private SyncStatus               status;
+
+    /**
+     * 检查点（分块同步时最后提交的上游对象ID）
+     */
+    @Column(name = "checkpoint_")
+    private String                   checkpoint;
 }
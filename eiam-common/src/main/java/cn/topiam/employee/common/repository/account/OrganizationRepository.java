@@ -274,4 +274,22 @@ public interface OrganizationRepository extends JpaRepository<OrganizationEntity
                     organization.id = :orgId OR LOCATE(:orgId, organization.path) > 0
             """)
     List<String> getOrgMemberList(@Param("orgId") String orgId);
+
+    /**
+     * 查询组织及下级组织成员用户名
+     *
+     * @param orgId {@link  String}
+     * @return {@link  List}
+     */
+    @Query(value = """
+                SELECT
+                    DISTINCT user.username
+                FROM
+                    UserEntity user
+                    INNER JOIN OrganizationMemberEntity om ON user.id = om.userId
+                    INNER JOIN OrganizationEntity organization ON organization.id = om.orgId
+                WHERE
+                    organization.id = :orgId OR LOCATE(:orgId, organization.path) > 0
+            """)
+    List<String> getOrgMemberUsernameList(@Param("orgId") String orgId);
 }
@@ -67,7 +67,7 @@ public interface UserRepository extends JpaRepository<UserEntity, String>,
      * @param id must not be {@literal null}.
      */
     @Override
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     void deleteById(@NotNull String id);
 
     /**
@@ -87,7 +87,7 @@ public interface UserRepository extends JpaRepository<UserEntity, String>,
      * @param <S> {@link UserEntity}
      */
     @Override
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#result.id")
     <S extends UserEntity> S save(@NotNull S entity);
 
     /**
@@ -140,7 +140,7 @@ public interface UserRepository extends JpaRepository<UserEntity, String>,
      */
     @Transactional(rollbackFor = Exception.class)
     @Modifying
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Query(value = "update UserEntity set password =:password,lastUpdatePasswordTime = :lastUpdatePasswordTime where id=:id")
     Integer updatePassword(@Param(value = "id") String id,
                            @Param(value = "password") String password,
@@ -155,7 +155,7 @@ public interface UserRepository extends JpaRepository<UserEntity, String>,
      */
     @Transactional(rollbackFor = Exception.class)
     @Modifying
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Query(value = "UPDATE UserEntity SET email=:email WHERE id=:id")
     Integer updateByIdAndEmail(@Param(value = "id") String id,
                                @Param(value = "email") String email);
@@ -169,7 +169,7 @@ public interface UserRepository extends JpaRepository<UserEntity, String>,
      */
     @Transactional(rollbackFor = Exception.class)
     @Modifying
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Query(value = "UPDATE UserEntity SET phone=:phone WHERE id=:id")
     Integer updateByIdAndPhone(@Param(value = "id") String id,
                                @Param(value = "phone") String phone);
@@ -183,7 +183,7 @@ public interface UserRepository extends JpaRepository<UserEntity, String>,
      */
     @Transactional(rollbackFor = Exception.class)
     @Modifying
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Query(value = "update UserEntity set status=:status where id=:id")
     Integer updateUserStatus(@Param(value = "id") String id,
                              @Param(value = "status") UserStatus status);
@@ -260,7 +260,7 @@ public interface UserRepository extends JpaRepository<UserEntity, String>,
      * @param ip {@link String}
      * @param loginTime {@link LocalDateTime}
      */
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Transactional(rollbackFor = Exception.class)
     @Modifying
     @Query(value = "UPDATE UserEntity SET authTotal = (COALESCE(authTotal,0) +1),lastAuthIp = :ip,lastAuthTime = :loginTime WHERE id = :id")
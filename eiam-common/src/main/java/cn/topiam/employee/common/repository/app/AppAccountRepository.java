@@ -24,6 +24,7 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.query.Param;
@@ -52,7 +53,10 @@ public interface AppAccountRepository extends JpaRepository<AppAccountEntity, St
      */
     @NotNull
     @Override
-    @CacheEvict(allEntries = true)
+    @Caching(evict = { @CacheEvict(key = "#result.appId+':'+#result.userId"),
+                       @CacheEvict(key = "'default:'+#result.appId+':'+#result.userId"),
+                       @CacheEvict(key = "#result.appId+':'+#result.userId+':'+#result.account"),
+                       @CacheEvict(key = "#result.appId+':'+#result.userId+':'+#result.loadedAccount", condition = "#result.loadedAccount != null && #result.loadedAccount != #result.account") })
     <S extends AppAccountEntity> S save(@NotNull S entity);
 
     /**
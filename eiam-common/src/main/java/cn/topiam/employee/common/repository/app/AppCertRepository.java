@@ -23,6 +23,7 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.query.Param;
@@ -60,7 +61,8 @@ public interface AppCertRepository extends JpaRepository<AppCertEntity, String>
      */
     @NotNull
     @Override
-    @CacheEvict(allEntries = true)
+    @Caching(evict = { @CacheEvict(key = "#result.id"),
+                       @CacheEvict(key = "#result.usingType.code+':'+#result.appId") })
     <S extends AppCertEntity> S save(@NotNull S entity);
 
     /**
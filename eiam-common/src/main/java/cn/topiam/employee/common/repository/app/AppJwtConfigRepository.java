@@ -45,7 +45,7 @@ public interface AppJwtConfigRepository extends JpaRepository<AppJwtConfigEntity
      *
      * @param appId {@link String}
      */
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Modifying
     @Transactional(rollbackFor = Exception.class)
     void deleteByAppId(@Param("appId") String appId);
@@ -68,7 +68,7 @@ public interface AppJwtConfigRepository extends JpaRepository<AppJwtConfigEntity
      */
     @NotNull
     @Override
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#result.appId")
     <S extends AppJwtConfigEntity> S save(@NotNull S entity);
 
     /**
@@ -44,7 +44,7 @@ public interface AppOidcConfigRepository extends JpaRepository<AppOidcConfigEnti
      *
      * @param appId {@link String}
      */
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Modifying
     @Transactional(rollbackFor = Exception.class)
     void deleteByAppId(@Param("appId") String appId);
@@ -67,7 +67,7 @@ public interface AppOidcConfigRepository extends JpaRepository<AppOidcConfigEnti
      */
     @NotNull
     @Override
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#result.appId")
     <S extends AppOidcConfigEntity> S save(@NotNull S entity);
 
     /**
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -52,7 +53,9 @@ public interface AppRepository extends JpaRepository<AppEntity, String>,
      */
     @NotNull
     @Override
-    @CacheEvict(allEntries = true)
+    @Caching(evict = { @CacheEvict(key = "#result.id"),
+                       @CacheEvict(key = "#result.code", condition = "#result.code != null"),
+                       @CacheEvict(key = "#result.clientId", condition = "#result.clientId != null") })
     <S extends AppEntity> S save(@NotNull S entity);
 
     /**
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -78,7 +79,8 @@ public interface IdentitySourceRepository extends JpaRepository<IdentitySourceEn
      */
     @Transactional(rollbackFor = Exception.class)
     @Modifying
-    @CacheEvict(allEntries = true)
+    @Caching(evict = { @CacheEvict(key = "#p0"),
+                       @CacheEvict(key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY") })
     @Query(value = "UPDATE IdentitySourceEntity SET enabled=:enabled where id=:id")
     Integer updateIdentitySourceStatus(@Param(value = "id") String id,
                                        @Param(value = "enabled") Boolean enabled);
@@ -93,7 +95,8 @@ public interface IdentitySourceRepository extends JpaRepository<IdentitySourceEn
      */
     @Override
     @NonNull
-    @CacheEvict(allEntries = true)
+    @Caching(evict = { @CacheEvict(key = "#result.id"),
+                       @CacheEvict(key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY") })
     <S extends IdentitySourceEntity> S save(@NonNull S entity);
 
     /**
@@ -103,7 +106,8 @@ public interface IdentitySourceRepository extends JpaRepository<IdentitySourceEn
      * @throws IllegalArgumentException in case the given {@literal id} is {@literal null}
      */
     @Override
-    @CacheEvict(allEntries = true)
+    @Caching(evict = { @CacheEvict(key = "#p0"),
+                       @CacheEvict(key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY") })
     void deleteById(@NonNull String id);
 
     /**
@@ -114,7 +118,8 @@ public interface IdentitySourceRepository extends JpaRepository<IdentitySourceEn
      */
     @Transactional(rollbackFor = Exception.class)
     @Modifying
-    @CacheEvict(allEntries = true)
+    @Caching(evict = { @CacheEvict(key = "#p0"),
+                       @CacheEvict(key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY") })
     @Query(value = "UPDATE IdentitySourceEntity SET strategyConfig = :strategyConfig where id = :id")
     void updateStrategyConfig(@Param(value = "id") String id,
                               @Param(value = "strategyConfig") String strategyConfig);
@@ -0,0 +1,64 @@
+/*
+ * eiam-common - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.common.repository.identitysource;
+
+import java.util.Collection;
+import java.util.Map;
+
+import cn.topiam.employee.common.enums.identitysource.IdentitySourceObjectType;
+
+/**
+ * 身份源同步摘要
+ * <p>
+ * 按外部ID保存上游数据摘要，定时同步时摘要未变化的数据直接跳过。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 23:10
+ */
+public interface IdentitySourceSyncHashRepository {
+
+    /**
+     * 查询摘要
+     *
+     * @param identitySourceId {@link String} 身份源ID
+     * @param objectType {@link IdentitySourceObjectType} 对象类型
+     * @return {@link Map} KEY：外部ID，VALUE：摘要
+     */
+    Map<String, String> findAllHashes(String identitySourceId,
+                                      IdentitySourceObjectType objectType);
+
+    /**
+     * 批量保存，已存在时更新摘要
+     *
+     * @param identitySourceId {@link String} 身份源ID
+     * @param objectType {@link IdentitySourceObjectType} 对象类型
+     * @param hashes {@link Map} KEY：外部ID，VALUE：摘要
+     */
+    void batchSave(String identitySourceId, IdentitySourceObjectType objectType,
+                   Map<String, String> hashes);
+
+    /**
+     * 根据外部ID批量删除
+     *
+     * @param identitySourceId {@link String} 身份源ID
+     * @param objectType {@link IdentitySourceObjectType} 对象类型
+     * @param externalIds {@link Collection} 外部ID
+     */
+    void deleteAllByExternalIdIn(String identitySourceId, IdentitySourceObjectType objectType,
+                                 Collection<String> externalIds);
+}
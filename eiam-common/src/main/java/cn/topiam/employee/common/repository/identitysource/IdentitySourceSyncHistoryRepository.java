@@ -17,11 +17,14 @@
  */
 package cn.topiam.employee.common.repository.identitysource;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import cn.topiam.employee.common.entity.identitysource.IdentitySourceSyncHistoryEntity;
+import cn.topiam.employee.common.enums.identitysource.IdentitySourceObjectType;
 
 /**
  * 身份源同步结果
@@ -33,4 +36,14 @@ import cn.topiam.employee.common.entity.identitysource.IdentitySourceSyncHistory
 public interface IdentitySourceSyncHistoryRepository extends
                                                      JpaRepository<IdentitySourceSyncHistoryEntity, String>,
                                                      JpaSpecificationExecutor<IdentitySourceSyncHistoryEntity> {
+
+    /**
+     * 查询最近一次同步历史
+     *
+     * @param identitySourceId {@link String} 身份源ID
+     * @param objectType {@link IdentitySourceObjectType} 对象类型
+     * @return {@link IdentitySourceSyncHistoryEntity}
+     */
+    Optional<IdentitySourceSyncHistoryEntity> findFirstByIdentitySourceIdAndObjectTypeOrderByStartTimeDesc(String identitySourceId,
+                                                                                                           IdentitySourceObjectType objectType);
 }
@@ -0,0 +1,86 @@
+/*
+ * eiam-common - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.common.repository.identitysource.impl;
+
+import java.util.*;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.CollectionUtils;
+
+import cn.topiam.employee.common.enums.identitysource.IdentitySourceObjectType;
+import cn.topiam.employee.common.repository.identitysource.IdentitySourceSyncHashRepository;
+
+/**
+ * 身份源同步摘要
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 23:10
+ */
+@Repository
+public class IdentitySourceSyncHashRepositoryImpl implements IdentitySourceSyncHashRepository {
+
+    @Override
+    public Map<String, String> findAllHashes(String identitySourceId,
+                                             IdentitySourceObjectType objectType) {
+        Map<String, String> hashes = new HashMap<>(16);
+        jdbcTemplate.query(
+            "SELECT external_id, hash_ FROM eiam_identity_source_sync_hash WHERE identity_source_id = ? AND object_type = ?",
+            rs -> {
+                hashes.put(rs.getString("external_id"), rs.getString("hash_"));
+            }, identitySourceId, objectType.getCode());
+        return hashes;
+    }
+
+    @Override
+    public void batchSave(String identitySourceId, IdentitySourceObjectType objectType,
+                          Map<String, String> hashes) {
+        if (CollectionUtils.isEmpty(hashes)) {
+            return;
+        }
+        //按主键顺序写入，避免并发同步时死锁
+        List<Object[]> args = new TreeMap<>(hashes).entrySet().stream()
+            .map(entry -> new Object[] { identitySourceId, objectType.getCode(), entry.getKey(),
+                                         entry.getValue() })
+            .toList();
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO eiam_identity_source_sync_hash (identity_source_id, object_type, external_id, hash_, update_time) VALUES (?,?,?,?,CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE hash_ = VALUES(hash_), update_time = VALUES(update_time)",
+            args);
+    }
+
+    @Override
+    public void deleteAllByExternalIdIn(String identitySourceId,
+                                        IdentitySourceObjectType objectType,
+                                        Collection<String> externalIds) {
+        if (CollectionUtils.isEmpty(externalIds)) {
+            return;
+        }
+        List<Object[]> args = new TreeSet<>(externalIds).stream()
+            .map(externalId -> new Object[] { identitySourceId, objectType.getCode(), externalId })
+            .toList();
+        jdbcTemplate.batchUpdate(
+            "DELETE FROM eiam_identity_source_sync_hash WHERE identity_source_id = ? AND object_type = ? AND external_id = ?",
+            args);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdentitySourceSyncHashRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+}
@@ -62,7 +62,7 @@ public interface AdministratorRepository extends JpaRepository<AdministratorEnti
      * @param id must not be {@literal null}.
      */
     @Override
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     void deleteById(@NotNull String id);
 
     /**
@@ -81,7 +81,7 @@ public interface AdministratorRepository extends JpaRepository<AdministratorEnti
      * @return {@link AdministratorEntity}
      */
     @Override
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#result.id")
     <S extends AdministratorEntity> S save(@NotNull S entity);
 
     /**
@@ -116,7 +116,7 @@ public interface AdministratorRepository extends JpaRepository<AdministratorEnti
      */
     @Transactional(rollbackFor = Exception.class)
     @Modifying
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Query(value = "UPDATE AdministratorEntity set status = :status where id = :id")
     void updateStatus(@Param(value = "id") String id, @Param(value = "status") UserStatus status);
 
@@ -130,7 +130,7 @@ public interface AdministratorRepository extends JpaRepository<AdministratorEnti
      */
     @Transactional(rollbackFor = Exception.class)
     @Modifying
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Query(value = "update AdministratorEntity set password =:password, lastUpdatePasswordTime = :lastUpdatePasswordTime where id=:id")
     Integer updatePassword(@Param(value = "id") String id,
                            @Param(value = "password") String password,
@@ -143,7 +143,7 @@ public interface AdministratorRepository extends JpaRepository<AdministratorEnti
      * @param ip {@link String}
      * @param loginTime {@link LocalDateTime}
      */
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Transactional(rollbackFor = Exception.class)
     @Modifying
     @Query(value = "UPDATE AdministratorEntity SET authTotal = (COALESCE(authTotal,0) +1),lastAuthIp = :ip,lastAuthTime = :loginTime WHERE id = :id")
@@ -158,7 +158,7 @@ public interface AdministratorRepository extends JpaRepository<AdministratorEnti
      */
     @Transactional(rollbackFor = Exception.class)
     @Modifying
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Query(value = "UPDATE AdministratorEntity SET email =:email WHERE id=:id")
     Integer updateByIdAndEmail(@Param(value = "id") String id,
                                @Param(value = "email") String email);
@@ -172,7 +172,7 @@ public interface AdministratorRepository extends JpaRepository<AdministratorEnti
      */
     @Transactional(rollbackFor = Exception.class)
     @Modifying
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Query(value = "UPDATE AdministratorEntity set phone =:phone where id=:id")
     Integer updateByIdAndPhone(@Param(value = "id") String id,
                                @Param(value = "phone") String phone);
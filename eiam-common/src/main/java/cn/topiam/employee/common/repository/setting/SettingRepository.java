@@ -93,7 +93,7 @@ public interface SettingRepository extends JpaRepository<SettingEntity, String>
      * @param name {@link String}
      */
     @Modifying
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#p0")
     @Transactional(rollbackFor = Exception.class)
     void deleteByName(@Param("name") String name);
 
@@ -125,7 +125,7 @@ public interface SettingRepository extends JpaRepository<SettingEntity, String>
      */
     @NotNull
     @Override
-    @CacheEvict(allEntries = true)
+    @CacheEvict(key = "#result.name")
     <S extends SettingEntity> S save(@NotNull S entity);
 
     default SettingRepository getSelf() {
@@ -0,0 +1,206 @@
+/*
+ * eiam-common - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.common.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.AopTestUtils;
+
+import cn.topiam.employee.common.entity.account.UserEntity;
+import cn.topiam.employee.common.entity.app.AppAccountEntity;
+import cn.topiam.employee.common.entity.app.AppEntity;
+import cn.topiam.employee.common.repository.account.UserRepository;
+import cn.topiam.employee.common.repository.app.AppAccountRepository;
+import cn.topiam.employee.common.repository.app.AppRepository;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import static cn.topiam.employee.common.constant.AccountConstants.USER_CACHE_NAME;
+import static cn.topiam.employee.common.constant.AppConstants.APP_ACCOUNT_CACHE_NAME;
+import static cn.topiam.employee.common.constant.AppConstants.APP_CACHE_NAME;
+
+/**
+ * 仓库缓存按 Key 清除测试
+ * <p>
+ * 缓存代理包装 Mock 仓库，写入、删除后只清除受影响的 Key，其他缓存仍然命中。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/20 11:05
+ */
+@SpringJUnitConfig(RepositoryCacheEvictTest.CacheConfiguration.class)
+class RepositoryCacheEvictTest {
+
+    @Autowired
+    private CacheManager         cacheManager;
+
+    @Autowired
+    private AppRepository        appRepository;
+
+    @Autowired
+    private UserRepository       userRepository;
+
+    @Autowired
+    private AppAccountRepository appAccountRepository;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        reset(target(appRepository), target(userRepository), target(appAccountRepository));
+    }
+
+    /**
+     * 保存应用只清除该应用的 id、code、clientId，其他应用仍然命中
+     */
+    @Test
+    void saveAppEvictsOwnKeys() {
+        AppEntity app1 = app("app-1");
+        AppEntity app2 = app("app-2");
+        AppRepository target = target(appRepository);
+        when(target.findById("app-1")).thenReturn(Optional.of(app1));
+        when(target.findById("app-2")).thenReturn(Optional.of(app2));
+        when(target.findByCode("code-app-1")).thenReturn(Optional.of(app1));
+        when(target.findByClientId("client-app-1")).thenReturn(Optional.of(app1));
+        when(target.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        appRepository.findById("app-1");
+        appRepository.findById("app-2");
+        appRepository.findByCode("code-app-1");
+        appRepository.findByClientId("client-app-1");
+
+        appRepository.save(app1);
+
+        Cache cache = cacheManager.getCache(APP_CACHE_NAME);
+        assertThat(cache.get("app-1")).isNull();
+        assertThat(cache.get("code-app-1")).isNull();
+        assertThat(cache.get("client-app-1")).isNull();
+        assertThat(cache.get("app-2")).isNotNull();
+        appRepository.findById("app-2");
+        verify(target, times(1)).findById("app-2");
+    }
+
+    /**
+     * 保存、删除用户只清除该用户
+     */
+    @Test
+    void saveAndDeleteUserEvictOwnKey() {
+        UserEntity user1 = user("user-1");
+        UserEntity user2 = user("user-2");
+        UserEntity user3 = user("user-3");
+        UserRepository target = target(userRepository);
+        when(target.findById("user-1")).thenReturn(Optional.of(user1));
+        when(target.findById("user-2")).thenReturn(Optional.of(user2));
+        when(target.findById("user-3")).thenReturn(Optional.of(user3));
+        when(target.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        userRepository.findById("user-1");
+        userRepository.findById("user-2");
+        userRepository.findById("user-3");
+
+        userRepository.save(user1);
+        userRepository.deleteById("user-2");
+
+        Cache cache = cacheManager.getCache(USER_CACHE_NAME);
+        assertThat(cache.get("user-1")).isNull();
+        assertThat(cache.get("user-2")).isNull();
+        assertThat(cache.get("user-3")).isNotNull();
+        userRepository.findById("user-3");
+        verify(target, times(1)).findById("user-3");
+    }
+
+    /**
+     * 修改账户名称后清除旧账户名称缓存，同一用户的其他账户仍然命中
+     */
+    @Test
+    void renameAppAccountEvictsLoadedAccount() {
+        AppAccountEntity account = new AppAccountEntity().setAppId("app").setUserId("user")
+            .setAccount("old").setLoadedAccount("old");
+        AppAccountEntity other = new AppAccountEntity().setAppId("app").setUserId("user")
+            .setAccount("other").setLoadedAccount("other");
+        AppAccountRepository target = target(appAccountRepository);
+        when(target.findByAppIdAndUserIdAndAccount("app", "user", "old"))
+            .thenReturn(Optional.of(account));
+        when(target.findByAppIdAndUserIdAndAccount("app", "user", "other"))
+            .thenReturn(Optional.of(other));
+        when(target.findByAppIdAndUserId("app", "user")).thenReturn(List.of(account, other));
+        when(target.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        appAccountRepository.findByAppIdAndUserIdAndAccount("app", "user", "old");
+        appAccountRepository.findByAppIdAndUserIdAndAccount("app", "user", "other");
+        appAccountRepository.findByAppIdAndUserId("app", "user");
+
+        account.setAccount("new");
+        appAccountRepository.save(account);
+
+        Cache cache = cacheManager.getCache(APP_ACCOUNT_CACHE_NAME);
+        assertThat(cache.get("app:user:old")).isNull();
+        assertThat(cache.get("app:user")).isNull();
+        assertThat(cache.get("app:user:other")).isNotNull();
+    }
+
+    private static AppEntity app(String id) {
+        AppEntity app = new AppEntity();
+        app.setId(id);
+        app.setCode("code-" + id);
+        app.setClientId("client-" + id);
+        return app;
+    }
+
+    private static UserEntity user(String id) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        return user;
+    }
+
+    private static <T> T target(T repository) {
+        return AopTestUtils.getUltimateTargetObject(repository);
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CacheConfiguration {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        public AppRepository appRepository() {
+            return mock(AppRepository.class);
+        }
+
+        @Bean
+        public UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+
+        @Bean
+        public AppAccountRepository appAccountRepository() {
+            return mock(AppAccountRepository.class);
+        }
+    }
+}
@@ -27,6 +27,10 @@ import { SessionList } from './data.d';
 
 export default () => {
   const actionRef = useRef<ActionType>();
+  /**
+   * 各页游标，KEY：页码，VALUE：查询该页使用的游标
+   */
+  const cursorRef = useRef<Record<number, string | undefined>>({});
   const intl = useIntl();
   const { message, modal } = App.useApp();
 
@@ -263,7 +267,7 @@ export default () => {
           );
         }}
         actionRef={actionRef}
-        pagination={{ defaultPageSize: 10 }}
+        pagination={{ defaultPageSize: 20, showQuickJumper: false, showSizeChanger: false }}
         form={{
           // 由于配置了 transform，提交的参与与定义的不同这里需要转化一下
           syncToUrl: (values, type) => {
@@ -275,7 +279,16 @@ export default () => {
             return values;
           },
         }}
-        request={getSessionList}
+        request={async (params) => {
+          const { current = 1 } = params;
+          // 查询条件变化或刷新时从第一页开始
+          if (current === 1) {
+            cursorRef.current = {};
+          }
+          const result = await getSessionList({ ...params, cursor: cursorRef.current[current] });
+          cursorRef.current[current + 1] = result.cursor;
+          return result;
+        }}
         rowKey="sessionId"
         dateFormatter="string"
       />
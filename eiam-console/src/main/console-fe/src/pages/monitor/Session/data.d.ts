@@ -46,3 +46,11 @@ export type SessionList = {
   lastRequest: string;
   sessionId: string;
 };
+
+/**
+ * 在线会话分页，cursor 为空表示没有下一页
+ */
+export type SessionPage = {
+  list: SessionList[];
+  cursor?: string;
+};
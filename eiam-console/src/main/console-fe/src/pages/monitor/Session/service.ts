@@ -17,21 +17,27 @@
  */
 import { request } from '@@/plugin-request/request';
 import type { RequestData } from '@ant-design/pro-components';
-import { SessionList } from './data.d';
+import { SessionList, SessionPage } from './data.d';
 
 /**
- * 获取在线用户列表
+ * 获取在线用户列表，按游标分页
  */
 export async function getSessionList(
-  params: Record<string, string>,
-): Promise<RequestData<SessionList>> {
-  return request<API.ApiResult<SessionList>>('/api/v1/session/list', {
+  params: Record<string, any>,
+): Promise<RequestData<SessionList> & { cursor?: string }> {
+  const { current, pageSize, cursor, ...query } = params;
+  return request<API.ApiResult<SessionPage>>('/api/v1/session/list', {
     method: 'GET',
-    params,
+    params: { ...query, cursor, size: pageSize },
   }).then((result) => {
-    const data: RequestData<SessionList> = {
-      data: result?.result ? result?.result : [],
+    const list = result?.result?.list || [];
+    const nextCursor = result?.result?.cursor;
+    const data: RequestData<SessionList> & { cursor?: string } = {
+      data: list,
       success: result?.success,
+      // 游标分页无法获取总数，存在下一页时多计一条，使分页器可以翻到下一页
+      total: nextCursor ? current * pageSize + 1 : (current - 1) * pageSize + list.length,
+      cursor: nextCursor,
     };
     return Promise.resolve(data);
   });
@@ -17,14 +17,24 @@
  */
 package cn.topiam.employee.console.configuration;
 
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
 import org.springframework.boot.autoconfigure.session.RedisSessionProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.Session;
+import org.springframework.session.web.http.SessionRepositoryFilter;
 
+import cn.topiam.eiam.protocol.oidc.authentication.RedisOAuth2AuthorizationRevoker;
 import cn.topiam.employee.core.security.session.ClusterSessionRegistryImpl;
+import cn.topiam.employee.core.security.session.SessionIndexFilter;
+import cn.topiam.employee.protocol.jwt.RedisJwtAuthorizationRevoker;
+import cn.topiam.employee.support.redis.KeyStringRedisSerializer;
 
 /**
  *
@@ -40,4 +50,61 @@ public class ConsoleSessionConfiguration {
         return new ClusterSessionRegistryImpl<>(sessionRepository,
             redisSessionProperties.getNamespace());
     }
+
+    /**
+     * 会话索引过滤器，在 SessionRepositoryFilter 之后
+     *
+     * @param sessionRegistry {@link SessionRegistry}
+     * @return {@link FilterRegistrationBean}
+     */
+    @Bean
+    public FilterRegistrationBean<SessionIndexFilter> sessionIndexFilter(SessionRegistry sessionRegistry) {
+        FilterRegistrationBean<SessionIndexFilter> registration = new FilterRegistrationBean<>(
+            new SessionIndexFilter((ClusterSessionRegistryImpl<?>) sessionRegistry));
+        registration.setOrder(SessionRepositoryFilter.DEFAULT_ORDER + 1);
+        return registration;
+    }
+
+    /**
+     * OIDC 授权批量撤销
+     *
+     * @param redisConnectionFactory {@link RedisConnectionFactory}
+     * @param cacheProperties {@link CacheProperties}
+     * @return {@link RedisOAuth2AuthorizationRevoker}
+     */
+    @Bean
+    public RedisOAuth2AuthorizationRevoker oauth2AuthorizationRevoker(RedisConnectionFactory redisConnectionFactory,
+                                                                      CacheProperties cacheProperties) {
+        return new RedisOAuth2AuthorizationRevoker(
+            getStringRedisTemplate(redisConnectionFactory, cacheProperties));
+    }
+
+    /**
+     * JWT 授权批量撤销
+     *
+     * @param redisConnectionFactory {@link RedisConnectionFactory}
+     * @param cacheProperties {@link CacheProperties}
+     * @return {@link RedisJwtAuthorizationRevoker}
+     */
+    @Bean
+    public RedisJwtAuthorizationRevoker jwtAuthorizationRevoker(RedisConnectionFactory redisConnectionFactory,
+                                                                CacheProperties cacheProperties) {
+        return new RedisJwtAuthorizationRevoker(
+            getStringRedisTemplate(redisConnectionFactory, cacheProperties));
+    }
+
+    /**
+     * 与门户协议授权存储使用相同的 key 前缀及序列化方式
+     */
+    private RedisTemplate<String, String> getStringRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                                 CacheProperties cacheProperties) {
+        RedisTemplate<String, String> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        KeyStringRedisSerializer keyStringRedisSerializer = new KeyStringRedisSerializer(
+            cacheProperties.getRedis().getKeyPrefix());
+        redisTemplate.setKeySerializer(keyStringRedisSerializer);
+        redisTemplate.setValueSerializer(StringRedisSerializer.UTF_8);
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
 }
@@ -25,14 +25,13 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.session.SessionRegistry;
-import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
 
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.annotation.JSONField;
@@ -43,8 +42,13 @@ import cn.topiam.employee.audit.context.AuditContext;
 import cn.topiam.employee.audit.entity.Target;
 import cn.topiam.employee.audit.enums.TargetType;
 import cn.topiam.employee.audit.event.type.EventType;
+import cn.topiam.employee.console.pojo.result.session.SessionRevocationResult;
+import cn.topiam.employee.console.pojo.save.session.SessionRevocationParam;
+import cn.topiam.employee.console.service.session.SessionRevocationService;
 import cn.topiam.employee.core.security.session.ClusterSessionRegistryImpl;
 import cn.topiam.employee.core.security.session.Session;
+import cn.topiam.employee.core.security.session.SessionPage;
+import cn.topiam.employee.core.security.session.SessionQuery;
 import cn.topiam.employee.support.context.ApplicationContextService;
 import cn.topiam.employee.support.geo.GeoLocation;
 import cn.topiam.employee.support.lock.Lock;
@@ -75,6 +79,17 @@ import static cn.topiam.employee.support.constant.EiamConstants.DEFAULT_DATE_TIM
 @RestController
 @RequestMapping(value = SESSION_PATH)
 public class SessionManageEndpoint {
+
+    /**
+     * 默认每页条数
+     */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * 最大每页条数
+     */
+    private static final int MAX_PAGE_SIZE     = 100;
+
     /**
      * list
      *
@@ -84,38 +99,30 @@ public class SessionManageEndpoint {
     @Operation(summary = "在线会话")
     @GetMapping("/list")
     @PreAuthorize(value = "authenticated and @sae.hasAuthority(T(cn.topiam.employee.support.security.userdetails.UserType).ADMIN)")
-    public ApiRestResult<List<OnlineSession>> list(HttpServletRequest req) {
-        List<OnlineSession> list = new ArrayList<>();
-        List<Object> principals;
+    public ApiRestResult<OnlineSessionPage> list(HttpServletRequest req) {
+        OnlineSessionPage page = new OnlineSessionPage().setList(new ArrayList<>());
         SessionRegistry registry = ApplicationContextService.getBean(SessionRegistry.class);
-        if (registry instanceof ClusterSessionRegistryImpl) {
-            //根据用户查询
-            if (StringUtils.isNoneBlank(req.getParameter(USERNAME))) {
-                principals = ((ClusterSessionRegistryImpl<?>) (registry))
-                    .getSessionList(req.getParameter(USERNAME));
-            } else {
-                principals = registry.getAllPrincipals();
-            }
-            //封装数据
-            principals.forEach(principal -> {
-                if (principal instanceof Session) {
+        if (registry instanceof ClusterSessionRegistryImpl<?> clusterSessionRegistry) {
+            //@formatter:off
+            SessionQuery query = SessionQuery.builder()
+                    .username(req.getParameter(USERNAME))
+                    .userType(req.getParameter("userType"))
+                    .ip(req.getParameter("ip"))
+                    .cursor(req.getParameter("cursor"))
+                    .size(NumberUtils.toInt(req.getParameter("size"), DEFAULT_PAGE_SIZE))
                     //过滤掉当前用户的会话
-                    if (!((Session) principal).getSessionId()
-                        .equals(req.getSession(false).getId())) {
-                        //@formatter:off
-                        OnlineSession user = OnlineUserConverter.INSTANCE.sessionDetailsToOnlineSession(((Session) principal));
-                        String userType = req.getParameter("userType");
-                        if (StringUtils.isEmpty(userType) || user.getUserType().equals(userType)) {
-                            list.add(user);
-                        }
-                        //@formatter:on
-                    }
-                }
-            });
-
+                    .excludeSessionId(req.getSession(false).getId())
+                    .build();
+            //@formatter:on
+            query.setSize(Math.min(Math.max(query.getSize(), 1), MAX_PAGE_SIZE));
+            SessionPage sessionPage = clusterSessionRegistry.getSessionPage(query);
+            //封装数据
+            sessionPage.getList().forEach(session -> page.getList()
+                .add(OnlineUserConverter.INSTANCE.sessionDetailsToOnlineSession(session)));
+            page.setCursor(sessionPage.getCursor());
         }
         // 封装返回
-        return ApiRestResult.<List<OnlineSession>> builder().result(list).build();
+        return ApiRestResult.<OnlineSessionPage> builder().result(page).build();
     }
 
     /**
@@ -151,6 +158,65 @@ public class SessionManageEndpoint {
         return ApiRestResult.ok();
     }
 
+    /**
+     * 批量下线
+     *
+     * @param param {@link SessionRevocationParam}
+     * @return {@link ApiRestResult}
+     */
+    @Lock
+    @Preview
+    @Operation(summary = "批量下线")
+    @Audit(type = EventType.DOWN_LINE_SESSION)
+    @PreAuthorize(value = "authenticated and @sae.hasAuthority(T(cn.topiam.employee.support.security.userdetails.UserType).ADMIN)")
+    @PostMapping("/revoke")
+    public ApiRestResult<SessionRevocationResult> revoke(@RequestBody @Validated SessionRevocationParam param) {
+        SessionRevocationService service = ApplicationContextService
+            .getBean(SessionRevocationService.class);
+        return ApiRestResult.<SessionRevocationResult> builder().result(service.revoke(param))
+            .build();
+    }
+
+    /**
+     * 批量下线进度
+     *
+     * @param taskId {@link String}
+     * @return {@link ApiRestResult}
+     */
+    @Operation(summary = "批量下线进度")
+    @PreAuthorize(value = "authenticated and @sae.hasAuthority(T(cn.topiam.employee.support.security.userdetails.UserType).ADMIN)")
+    @GetMapping("/revoke/{taskId}")
+    public ApiRestResult<SessionRevocationResult> getRevokeProgress(@PathVariable(value = "taskId") String taskId) {
+        SessionRevocationService service = ApplicationContextService
+            .getBean(SessionRevocationService.class);
+        return ApiRestResult.<SessionRevocationResult> builder()
+            .result(service.getProgress(taskId)).build();
+    }
+
+    /**
+     * 在线会话分页
+     *
+     * @author TopIAM
+     * Created by support@topiam.cn on 2026/10/19 12:10
+     */
+    @Data
+    @Accessors(chain = true)
+    public static class OnlineSessionPage implements Serializable {
+
+        @Serial
+        private static final long   serialVersionUID = -4969102561624817905L;
+
+        /**
+         * 会话列表
+         */
+        private List<OnlineSession> list;
+
+        /**
+         * 下一页游标，没有下一页时为空
+         */
+        private String              cursor;
+    }
+
     /**
      * 在线用户
      *
@@ -0,0 +1,72 @@
+/*
+ * eiam-console - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.console.controller.setting;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import cn.topiam.employee.console.pojo.result.setting.CacheStatisticsResult;
+import cn.topiam.employee.console.service.setting.CacheStatisticsService;
+import cn.topiam.employee.support.result.ApiRestResult;
+
+import lombok.AllArgsConstructor;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import static cn.topiam.employee.common.constant.SettingConstants.SETTING_PATH;
+
+/**
+ * 缓存统计
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 10:20
+ */
+@Validated
+@Tag(name = "缓存统计")
+@RestController
+@AllArgsConstructor
+@RequestMapping(value = SETTING_PATH + "/cache", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CacheStatisticsController {
+
+    /**
+     * 获取缓存统计
+     *
+     * @param top {@link Integer}
+     * @return {@link CacheStatisticsResult}
+     */
+    @Operation(summary = "获取缓存统计")
+    @GetMapping("/statistics")
+    @PreAuthorize(value = "authenticated and @sae.hasAuthority(T(cn.topiam.employee.support.security.userdetails.UserType).ADMIN)")
+    public ApiRestResult<CacheStatisticsResult> getStatistics(@Parameter(description = "返回条数") @RequestParam(defaultValue = "10") @Min(1) @Max(100) Integer top) {
+        return ApiRestResult.<CacheStatisticsResult> builder()
+            .result(cacheStatisticsService.getStatistics(top)).build();
+    }
+
+    /**
+     * CacheStatisticsService
+     */
+    private final CacheStatisticsService cacheStatisticsService;
+}
@@ -0,0 +1,112 @@
+/*
+ * eiam-console - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.console.pojo.result.session;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 批量下线进度
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 14:05
+ */
+@Data
+@Schema(description = "批量下线进度")
+public class SessionRevocationResult implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -1786093054520158744L;
+
+    /**
+     * 任务ID
+     */
+    @Schema(description = "任务ID")
+    private String            taskId;
+
+    /**
+     * 状态
+     */
+    @Schema(description = "状态")
+    private Status            status;
+
+    /**
+     * 待处理数量（用户数或应用数）
+     */
+    @Schema(description = "待处理数量")
+    private long              total;
+
+    /**
+     * 已处理数量
+     */
+    @Schema(description = "已处理数量")
+    private long              processed;
+
+    /**
+     * 已下线会话数量
+     */
+    @Schema(description = "已下线会话数量")
+    private long              revokedSessions;
+
+    /**
+     * 已撤销授权数量
+     */
+    @Schema(description = "已撤销授权数量")
+    private long              revokedAuthorizations;
+
+    /**
+     * 开始时间
+     */
+    @Schema(description = "开始时间")
+    private LocalDateTime     startTime;
+
+    /**
+     * 结束时间
+     */
+    @Schema(description = "结束时间")
+    private LocalDateTime     endTime;
+
+    /**
+     * 失败原因
+     */
+    @Schema(description = "失败原因")
+    private String            message;
+
+    /**
+     * 状态
+     */
+    public enum Status {
+                        /**
+                         * 执行中
+                         */
+                        RUNNING,
+                        /**
+                         * 已完成
+                         */
+                        COMPLETED,
+                        /**
+                         * 失败
+                         */
+                        FAILED
+    }
+}
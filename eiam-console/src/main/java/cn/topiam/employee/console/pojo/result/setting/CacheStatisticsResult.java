@@ -0,0 +1,141 @@
+/*
+ * eiam-console - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.console.pojo.result.setting;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 缓存统计
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 10:05
+ */
+@Data
+@Builder
+@Schema(description = "缓存统计")
+public class CacheStatisticsResult implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -2164083521775294417L;
+
+    /**
+     * 上报节点数
+     */
+    @Schema(description = "上报节点数")
+    private Integer           nodes;
+
+    /**
+     * 访问最频繁的缓存
+     */
+    @Schema(description = "访问最频繁的缓存")
+    private List<Item>        hottest;
+
+    /**
+     * 淘汰最频繁的缓存
+     */
+    @Schema(description = "淘汰最频繁的缓存")
+    private List<Item>        thrashing;
+
+    @Data
+    @Builder
+    @Schema(description = "缓存统计项")
+    public static class Item implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 7395268610373209952L;
+
+        /**
+         * 缓存名称
+         */
+        @Schema(description = "缓存名称")
+        private String            cacheName;
+
+        /**
+         * 读取次数
+         */
+        @Schema(description = "读取次数")
+        private Long              gets;
+
+        /**
+         * 命中次数
+         */
+        @Schema(description = "命中次数")
+        private Long              hits;
+
+        /**
+         * 本地命中次数
+         */
+        @Schema(description = "本地命中次数")
+        private Long              localHits;
+
+        /**
+         * 未命中次数
+         */
+        @Schema(description = "未命中次数")
+        private Long              misses;
+
+        /**
+         * 命中率
+         */
+        @Schema(description = "命中率")
+        private Double            hitRatio;
+
+        /**
+         * 写入次数
+         */
+        @Schema(description = "写入次数")
+        private Long              puts;
+
+        /**
+         * 删除、清空次数
+         */
+        @Schema(description = "删除、清空次数")
+        private Long              evictions;
+
+        /**
+         * 本地缓存容量、过期淘汰次数
+         */
+        @Schema(description = "本地缓存容量、过期淘汰次数")
+        private Long              localEvictions;
+
+        /**
+         * 淘汰率（淘汰次数 / 读取次数）
+         */
+        @Schema(description = "淘汰率")
+        private Double            evictionRatio;
+
+        /**
+         * 本地缓存条目数（各节点合计）
+         */
+        @Schema(description = "本地缓存条目数")
+        private Long              localSize;
+
+        /**
+         * Redis 平均读取耗时（毫秒）
+         */
+        @Schema(description = "Redis 平均读取耗时（毫秒）")
+        private Double            remoteLoadAvgMillis;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * eiam-console - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.console.pojo.save.session;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.Data;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 批量下线入参
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 14:00
+ */
+@Data
+@Schema(description = "批量下线入参")
+public class SessionRevocationParam implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6081294567703925512L;
+
+    /**
+     * 下线范围
+     */
+    @Schema(description = "下线范围")
+    @NotNull(message = "下线范围不能为空")
+    private Scope             scope;
+
+    /**
+     * 用户、组织或应用ID
+     */
+    @Schema(description = "用户、组织或应用ID")
+    @NotEmpty(message = "ID不能为空")
+    private List<String>      ids;
+
+    /**
+     * 下线范围
+     */
+    public enum Scope {
+                       /**
+                        * 用户，下线会话并撤销授权
+                        */
+                       USER,
+                       /**
+                        * 组织及下级组织成员，下线会话并撤销授权
+                        */
+                       ORGANIZATION,
+                       /**
+                        * 应用，撤销应用的全部授权
+                        */
+                       APP
+    }
+}
@@ -24,6 +24,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import cn.topiam.employee.application.event.ApplicationConfigEventUtils;
 import cn.topiam.employee.audit.context.AuditContext;
 import cn.topiam.employee.audit.entity.Target;
 import cn.topiam.employee.audit.enums.TargetType;
@@ -105,6 +106,9 @@ public class AppAccessPolicyServiceImpl implements AppAccessPolicyService {
             appAccessPolicyRepository.save(entity);
             setAuditTarget(entity);
         }
+        //通知集群刷新应用授权
+        list.stream().map(AppAccessPolicyEntity::getAppId).distinct()
+            .forEach(ApplicationConfigEventUtils::entitlement);
         return true;
     }
 
@@ -127,6 +131,8 @@ public class AppAccessPolicyServiceImpl implements AppAccessPolicyService {
         AppAccessPolicyEntity entity = optional.get();
         appAccessPolicyRepository.deleteById(id);
         setAuditTarget(entity);
+        //通知集群刷新应用授权
+        ApplicationConfigEventUtils.entitlement(entity.getAppId());
         return true;
     }
 
@@ -148,6 +154,8 @@ public class AppAccessPolicyServiceImpl implements AppAccessPolicyService {
         Integer count = appAccessPolicyRepository.updateStatus(id, Boolean.TRUE);
         AppAccessPolicyEntity entity = optional.get();
         setAuditTarget(entity);
+        //通知集群刷新应用授权
+        ApplicationConfigEventUtils.entitlement(entity.getAppId());
         return count > 0;
     }
 
@@ -169,6 +177,8 @@ public class AppAccessPolicyServiceImpl implements AppAccessPolicyService {
         AppAccessPolicyEntity entity = optional.get();
         Integer count = appAccessPolicyRepository.updateStatus(id, Boolean.FALSE);
         setAuditTarget(entity);
+        //通知集群刷新应用授权
+        ApplicationConfigEventUtils.entitlement(entity.getAppId());
         return count > 0;
     }
 
@@ -30,6 +30,7 @@ import org.springframework.util.CollectionUtils;
 
 import cn.topiam.employee.application.ApplicationService;
 import cn.topiam.employee.application.ApplicationServiceLoader;
+import cn.topiam.employee.application.event.ApplicationConfigEventUtils;
 import cn.topiam.employee.application.exception.AppNotExistException;
 import cn.topiam.employee.audit.context.AuditContext;
 import cn.topiam.employee.audit.entity.Target;
@@ -108,6 +109,8 @@ public class AppServiceImpl implements AppService {
         } else {
             appId = applicationService.create(param.getName(), param.getIcon(), param.getRemark());
         }
+        //通知集群刷新应用缓存
+        ApplicationConfigEventUtils.refresh(appId);
         AuditContext.setTarget(
             Target.builder().id(appId).name(param.getName()).type(TargetType.APPLICATION).build());
         return new AppCreateResult(appId);
@@ -143,6 +146,8 @@ public class AppServiceImpl implements AppService {
             .filter(id -> param.getGroupIds().stream().noneMatch(id::equals)).toList();
         deleteGroupIds.forEach(groupId -> appGroupAssociationRepository
             .deleteByGroupIdAndAppId(groupId, entity.getId()));
+        //通知集群刷新应用缓存
+        ApplicationConfigEventUtils.refresh(app.getId());
         AuditContext.setTarget(Target.builder().id(param.getId()).name(param.getName())
             .type(TargetType.APPLICATION).build());
         return true;
@@ -160,6 +165,8 @@ public class AppServiceImpl implements AppService {
         AppEntity app = appRequireNonNull(id);
         applicationServiceLoader.getApplicationService(app.getTemplate()).delete(id);
         appGroupAssociationRepository.deleteByApp(app);
+        //通知集群清理应用缓存
+        ApplicationConfigEventUtils.destroy(id);
         AuditContext.setTarget(
             Target.builder().id(id).name(app.getName()).type(TargetType.APPLICATION).build());
         return true;
@@ -193,6 +200,9 @@ public class AppServiceImpl implements AppService {
     public Boolean enableApp(String id) {
         AppEntity appEntity = appRequireNonNull(id);
         Integer count = appRepository.updateAppStatus(id, Boolean.TRUE);
+        //通知集群刷新应用缓存、应用授权
+        ApplicationConfigEventUtils.refresh(id);
+        ApplicationConfigEventUtils.entitlement(id);
         AuditContext.setTarget(
             Target.builder().id(id).name(appEntity.getName()).type(TargetType.APPLICATION).build());
         return count > 0;
@@ -208,6 +218,9 @@ public class AppServiceImpl implements AppService {
     public Boolean disableApp(String id) {
         AppEntity appEntity = appRequireNonNull(id);
         Integer count = appRepository.updateAppStatus(id, Boolean.FALSE);
+        //通知集群刷新应用缓存、应用授权
+        ApplicationConfigEventUtils.refresh(id);
+        ApplicationConfigEventUtils.entitlement(id);
         AuditContext.setTarget(
             Target.builder().id(id).name(appEntity.getName()).type(TargetType.APPLICATION).build());
         return count > 0;
@@ -0,0 +1,46 @@
+/*
+ * eiam-console - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.console.service.session;
+
+import cn.topiam.employee.console.pojo.result.session.SessionRevocationResult;
+import cn.topiam.employee.console.pojo.save.session.SessionRevocationParam;
+
+/**
+ * 批量下线
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 14:10
+ */
+public interface SessionRevocationService {
+
+    /**
+     * 提交批量下线任务
+     *
+     * @param param {@link SessionRevocationParam}
+     * @return {@link SessionRevocationResult} 任务初始进度
+     */
+    SessionRevocationResult revoke(SessionRevocationParam param);
+
+    /**
+     * 查询批量下线进度
+     *
+     * @param taskId {@link String}
+     * @return {@link SessionRevocationResult}
+     */
+    SessionRevocationResult getProgress(String taskId);
+}
@@ -0,0 +1,219 @@
+/*
+ * eiam-console - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.console.service.session.impl;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections4.ListUtils;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.stereotype.Service;
+
+import cn.topiam.employee.common.entity.account.UserEntity;
+import cn.topiam.employee.common.entity.app.AppEntity;
+import cn.topiam.employee.common.repository.account.OrganizationRepository;
+import cn.topiam.employee.common.repository.account.UserRepository;
+import cn.topiam.employee.common.repository.app.AppRepository;
+import cn.topiam.employee.console.pojo.result.session.SessionRevocationResult;
+import cn.topiam.employee.console.pojo.save.session.SessionRevocationParam;
+import cn.topiam.employee.console.service.session.SessionRevocationService;
+import cn.topiam.employee.core.security.session.ClusterSessionRegistryImpl;
+import cn.topiam.employee.protocol.code.AuthorizationRevoker;
+import cn.topiam.employee.support.context.ServletContextService;
+import cn.topiam.employee.support.exception.TopIamException;
+
+/**
+ * 批量下线
+ * <p>
+ * 异步执行，按批次删除用户会话并撤销用户、应用的协议授权，进度保存在 Redis 中供查询。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 14:15
+ */
+@Service
+public class SessionRevocationServiceImpl implements SessionRevocationService {
+
+    private final Logger        logger       = LoggerFactory
+        .getLogger(SessionRevocationServiceImpl.class);
+
+    /**
+     * 进度 key
+     */
+    private static final String PROGRESS_KEY = "topiam:session-revocation:";
+
+    /**
+     * 进度保留时间（小时）
+     */
+    private static final long   PROGRESS_TTL = 1;
+
+    /**
+     * 每批处理用户数量
+     */
+    private static final int    BATCH_SIZE   = 200;
+
+    /**
+     * 提交批量下线任务
+     *
+     * @param param {@link SessionRevocationParam}
+     * @return {@link SessionRevocationResult}
+     */
+    @Override
+    public SessionRevocationResult revoke(SessionRevocationParam param) {
+        if (!(sessionRegistry instanceof ClusterSessionRegistryImpl<?> registry)) {
+            throw new TopIamException("当前会话存储不支持批量下线");
+        }
+        SessionRevocationResult progress = new SessionRevocationResult();
+        progress.setTaskId(UUID.randomUUID().toString());
+        progress.setStatus(SessionRevocationResult.Status.RUNNING);
+        progress.setStartTime(LocalDateTime.now());
+        progress.setTotal(param.getIds().size());
+        save(progress);
+        //返回副本，progress 由执行线程继续修改
+        SessionRevocationResult result = new SessionRevocationResult();
+        BeanUtils.copyProperties(progress, result);
+        //排除当前操作用户会话
+        String currentSessionId = ServletContextService.getSession().getId();
+        executor.execute(() -> {
+            try {
+                switch (param.getScope()) {
+                    case USER -> revokeUsers(registry, progress, getUsernames(param.getIds()),
+                        currentSessionId);
+                    case ORGANIZATION -> revokeUsers(registry, progress,
+                        getOrganizationUsernames(param.getIds()), currentSessionId);
+                    case APP -> revokeApps(progress, param.getIds());
+                }
+                progress.setStatus(SessionRevocationResult.Status.COMPLETED);
+            } catch (Exception e) {
+                logger.error("批量下线任务 [{}] 执行失败: {}", progress.getTaskId(), e.getMessage(), e);
+                progress.setStatus(SessionRevocationResult.Status.FAILED);
+                progress.setMessage(e.getMessage());
+            }
+            progress.setEndTime(LocalDateTime.now());
+            save(progress);
+        });
+        return result;
+    }
+
+    /**
+     * 查询批量下线进度
+     *
+     * @param taskId {@link String}
+     * @return {@link SessionRevocationResult}
+     */
+    @Override
+    public SessionRevocationResult getProgress(String taskId) {
+        SessionRevocationResult progress = getBucket(taskId).get();
+        if (Objects.isNull(progress)) {
+            throw new TopIamException("批量下线任务不存在或已过期");
+        }
+        return progress;
+    }
+
+    /**
+     * 按批次下线用户会话并撤销授权
+     */
+    private void revokeUsers(ClusterSessionRegistryImpl<?> registry,
+                             SessionRevocationResult progress, List<String> usernames,
+                             String currentSessionId) {
+        progress.setTotal(usernames.size());
+        save(progress);
+        for (List<String> batch : ListUtils.partition(usernames, BATCH_SIZE)) {
+            progress.setRevokedSessions(progress.getRevokedSessions()
+                                        + registry.removeSessionsByPrincipalNames(batch,
+                                            currentSessionId));
+            long authorizations = authorizationRevokers.orderedStream()
+                .mapToLong(revoker -> revoker.revokeByPrincipalNames(batch)).sum();
+            progress.setRevokedAuthorizations(progress.getRevokedAuthorizations() + authorizations);
+            progress.setProcessed(progress.getProcessed() + batch.size());
+            save(progress);
+        }
+    }
+
+    /**
+     * 撤销应用的全部授权
+     */
+    private void revokeApps(SessionRevocationResult progress, List<String> appIds) {
+        for (AppEntity app : appRepository.findAllById(appIds)) {
+            long authorizations = authorizationRevokers.orderedStream()
+                .mapToLong(revoker -> revoker.revokeByApp(app.getId(), app.getClientId())).sum();
+            progress.setRevokedAuthorizations(progress.getRevokedAuthorizations() + authorizations);
+            progress.setProcessed(progress.getProcessed() + 1);
+            save(progress);
+        }
+        progress.setProcessed(progress.getTotal());
+    }
+
+    private List<String> getUsernames(List<String> userIds) {
+        return userRepository.findAllById(userIds).stream().map(UserEntity::getUsername)
+            .toList();
+    }
+
+    private List<String> getOrganizationUsernames(List<String> orgIds) {
+        Set<String> usernames = new LinkedHashSet<>();
+        orgIds.forEach(
+            orgId -> usernames.addAll(organizationRepository.getOrgMemberUsernameList(orgId)));
+        return new ArrayList<>(usernames);
+    }
+
+    private void save(SessionRevocationResult progress) {
+        getBucket(progress.getTaskId()).set(progress, PROGRESS_TTL, TimeUnit.HOURS);
+    }
+
+    private RBucket<SessionRevocationResult> getBucket(String taskId) {
+        return redissonClient.getBucket(PROGRESS_KEY + taskId);
+    }
+
+    private final SessionRegistry                      sessionRegistry;
+
+    private final ObjectProvider<AuthorizationRevoker> authorizationRevokers;
+
+    private final UserRepository                       userRepository;
+
+    private final OrganizationRepository               organizationRepository;
+
+    private final AppRepository                        appRepository;
+
+    private final RedissonClient                       redissonClient;
+
+    private final Executor                             executor;
+
+    public SessionRevocationServiceImpl(SessionRegistry sessionRegistry,
+                                        ObjectProvider<AuthorizationRevoker> authorizationRevokers,
+                                        UserRepository userRepository,
+                                        OrganizationRepository organizationRepository,
+                                        AppRepository appRepository,
+                                        RedissonClient redissonClient,
+                                        AsyncConfigurer asyncConfigurer) {
+        this.sessionRegistry = sessionRegistry;
+        this.authorizationRevokers = authorizationRevokers;
+        this.userRepository = userRepository;
+        this.organizationRepository = organizationRepository;
+        this.appRepository = appRepository;
+        this.redissonClient = redissonClient;
+        this.executor = asyncConfigurer.getAsyncExecutor();
+    }
+}
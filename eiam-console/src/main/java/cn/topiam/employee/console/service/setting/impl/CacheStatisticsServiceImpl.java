@@ -0,0 +1,122 @@
+/*
+ * eiam-console - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.console.service.setting.impl;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import cn.topiam.employee.console.pojo.result.setting.CacheStatisticsResult;
+import cn.topiam.employee.console.service.setting.CacheStatisticsService;
+import cn.topiam.employee.core.cache.CacheStatistics;
+import cn.topiam.employee.core.cache.CacheStatisticsReporter;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * 缓存统计
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 10:12
+ */
+@Service
+@AllArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    /**
+     * 获取缓存统计
+     *
+     * @param top {@link Integer} 返回条数
+     * @return {@link CacheStatisticsResult}
+     */
+    @Override
+    public CacheStatisticsResult getStatistics(Integer top) {
+        CacheStatisticsReporter reporter = cacheStatisticsReporter.getIfAvailable();
+        if (Objects.isNull(reporter)) {
+            //未启用本地缓存
+            return CacheStatisticsResult.builder().nodes(0).hottest(Collections.emptyList())
+                .thrashing(Collections.emptyList()).build();
+        }
+        List<CacheStatistics> statistics = reporter.getStatistics();
+        //按缓存名称汇总各节点
+        //@formatter:off
+        List<CacheStatisticsResult.Item> items = statistics.stream()
+                .collect(Collectors.groupingBy(CacheStatistics::getCacheName))
+                .entrySet().stream()
+                .map(this::merge)
+                .toList();
+        long nodes = statistics.stream().map(CacheStatistics::getNode).distinct().count();
+        return CacheStatisticsResult.builder()
+                .nodes((int) nodes)
+                .hottest(items.stream()
+                        .sorted(Comparator.comparing(CacheStatisticsResult.Item::getGets).reversed())
+                        .limit(top)
+                        .toList())
+                .thrashing(items.stream()
+                        .filter(item -> item.getEvictions() + item.getLocalEvictions() > 0)
+                        .sorted(Comparator.comparing(CacheStatisticsResult.Item::getEvictionRatio)
+                                .thenComparing(CacheStatisticsResult.Item::getMisses).reversed())
+                        .limit(top)
+                        .toList())
+                .build();
+        //@formatter:on
+    }
+
+    private CacheStatisticsResult.Item merge(Map.Entry<String, List<CacheStatistics>> entry) {
+        List<CacheStatistics> list = entry.getValue();
+        long gets = list.stream().mapToLong(CacheStatistics::getGets).sum();
+        long hits = list.stream().mapToLong(CacheStatistics::getHits).sum();
+        long evictions = list.stream().mapToLong(CacheStatistics::getEvictions).sum();
+        long localEvictions = list.stream().mapToLong(CacheStatistics::getLocalEvictions).sum();
+        long remoteLoads = list.stream().mapToLong(CacheStatistics::getRemoteLoads).sum();
+        long remoteLoadNanos = list.stream().mapToLong(CacheStatistics::getRemoteLoadNanos).sum();
+        //@formatter:off
+        return CacheStatisticsResult.Item.builder()
+                .cacheName(entry.getKey())
+                .gets(gets)
+                .hits(hits)
+                .localHits(list.stream().mapToLong(CacheStatistics::getLocalHits).sum())
+                .misses(list.stream().mapToLong(CacheStatistics::getMisses).sum())
+                .hitRatio(ratio(hits, gets))
+                .puts(list.stream().mapToLong(CacheStatistics::getPuts).sum())
+                .evictions(evictions)
+                .localEvictions(localEvictions)
+                .evictionRatio(ratio(evictions + localEvictions, gets))
+                .localSize(list.stream().mapToLong(CacheStatistics::getLocalSize).sum())
+                .remoteLoadAvgMillis(remoteLoads == 0 ? 0D
+                        : (double) remoteLoadNanos / remoteLoads / TimeUnit.MILLISECONDS.toNanos(1))
+                .build();
+        //@formatter:on
+    }
+
+    private static double ratio(long value, long total) {
+        return total == 0 ? 0D : (double) value / total;
+    }
+
+    /**
+     * 缓存统计上报，未启用本地缓存时不存在
+     */
+    private final ObjectProvider<CacheStatisticsReporter> cacheStatisticsReporter;
+}
@@ -0,0 +1,107 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.cache;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 缓存统计
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 09:10
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 5047321948711362214L;
+
+    /**
+     * 应用名称
+     */
+    private String            application;
+
+    /**
+     * 节点
+     */
+    private String            node;
+
+    /**
+     * 缓存名称
+     */
+    private String            cacheName;
+
+    /**
+     * 读取次数
+     */
+    private long              gets;
+
+    /**
+     * 命中次数（本地 + Redis）
+     */
+    private long              hits;
+
+    /**
+     * 本地命中次数
+     */
+    private long              localHits;
+
+    /**
+     * 未命中次数
+     */
+    private long              misses;
+
+    /**
+     * 写入次数
+     */
+    private long              puts;
+
+    /**
+     * 删除、清空次数
+     */
+    private long              evictions;
+
+    /**
+     * 本地缓存容量、过期淘汰次数
+     */
+    private long              localEvictions;
+
+    /**
+     * 本地缓存条目数
+     */
+    private long              localSize;
+
+    /**
+     * Redis 读取次数
+     */
+    private long              remoteLoads;
+
+    /**
+     * Redis 读取总耗时（纳秒）
+     */
+    private long              remoteLoadNanos;
+}
@@ -0,0 +1,95 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * 缓存统计上报
+ * <p>
+ * 各节点定时将本地缓存统计写入 Redis，管理端汇总展示，节点下线后统计随过期时间自动清除。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 09:45
+ */
+public class CacheStatisticsReporter {
+
+    public static final String         CACHE_STATISTICS = "topiam:cache-statistics";
+
+    /**
+     * 统计过期时间（分钟）
+     */
+    private static final long          TTL_MINUTES      = 2;
+
+    private final Logger               logger           = LoggerFactory
+        .getLogger(CacheStatisticsReporter.class);
+
+    private final TwoLevelCacheManager cacheManager;
+
+    private final RedissonClient       redissonClient;
+
+    private final String               application;
+
+    public CacheStatisticsReporter(TwoLevelCacheManager cacheManager,
+                                   RedissonClient redissonClient, String application) {
+        this.cacheManager = cacheManager;
+        this.redissonClient = redissonClient;
+        this.application = application;
+    }
+
+    /**
+     * 上报当前节点缓存统计
+     */
+    @Scheduled(initialDelay = 30000, fixedDelay = 30000)
+    public void report() {
+        try {
+            String node = application + ":" + cacheManager.getSource();
+            List<CacheStatistics> statistics = cacheManager.getStatistics();
+            statistics.forEach(item -> {
+                item.setApplication(application);
+                item.setNode(node);
+            });
+            getMap().fastPut(node, new ArrayList<>(statistics), TTL_MINUTES, TimeUnit.MINUTES);
+        } catch (Exception e) {
+            logger.error("上报缓存统计异常: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取所有节点缓存统计
+     *
+     * @return {@link List}
+     */
+    public List<CacheStatistics> getStatistics() {
+        List<CacheStatistics> list = new ArrayList<>();
+        getMap().readAllValues().forEach(list::addAll);
+        return list;
+    }
+
+    private RMapCache<String, ArrayList<CacheStatistics>> getMap() {
+        return redissonClient.getMapCache(CACHE_STATISTICS);
+    }
+}
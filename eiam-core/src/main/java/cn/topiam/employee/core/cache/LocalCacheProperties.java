@@ -0,0 +1,116 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 本地缓存（一级缓存）配置
+ *
+ * <pre>
+ * topiam:
+ *   cache:
+ *     local:
+ *       time-to-live: 60s
+ *       maximum-size: 1000
+ *       caches:
+ *         setting:
+ *           time-to-live: 5m
+ *           maximum-size: 200
+ * </pre>
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 01:05
+ */
+@Data
+@ConfigurationProperties(prefix = "topiam.cache.local")
+public class LocalCacheProperties {
+
+    /**
+     * 是否启用本地缓存
+     */
+    private boolean            enabled     = true;
+
+    /**
+     * 默认过期时间
+     */
+    private Duration           timeToLive  = Duration.ofSeconds(60);
+
+    /**
+     * 默认最大条目数
+     */
+    private long               maximumSize = 1000;
+
+    /**
+     * 按缓存名称单独配置，key：缓存名称
+     */
+    private Map<String, Local> caches      = new HashMap<>(16);
+
+    /**
+     * 获取缓存配置，未配置项使用默认值
+     *
+     * @param cacheName {@link String}
+     * @return {@link Local}
+     */
+    public Local getLocal(String cacheName) {
+        Local local = caches.get(cacheName);
+        Local result = new Local();
+        result.setEnabled(enabled);
+        result.setTimeToLive(timeToLive);
+        result.setMaximumSize(maximumSize);
+        if (Objects.isNull(local)) {
+            return result;
+        }
+        if (!Objects.isNull(local.getEnabled())) {
+            result.setEnabled(local.getEnabled());
+        }
+        if (!Objects.isNull(local.getTimeToLive())) {
+            result.setTimeToLive(local.getTimeToLive());
+        }
+        if (!Objects.isNull(local.getMaximumSize())) {
+            result.setMaximumSize(local.getMaximumSize());
+        }
+        return result;
+    }
+
+    @Data
+    public static class Local {
+
+        /**
+         * 是否启用
+         */
+        private Boolean  enabled;
+
+        /**
+         * 过期时间
+         */
+        private Duration timeToLive;
+
+        /**
+         * 最大条目数
+         */
+        private Long     maximumSize;
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * 二级缓存
+ * <p>
+ * 一级为进程内 Caffeine，二级为 Redis。写入、删除先操作 Redis，再失效本地缓存并通知集群其他节点。
+ * 本地缓存保存序列化后的字节，每次读取反序列化出新实例，调用方修改返回值不会影响缓存。
+ * 未启用本地缓存时仅读写 Redis，保留统计。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 01:12
+ */
+public class TwoLevelCache implements org.springframework.cache.Cache {
+
+    private final String                          name;
+
+    /**
+     * 一级缓存，未启用本地缓存时为空
+     */
+    private final Cache<Object, byte[]>           localCache;
+
+    /**
+     * 一级缓存序列化方式，与 Redis 缓存值序列化保持一致
+     */
+    private final SerializationPair<Object>       serializationPair;
+
+    /**
+     * 本节点未命中、等待回填的 KEY，回填写入无需通知其他节点
+     */
+    private final Cache<Object, Boolean>          pendingLoads;
+
+    /**
+     * 二级缓存
+     */
+    private final org.springframework.cache.Cache remoteCache;
+
+    /**
+     * 失效通知，KEY 为空时表示清空
+     */
+    private final BiConsumer<String, Object>      invalidationPublisher;
+
+    /**
+     * 本地缓存失效版本，失效时递增，读取 Redis 期间发生失效时丢弃回填结果
+     */
+    private final AtomicLong                      invalidationStamp = new AtomicLong();
+
+    private final LongAdder                       gets              = new LongAdder();
+
+    private final LongAdder                       localHits         = new LongAdder();
+
+    private final LongAdder                       remoteHits        = new LongAdder();
+
+    private final LongAdder                       misses            = new LongAdder();
+
+    private final LongAdder                       puts              = new LongAdder();
+
+    private final LongAdder                       evictions         = new LongAdder();
+
+    private final LongAdder                       remoteLoads       = new LongAdder();
+
+    private final LongAdder                       remoteLoadNanos   = new LongAdder();
+
+    public TwoLevelCache(String name, @Nullable Cache<Object, byte[]> localCache,
+                         @Nullable Cache<Object, Boolean> pendingLoads,
+                         org.springframework.cache.Cache remoteCache,
+                         SerializationPair<Object> serializationPair,
+                         BiConsumer<String, Object> invalidationPublisher) {
+        this.name = name;
+        this.localCache = localCache;
+        this.pendingLoads = pendingLoads;
+        this.remoteCache = remoteCache;
+        this.serializationPair = serializationPair;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @NonNull
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        gets.increment();
+        ValueWrapper wrapper = getLocal(key);
+        if (!Objects.isNull(wrapper)) {
+            localHits.increment();
+            return wrapper;
+        }
+        long stamp = invalidationStamp.get();
+        long start = System.nanoTime();
+        wrapper = remoteCache.get(key);
+        recordRemoteLoad(start);
+        if (!Objects.isNull(wrapper)) {
+            remoteHits.increment();
+            putLocal(key, wrapper.get(), stamp);
+        } else {
+            misses.increment();
+            if (!Objects.isNull(pendingLoads)) {
+                pendingLoads.put(key, Boolean.TRUE);
+            }
+        }
+        return wrapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = Objects.isNull(wrapper) ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        gets.increment();
+        ValueWrapper wrapper = getLocal(key);
+        if (!Objects.isNull(wrapper)) {
+            localHits.increment();
+            return (T) wrapper.get();
+        }
+        long stamp = invalidationStamp.get();
+        long start = System.nanoTime();
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = remoteCache.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        //执行了加载方法即为未命中，加载耗时不计入 Redis 读取耗时
+        if (loaded.get()) {
+            misses.increment();
+        } else {
+            recordRemoteLoad(start);
+            remoteHits.increment();
+        }
+        putLocal(key, value, stamp);
+        return value;
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        puts.increment();
+        remoteCache.put(key, value);
+        putLocal(key, value);
+        //@Cacheable 未命中后的回填，Redis 中原本没有该 KEY，其他节点无需失效
+        if (!Objects.isNull(pendingLoads) && Objects.isNull(pendingLoads.asMap().remove(key))) {
+            invalidationPublisher.accept(name, key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        puts.increment();
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        invalidateAndPublish(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        evictions.increment();
+        remoteCache.evict(key);
+        invalidateAndPublish(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        evictions.increment();
+        boolean present = remoteCache.evictIfPresent(key);
+        invalidateAndPublish(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        evictions.increment();
+        remoteCache.clear();
+        invalidateAndPublish(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.increment();
+        boolean present = remoteCache.invalidate();
+        invalidateAndPublish(null);
+        return present;
+    }
+
+    /**
+     * 失效本地缓存（集群通知）
+     *
+     * @param key {@link Object} 为空时清空
+     */
+    void invalidateLocal(@Nullable Object key) {
+        if (Objects.isNull(localCache)) {
+            return;
+        }
+        invalidationStamp.incrementAndGet();
+        //其他节点已写入，本节点回填时需要通知
+        if (Objects.isNull(key)) {
+            localCache.invalidateAll();
+            pendingLoads.invalidateAll();
+            return;
+        }
+        localCache.invalidate(key);
+        pendingLoads.invalidate(key);
+    }
+
+    /**
+     * 失效本地缓存并通知集群其他节点
+     *
+     * @param key {@link Object} 为空时清空
+     */
+    private void invalidateAndPublish(@Nullable Object key) {
+        if (Objects.isNull(localCache)) {
+            return;
+        }
+        invalidateLocal(key);
+        invalidationPublisher.accept(name, key);
+    }
+
+    /**
+     * 读取本地缓存，反序列化为新实例
+     *
+     * @param key {@link Object}
+     * @return {@link ValueWrapper}
+     */
+    private ValueWrapper getLocal(Object key) {
+        if (Objects.isNull(localCache)) {
+            return null;
+        }
+        byte[] bytes = localCache.getIfPresent(key);
+        if (Objects.isNull(bytes)) {
+            return null;
+        }
+        return new SimpleValueWrapper(
+            bytes.length == 0 ? null : serializationPair.read(ByteBuffer.wrap(bytes)));
+    }
+
+    /**
+     * 写入本地缓存，空值以空字节保存
+     *
+     * @param key {@link Object}
+     * @param value {@link Object}
+     */
+    private void putLocal(Object key, @Nullable Object value) {
+        if (Objects.isNull(localCache)) {
+            return;
+        }
+        byte[] bytes = Objects.isNull(value) ? new byte[0]
+            : ByteUtils.getBytes(serializationPair.write(value));
+        localCache.put(key, bytes);
+    }
+
+    /**
+     * 回填本地缓存，读取 Redis 期间本地缓存已失效时丢弃，避免旧值在失效之后写入
+     *
+     * @param key {@link Object}
+     * @param value {@link Object}
+     * @param stamp {@link Long} 读取 Redis 前的失效版本
+     */
+    private void putLocal(Object key, @Nullable Object value, long stamp) {
+        if (Objects.isNull(localCache) || stamp != invalidationStamp.get()) {
+            return;
+        }
+        putLocal(key, value);
+        //写入后再校验，失效可能在校验与写入之间发生
+        if (stamp != invalidationStamp.get()) {
+            localCache.invalidate(key);
+        }
+    }
+
+    private void recordRemoteLoad(long start) {
+        remoteLoads.increment();
+        remoteLoadNanos.add(System.nanoTime() - start);
+    }
+
+    /**
+     * 获取统计信息
+     *
+     * @return {@link CacheStatistics}
+     */
+    public CacheStatistics getStatistics() {
+        //@formatter:off
+        return CacheStatistics.builder()
+                .cacheName(name)
+                .gets(gets.sum())
+                .hits(localHits.sum() + remoteHits.sum())
+                .localHits(localHits.sum())
+                .misses(misses.sum())
+                .puts(puts.sum())
+                .evictions(evictions.sum())
+                .localEvictions(Objects.isNull(localCache) ? 0 : localCache.stats().evictionCount())
+                .localSize(Objects.isNull(localCache) ? 0 : localCache.estimatedSize())
+                .remoteLoads(remoteLoads.sum())
+                .remoteLoadNanos(remoteLoadNanos.sum())
+                .build();
+        //@formatter:on
+    }
+
+    /**
+     * 获取本地缓存
+     *
+     * @return {@link Cache}
+     */
+    public Cache<Object, byte[]> getLocalCache() {
+        return localCache;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 二级缓存管理器
+ * <p>
+ * 包装 Redis 缓存管理器，为每个缓存增加本地 Caffeine 缓存，本地缓存失效通过 Redisson Topic 广播。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 01:20
+ */
+public class TwoLevelCacheManager implements CacheManager, MeterBinder, InitializingBean,
+                                  DisposableBean {
+
+    public static final String               CACHE_INVALIDATION_EVENT = "eiam-cache-invalidation-event";
+
+    public static final String               CACHE_MANAGER_NAME       = "cacheManager";
+
+    /**
+     * 未命中后等待回填的最长时间
+     */
+    private static final Duration            PENDING_LOAD_TIMEOUT     = Duration.ofSeconds(30);
+
+    private final Logger                     logger                   = LoggerFactory
+        .getLogger(TwoLevelCacheManager.class);
+
+    /**
+     * 当前节点标识，忽略自身发布的失效通知
+     */
+    private final String                     source                   = UUID.randomUUID()
+        .toString();
+
+    private final Map<String, Cache>         caches                   = new ConcurrentHashMap<>(
+        16);
+
+    private final CacheManager               remoteCacheManager;
+
+    private final LocalCacheProperties       properties;
+
+    private final RTopic                     topic;
+
+    private int                              listenerId;
+
+    /**
+     * 指标注册表，绑定后创建的缓存同样注册指标
+     */
+    private volatile MeterRegistry           meterRegistry;
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, LocalCacheProperties properties,
+                                RedissonClient redissonClient) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.properties = properties;
+        this.topic = redissonClient.getTopic(CACHE_INVALIDATION_EVENT);
+    }
+
+    @Override
+    public Cache getCache(@NonNull String name) {
+        Cache cache = caches.get(name);
+        if (!Objects.isNull(cache)) {
+            return cache;
+        }
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (Objects.isNull(remoteCache)) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> createCache(key, remoteCache));
+    }
+
+    @NonNull
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    private Cache createCache(String name, Cache remoteCache) {
+        LocalCacheProperties.Local local = properties.getLocal(name);
+        if (!Boolean.TRUE.equals(local.getEnabled())) {
+            //仅使用 Redis，保留统计
+            return registerMetrics(new TwoLevelCache(name, null, null, remoteCache,
+                getSerializationPair(remoteCache), this::publish));
+        }
+        //@formatter:off
+        com.github.benmanes.caffeine.cache.Cache<Object, byte[]> localCache = Caffeine.newBuilder()
+                .expireAfterWrite(local.getTimeToLive())
+                .maximumSize(local.getMaximumSize())
+                .recordStats()
+                .build();
+        com.github.benmanes.caffeine.cache.Cache<Object, Boolean> pendingLoads = Caffeine.newBuilder()
+                .expireAfterWrite(PENDING_LOAD_TIMEOUT)
+                .maximumSize(local.getMaximumSize())
+                .build();
+        //@formatter:on
+        return registerMetrics(new TwoLevelCache(name, localCache, pendingLoads, remoteCache,
+            getSerializationPair(remoteCache), this::publish));
+    }
+
+    /**
+     * 注册缓存指标
+     *
+     * @param cache {@link TwoLevelCache}
+     * @return {@link TwoLevelCache}
+     */
+    private TwoLevelCache registerMetrics(TwoLevelCache cache) {
+        MeterRegistry registry = meterRegistry;
+        if (!Objects.isNull(registry)) {
+            new TwoLevelCacheMetrics(cache, CACHE_MANAGER_NAME).bindTo(registry);
+        }
+        return cache;
+    }
+
+    /**
+     * 绑定指标注册表，注册已创建缓存的指标（重复注册返回已有指标）
+     *
+     * @param registry {@link MeterRegistry}
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        this.meterRegistry = registry;
+        caches.values().forEach(cache -> {
+            if (cache instanceof TwoLevelCache twoLevelCache) {
+                new TwoLevelCacheMetrics(twoLevelCache, CACHE_MANAGER_NAME).bindTo(registry);
+            }
+        });
+    }
+
+    /**
+     * 本地缓存与 Redis 缓存使用相同的值序列化方式
+     *
+     * @param remoteCache {@link Cache}
+     * @return {@link SerializationPair}
+     */
+    private static SerializationPair<Object> getSerializationPair(Cache remoteCache) {
+        if (remoteCache instanceof RedisCache redisCache) {
+            return redisCache.getCacheConfiguration().getValueSerializationPair();
+        }
+        return SerializationPair.fromSerializer(RedisSerializer.java());
+    }
+
+    /**
+     * 获取当前节点缓存统计
+     *
+     * @return {@link List}
+     */
+    public List<CacheStatistics> getStatistics() {
+        //@formatter:off
+        return caches.values().stream()
+                .filter(cache -> cache instanceof TwoLevelCache)
+                .map(cache -> ((TwoLevelCache) cache).getStatistics())
+                .toList();
+        //@formatter:on
+    }
+
+    /**
+     * 获取当前节点标识
+     *
+     * @return {@link String}
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 通知集群其他节点失效本地缓存
+     *
+     * @param cacheName {@link String}
+     * @param key {@link Object}
+     */
+    private void publish(String cacheName, Object key) {
+        try {
+            topic.publish(new CacheInvalidationEvent(source, cacheName, key));
+        } catch (Exception e) {
+            logger.error("发布缓存 [{}] 失效通知异常: {}", cacheName, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        //添加监听器
+        listenerId = topic.addListener(CacheInvalidationEvent.class, (channel, msg) -> {
+            if (source.equals(msg.getSource())) {
+                return;
+            }
+            if (caches.get(msg.getCacheName()) instanceof TwoLevelCache cache) {
+                cache.invalidateLocal(msg.getKey());
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        topic.removeListener(listenerId);
+    }
+}
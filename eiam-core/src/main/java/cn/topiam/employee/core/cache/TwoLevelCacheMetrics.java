@@ -0,0 +1,89 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 二级缓存指标
+ * <p>
+ * 指标名称与 Micrometer 内置缓存指标（cache.gets、cache.puts、cache.evictions、cache.size）保持一致，按 cache 标签区分。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 09:30
+ */
+public class TwoLevelCacheMetrics implements MeterBinder {
+
+    private final TwoLevelCache cache;
+
+    private final Tags          tags;
+
+    public TwoLevelCacheMetrics(TwoLevelCache cache, String cacheManager) {
+        this.cache = cache;
+        this.tags = Tags.of("cache", cache.getName(), "cache.manager", cacheManager);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        //@formatter:off
+        FunctionCounter.builder("cache.gets", cache, c -> c.getStatistics().getHits())
+                .tags(tags).tag("result", "hit")
+                .description("缓存命中次数")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, c -> c.getStatistics().getMisses())
+                .tags(tags).tag("result", "miss")
+                .description("缓存未命中次数")
+                .register(registry);
+        FunctionCounter.builder("cache.local.hits", cache, c -> c.getStatistics().getLocalHits())
+                .tags(tags)
+                .description("本地缓存命中次数")
+                .register(registry);
+        FunctionCounter.builder("cache.puts", cache, c -> c.getStatistics().getPuts())
+                .tags(tags)
+                .description("缓存写入次数")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, c -> c.getStatistics().getEvictions())
+                .tags(tags)
+                .description("缓存删除、清空次数")
+                .register(registry);
+        FunctionCounter.builder("cache.local.evictions", cache, c -> c.getStatistics().getLocalEvictions())
+                .tags(tags)
+                .description("本地缓存容量、过期淘汰次数")
+                .register(registry);
+        Gauge.builder("cache.size", cache, c -> c.getStatistics().getLocalSize())
+                .tags(tags)
+                .description("本地缓存条目数")
+                .register(registry);
+        FunctionTimer.builder("cache.remote.load", cache,
+                        c -> c.getStatistics().getRemoteLoads(),
+                        c -> c.getStatistics().getRemoteLoadNanos(), TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("Redis 缓存读取耗时")
+                .register(registry);
+        //@formatter:on
+    }
+}
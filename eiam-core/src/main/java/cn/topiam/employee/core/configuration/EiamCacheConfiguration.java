@@ -0,0 +1,114 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.configuration;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import cn.topiam.employee.core.cache.CacheStatisticsReporter;
+import cn.topiam.employee.core.cache.LocalCacheProperties;
+import cn.topiam.employee.core.cache.TwoLevelCacheManager;
+
+/**
+ * 缓存配置
+ * <p>
+ * 在 Redis 缓存前增加本地 Caffeine 缓存，Redis 部分与 Spring Boot 默认配置保持一致（spring.cache.redis.*）。
+ * 关闭本地缓存（topiam.cache.local.enabled=false）时回退为 Spring Boot 自动配置的 Redis 缓存。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 01:32
+ */
+@Configuration
+@EnableConfigurationProperties({ CacheProperties.class, LocalCacheProperties.class })
+@ConditionalOnProperty(prefix = "topiam.cache.local", name = "enabled", matchIfMissing = true)
+public class EiamCacheConfiguration {
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                             CacheProperties cacheProperties,
+                                             LocalCacheProperties localCacheProperties,
+                                             RedissonClient redissonClient,
+                                             ResourceLoader resourceLoader,
+                                             ObjectProvider<RedisCacheConfiguration> redisCacheConfiguration,
+                                             ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers) {
+        //@formatter:off
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(redisCacheConfiguration.getIfAvailable(() -> createConfiguration(cacheProperties, resourceLoader.getClassLoader())));
+        //@formatter:on
+        List<String> cacheNames = cacheProperties.getCacheNames();
+        if (!cacheNames.isEmpty()) {
+            builder.initialCacheNames(new LinkedHashSet<>(cacheNames));
+        }
+        if (cacheProperties.getRedis().isEnableStatistics()) {
+            builder.enableStatistics();
+        }
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+        return new TwoLevelCacheManager(redisCacheManager, localCacheProperties, redissonClient);
+    }
+
+    @Bean
+    public CacheStatisticsReporter cacheStatisticsReporter(TwoLevelCacheManager cacheManager,
+                                                           RedissonClient redissonClient,
+                                                           Environment environment) {
+        return new CacheStatisticsReporter(cacheManager, redissonClient,
+            environment.getProperty("spring.application.name", "eiam"));
+    }
+
+    /**
+     * 与 Spring Boot RedisCacheConfiguration 默认行为一致
+     */
+    private RedisCacheConfiguration createConfiguration(CacheProperties cacheProperties,
+                                                        ClassLoader classLoader) {
+        CacheProperties.Redis redisProperties = cacheProperties.getRedis();
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig();
+        config = config.serializeValuesWith(RedisSerializationContext.SerializationPair
+            .fromSerializer(new JdkSerializationRedisSerializer(classLoader)));
+        if (redisProperties.getTimeToLive() != null) {
+            config = config.entryTtl(redisProperties.getTimeToLive());
+        }
+        if (redisProperties.getKeyPrefix() != null) {
+            config = config.prefixCacheNameWith(redisProperties.getKeyPrefix());
+        }
+        if (!redisProperties.isCacheNullValues()) {
+            config = config.disableCachingNullValues();
+        }
+        if (!redisProperties.isUseKeyPrefix()) {
+            config = config.disableKeyPrefix();
+        }
+        return config;
+    }
+}
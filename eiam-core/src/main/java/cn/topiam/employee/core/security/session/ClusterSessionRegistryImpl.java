@@ -22,20 +22,27 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationListener;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.MapSession;
 import org.springframework.session.data.redis.RedisIndexedSessionRepository;
+import org.springframework.session.events.SessionDestroyedEvent;
 import org.springframework.session.security.SpringSessionBackedSessionRegistry;
 import org.springframework.util.Assert;
 
@@ -51,9 +58,10 @@ import static cn.topiam.employee.support.constant.EiamConstants.COLON;
  * @author TopIAM
  * Created by support@topiam.cn on 2020/9/3 22:55
  */
-@SuppressWarnings("unchecked")
+@SuppressWarnings({ "unchecked", "rawtypes" })
 public class ClusterSessionRegistryImpl<T extends org.springframework.session.Session>
-                                       extends SpringSessionBackedSessionRegistry<T> {
+                                       extends SpringSessionBackedSessionRegistry<T>
+                                       implements ApplicationListener<SessionDestroyedEvent> {
 
     /**
      * remove session
@@ -63,6 +71,218 @@ public class ClusterSessionRegistryImpl<T extends org.springframework.session.Se
     @Override
     public void removeSessionInformation(String sessionId) {
         sessionRepository.deleteById(sessionId);
+        if (!Objects.isNull(activityIndex)) {
+            activityIndex.remove(sessionId, null, null);
+        }
+    }
+
+    /**
+     * 批量删除用户的全部会话
+     * <p>
+     * 流水线读取用户会话索引并删除会话，不逐个加载会话，用于批量下线。
+     *
+     * @param principalNames {@link Collection} 用户名
+     * @param excludeSessionId {@link String} 排除的会话（当前会话）
+     * @return {@link Long} 删除的会话数量
+     */
+    public long removeSessionsByPrincipalNames(Collection<String> principalNames,
+                                               String excludeSessionId) {
+        Assert.notNull(activityIndex, "批量删除会话仅支持 RedisIndexedSessionRepository");
+        List<String> names = new ArrayList<>(principalNames);
+        if (names.isEmpty()) {
+            return 0;
+        }
+        //用户会话
+        List<Object> members = sessionRedisOperations()
+            .executePipelined(new SessionCallback<>() {
+                @Override
+                public Object execute(@NonNull RedisOperations operations) throws DataAccessException {
+                    names.forEach(name -> operations.opsForSet().members(getPrincipalKey(name)));
+                    return null;
+                }
+            });
+        Map<String, String> sessions = new LinkedHashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            if (members.get(i) instanceof Collection<?> ids) {
+                String principalKey = getPrincipalKey(names.get(i));
+                ids.forEach(id -> sessions.put(id.toString(), principalKey));
+            }
+        }
+        sessions.remove(excludeSessionId);
+        long removed = 0;
+        for (List<String> batch : ListUtils.partition(new ArrayList<>(sessions.keySet()),
+            REMOVE_BATCH_SIZE)) {
+            //读取安全上下文，用于移除用户类型、IP 索引
+            List<Object> contexts = sessionRedisOperations()
+                .executePipelined(new SessionCallback<>() {
+                    @Override
+                    public Object execute(@NonNull RedisOperations operations) throws DataAccessException {
+                        batch.forEach(id -> operations.opsForHash().get(getSessionKeyPrefix() + id,
+                            ATTRIBUTE_PREFIX + SPRING_SECURITY_CONTEXT));
+                        return null;
+                    }
+                });
+            List<Object> results = sessionRedisOperations()
+                .executePipelined(new SessionCallback<>() {
+                    @Override
+                    public Object execute(@NonNull RedisOperations operations) throws DataAccessException {
+                        //前 batch.size() 条为删除会话
+                        batch.forEach(id -> operations.delete(getSessionKeyPrefix() + id));
+                        for (int i = 0; i < batch.size(); i++) {
+                            String id = batch.get(i);
+                            operations.delete(getSessionKeyPrefix() + "expires:" + id);
+                            operations.opsForSet().remove(sessions.get(id), id);
+                            String[] attributes = getIndexAttributes(contexts.get(i));
+                            activityIndex.remove(operations, id, attributes[0], attributes[1]);
+                        }
+                        return null;
+                    }
+                });
+            for (int i = 0; i < batch.size(); i++) {
+                if (Boolean.TRUE.equals(results.get(i))) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 会话销毁、过期，移除会话索引
+     *
+     * @param event {@link SessionDestroyedEvent}
+     */
+    @Override
+    public void onApplicationEvent(@NonNull SessionDestroyedEvent event) {
+        if (Objects.isNull(activityIndex)) {
+            return;
+        }
+        org.springframework.session.Session session = event.getSession();
+        String[] attributes = getIndexAttributes(
+            Objects.isNull(session) ? null : session.getAttribute(SPRING_SECURITY_CONTEXT));
+        activityIndex.remove(event.getSessionId(), attributes[0], attributes[1]);
+    }
+
+    /**
+     * 获取会话索引属性
+     *
+     * @param securityContext {@link Object} 会话中的 SecurityContext
+     * @return {@link String} 用户类型、IP，未知时为空
+     */
+    private static String[] getIndexAttributes(Object securityContext) {
+        String userType = null;
+        String ip = null;
+        if (securityContext instanceof SecurityContext context
+            && !Objects.isNull(context.getAuthentication())) {
+            Authentication authentication = context.getAuthentication();
+            if (authentication.getPrincipal() instanceof UserDetails userDetails) {
+                userType = userDetails.getUserType().getType();
+            }
+            ip = getIp(authentication);
+        }
+        return new String[] { userType, ip };
+    }
+
+    /**
+     * 更新会话索引
+     *
+     * @param sessionId {@link String}
+     * @param securityContext {@link SecurityContext}
+     * @param lastAccessedTime {@link Instant}
+     * @param maxInactiveInterval {@link Duration}
+     * @return {@link Boolean} 是否已索引
+     */
+    public boolean touch(String sessionId, SecurityContext securityContext,
+                         Instant lastAccessedTime, Duration maxInactiveInterval) {
+        if (Objects.isNull(activityIndex) || Objects.isNull(securityContext)) {
+            return false;
+        }
+        Authentication authentication = securityContext.getAuthentication();
+        if (Objects.isNull(authentication)
+            || !(authentication.getPrincipal() instanceof UserDetails userDetails)) {
+            return false;
+        }
+        activityIndex.touch(sessionId, userDetails.getUserType().getType(), getIp(authentication),
+            lastAccessedTime.toEpochMilli(), maxInactiveInterval);
+        return true;
+    }
+
+    /**
+     * 游标分页查询会话
+     * <p>
+     * 基于会话活动索引按最后访问时间倒序读取，每页只读取当前页会话详情，已失效的索引在读取时清理。
+     *
+     * @param query {@link SessionQuery}
+     * @return {@link SessionPage}
+     */
+    public SessionPage getSessionPage(SessionQuery query) {
+        Assert.notNull(activityIndex, "会话索引仅支持 RedisIndexedSessionRepository");
+        int size = Math.max(query.getSize(), 1);
+        SessionActivityIndex.Entry cursor = SessionActivityIndex.decodeCursor(query.getCursor());
+        BiFunction<Long, Integer, List<SessionActivityIndex.Entry>> fetcher;
+        if (StringUtils.isNotBlank(query.getUsername()) || StringUtils.isNotBlank(query.getIp())) {
+            //用户、IP 下的会话数量有限，取出后排序
+            Set<String> sessionIds = StringUtils.isNotBlank(query.getUsername())
+                ? getSessionIds(query.getUsername())
+                : activityIndex.getSessionIdsByIp(query.getIp());
+            if (StringUtils.isNotBlank(query.getUsername())
+                && StringUtils.isNotBlank(query.getIp())) {
+                sessionIds.retainAll(activityIndex.getSessionIdsByIp(query.getIp()));
+            }
+            List<SessionActivityIndex.Entry> entries = sessionIds.isEmpty() ? new ArrayList<>()
+                : activityIndex.sort(sessionIds).stream()
+                    .filter(entry -> SessionActivityIndex.isAfter(entry, cursor)).toList();
+            fetcher = (offset, count) -> entries.subList((int) Math.min(offset, entries.size()),
+                (int) Math.min(offset + count, entries.size()));
+        } else {
+            fetcher = (offset, count) -> activityIndex.range(query.getUserType(), cursor, offset,
+                count);
+        }
+        List<Session> list = new ArrayList<>(size);
+        //已失效的会话，遍历结束后清理，避免遍历中索引变化导致偏移错位
+        Map<String, MapSession> staleSessions = new LinkedHashMap<>();
+        SessionActivityIndex.Entry last = null;
+        boolean hasMore = false;
+        long offset = 0;
+        int batchSize = size + 1;
+        while (!hasMore) {
+            List<SessionActivityIndex.Entry> batch = fetcher.apply(offset, batchSize);
+            offset += batch.size();
+            //游标处时间相同的会话
+            List<SessionActivityIndex.Entry> entries = batch.stream()
+                .filter(entry -> SessionActivityIndex.isAfter(entry, cursor)).toList();
+            Map<String, MapSession> sessions = getSessions(
+                entries.stream().map(SessionActivityIndex.Entry::sessionId).toList());
+            for (SessionActivityIndex.Entry entry : entries) {
+                if (list.size() == size) {
+                    hasMore = true;
+                    break;
+                }
+                Session session = toSession(sessions.get(entry.sessionId()));
+                if (Objects.isNull(session)) {
+                    staleSessions.put(entry.sessionId(), sessions.get(entry.sessionId()));
+                    continue;
+                }
+                last = entry;
+                if (entry.sessionId().equals(query.getExcludeSessionId())
+                    || (StringUtils.isNotBlank(query.getUserType())
+                        && !query.getUserType().equals(session.getUserType().getType()))) {
+                    continue;
+                }
+                list.add(session);
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        //清理已失效会话的索引
+        staleSessions.forEach((sessionId, session) -> {
+            String[] attributes = getIndexAttributes(
+                Objects.isNull(session) ? null : session.getAttribute(SPRING_SECURITY_CONTEXT));
+            activityIndex.remove(sessionId, attributes[0], attributes[1]);
+        });
+        return new SessionPage(list,
+            hasMore && !Objects.isNull(last) ? SessionActivityIndex.encodeCursor(last) : null);
     }
 
     /**
@@ -100,27 +320,48 @@ public class ClusterSessionRegistryImpl<T extends org.springframework.session.Se
         Map<String, MapSession> sessions;
         sessions = getSessions(sessionIds);
         for (MapSession session : sessions.values()) {
-            // session 为空，或者 session过期，跳过
-            if (Objects.isNull(session) || session.isExpired()) {
-                continue;
-            }
-            try {
-                //转换为security context
-                SecurityContext securityContext = session.getAttribute(SPRING_SECURITY_CONTEXT);
-                //转为实体
-                Authentication authentication = securityContext.getAuthentication();
-                Object principal = authentication.getPrincipal();
-                if (principal instanceof UserDetails userDetails) {
-                    Session sessionDetails = getSession(session, userDetails, authentication);
-                    list.add(sessionDetails);
-                }
-            } catch (NullPointerException ignored) {
+            Session sessionDetails = toSession(session);
+            if (!Objects.isNull(sessionDetails)) {
+                list.add(sessionDetails);
             }
         }
         //处理
         return list;
     }
 
+    /**
+     * 转换会话详情
+     *
+     * @param session {@link MapSession}
+     * @return {@link Session} session 为空、过期或未认证时为空
+     */
+    private Session toSession(MapSession session) {
+        // session 为空，或者 session过期，跳过
+        if (Objects.isNull(session) || session.isExpired()) {
+            return null;
+        }
+        try {
+            //转换为security context
+            SecurityContext securityContext = session.getAttribute(SPRING_SECURITY_CONTEXT);
+            //转为实体
+            Authentication authentication = securityContext.getAuthentication();
+            Object principal = authentication.getPrincipal();
+            if (principal instanceof UserDetails userDetails) {
+                return getSession(session, userDetails, authentication);
+            }
+        } catch (NullPointerException ignored) {
+        }
+        return null;
+    }
+
+    private static String getIp(Authentication authentication) {
+        if (authentication.getDetails() instanceof WebAuthenticationDetails details
+            && !Objects.isNull(details.getGeoLocation())) {
+            return details.getGeoLocation().getIp();
+        }
+        return null;
+    }
+
     @NotNull
     private static Session getSession(MapSession session, UserDetails userDetails,
                                       Authentication authentication) {
@@ -290,7 +531,12 @@ public class ClusterSessionRegistryImpl<T extends org.springframework.session.Se
      */
     static final String                               ATTRIBUTE_PREFIX          = "sessionAttr:";
 
-    private static final String                       SPRING_SECURITY_CONTEXT   = "SPRING_SECURITY_CONTEXT";
+    /**
+     * 批量删除会话每批数量
+     */
+    private static final int                          REMOVE_BATCH_SIZE         = 500;
+
+    static final String                               SPRING_SECURITY_CONTEXT   = "SPRING_SECURITY_CONTEXT";
 
     /**
      * 获取命名空间
@@ -303,10 +549,18 @@ public class ClusterSessionRegistryImpl<T extends org.springframework.session.Se
      */
     private final FindByIndexNameSessionRepository<?> sessionRepository;
 
+    /**
+     * 会话活动索引，仅 RedisIndexedSessionRepository 支持
+     */
+    private final SessionActivityIndex                activityIndex;
+
     public ClusterSessionRegistryImpl(FindByIndexNameSessionRepository<T> sessionRepository,
                                       String namespace) {
         super(sessionRepository);
         this.sessionRepository = sessionRepository;
         this.namespace = namespace;
+        this.activityIndex = sessionRepository instanceof RedisIndexedSessionRepository repository
+            ? new SessionActivityIndex(repository.getSessionRedisOperations(), namespace)
+            : null;
     }
 }
@@ -0,0 +1,250 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.security.session;
+
+import java.time.Duration;
+import java.util.*;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.lang.NonNull;
+
+import cn.topiam.employee.support.security.userdetails.UserType;
+
+import static cn.topiam.employee.support.constant.EiamConstants.COLON;
+
+/**
+ * 会话活动索引
+ * <p>
+ * {namespace}:index:activity 为全部会话按最后访问时间排序的有序集合，{namespace}:index:activity:{userType} 按用户类型划分，
+ * {namespace}:index:ip:{ip} 为 IP 下的会话集合。会话列表基于索引游标分页，每页只读取当前页会话详情。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 11:05
+ */
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class SessionActivityIndex {
+
+    /**
+     * 会话及其最后访问时间
+     *
+     * @param sessionId {@link String}
+     * @param lastAccessedTime {@link Long}
+     */
+    public record Entry(String sessionId, long lastAccessedTime) {
+    }
+
+    /**
+     * 更新会话索引
+     *
+     * @param sessionId {@link String}
+     * @param userType {@link String}
+     * @param ip {@link String}
+     * @param lastAccessedTime {@link Long}
+     * @param maxInactiveInterval {@link Duration}
+     */
+    public void touch(String sessionId, String userType, String ip, long lastAccessedTime,
+                      Duration maxInactiveInterval) {
+        redisOperations.executePipelined(new SessionCallback<>() {
+            @Override
+            public Object execute(@NonNull RedisOperations operations) throws DataAccessException {
+                operations.opsForZSet().add(getActivityKey(), sessionId, lastAccessedTime);
+                if (StringUtils.isNotBlank(userType)) {
+                    operations.opsForZSet().add(getActivityKey(userType), sessionId,
+                        lastAccessedTime);
+                }
+                if (StringUtils.isNotBlank(ip)) {
+                    operations.opsForSet().add(getIpKey(ip), sessionId);
+                    operations.expire(getIpKey(ip), maxInactiveInterval);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 移除会话索引
+     *
+     * @param sessionId {@link String}
+     * @param userType {@link String} 未知时为空，从全部用户类型索引中移除
+     * @param ip {@link String} 未知时为空，随过期时间清理
+     */
+    public void remove(String sessionId, String userType, String ip) {
+        redisOperations.executePipelined(new SessionCallback<>() {
+            @Override
+            public Object execute(@NonNull RedisOperations operations) throws DataAccessException {
+                remove(operations, sessionId, userType, ip);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 在调用方的流水线中移除会话索引
+     *
+     * @param operations {@link RedisOperations}
+     * @param sessionId {@link String}
+     * @param userType {@link String} 未知时为空，从全部用户类型索引中移除
+     * @param ip {@link String} 未知时为空，随过期时间清理
+     */
+    void remove(RedisOperations operations, String sessionId, String userType, String ip) {
+        operations.opsForZSet().remove(getActivityKey(), sessionId);
+        if (StringUtils.isNotBlank(userType)) {
+            operations.opsForZSet().remove(getActivityKey(userType), sessionId);
+        } else {
+            for (UserType type : UserType.values()) {
+                operations.opsForZSet().remove(getActivityKey(type.getType()), sessionId);
+            }
+        }
+        if (StringUtils.isNotBlank(ip)) {
+            operations.opsForSet().remove(getIpKey(ip), sessionId);
+        }
+    }
+
+    /**
+     * 按最后访问时间倒序读取，从游标之后开始
+     *
+     * @param userType {@link String} 为空时读取全部会话
+     * @param cursor {@link Entry} 上一页最后一条，为空时从头读取
+     * @param offset {@link Long} 游标之后的偏移
+     * @param count {@link Integer}
+     * @return {@link List}
+     */
+    public List<Entry> range(String userType, Entry cursor, long offset, int count) {
+        String key = StringUtils.isBlank(userType) ? getActivityKey() : getActivityKey(userType);
+        double max = Objects.isNull(cursor) ? Double.POSITIVE_INFINITY : cursor.lastAccessedTime();
+        Set<ZSetOperations.TypedTuple<Object>> tuples = redisOperations.opsForZSet()
+            .reverseRangeByScoreWithScores(key, Double.NEGATIVE_INFINITY, max, offset, count);
+        if (Objects.isNull(tuples)) {
+            return new ArrayList<>();
+        }
+        List<Entry> list = new ArrayList<>(tuples.size());
+        for (ZSetOperations.TypedTuple<Object> tuple : tuples) {
+            if (Objects.isNull(tuple.getValue()) || Objects.isNull(tuple.getScore())) {
+                continue;
+            }
+            list.add(new Entry(tuple.getValue().toString(), tuple.getScore().longValue()));
+        }
+        return list;
+    }
+
+    /**
+     * 获取 IP 下的会话
+     *
+     * @param ip {@link String}
+     * @return {@link Set}
+     */
+    public Set<String> getSessionIdsByIp(String ip) {
+        Set<Object> members = redisOperations.opsForSet().members(getIpKey(ip));
+        Set<String> result = new HashSet<>();
+        if (!Objects.isNull(members)) {
+            members.forEach(member -> result.add(member.toString()));
+        }
+        return result;
+    }
+
+    /**
+     * 为一组会话补充最后访问时间，并按最后访问时间倒序排列，未索引的会话排在最后
+     *
+     * @param sessionIds {@link Collection}
+     * @return {@link List}
+     */
+    public List<Entry> sort(Collection<String> sessionIds) {
+        List<String> ids = new ArrayList<>(sessionIds);
+        List<Double> scores = redisOperations.opsForZSet().score(getActivityKey(),
+            ids.toArray());
+        List<Entry> list = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Double score = Objects.isNull(scores) ? null : scores.get(i);
+            list.add(new Entry(ids.get(i), Objects.isNull(score) ? 0L : score.longValue()));
+        }
+        list.sort(ORDER);
+        return list;
+    }
+
+    /**
+     * 是否在游标之后（按最后访问时间、会话ID倒序）
+     *
+     * @param entry {@link Entry}
+     * @param cursor {@link Entry}
+     * @return {@link Boolean}
+     */
+    public static boolean isAfter(Entry entry, Entry cursor) {
+        return Objects.isNull(cursor) || ORDER.compare(entry, cursor) > 0;
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param entry {@link Entry}
+     * @return {@link String}
+     */
+    public static String encodeCursor(Entry entry) {
+        return entry.lastAccessedTime() + "_" + entry.sessionId();
+    }
+
+    /**
+     * 解析游标，非法游标视为从头读取
+     *
+     * @param cursor {@link String}
+     * @return {@link Entry}
+     */
+    public static Entry decodeCursor(String cursor) {
+        if (StringUtils.isBlank(cursor) || !cursor.contains("_")) {
+            return null;
+        }
+        try {
+            int index = cursor.indexOf("_");
+            return new Entry(cursor.substring(index + 1),
+                Long.parseLong(cursor.substring(0, index)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    String getActivityKey() {
+        return namespace + COLON + "index" + COLON + "activity";
+    }
+
+    String getActivityKey(String userType) {
+        return getActivityKey() + COLON + userType;
+    }
+
+    String getIpKey(String ip) {
+        return namespace + COLON + "index" + COLON + "ip" + COLON + ip;
+    }
+
+    /**
+     * 最后访问时间倒序，相同时按会话ID倒序，与 ZREVRANGEBYSCORE 一致
+     */
+    private static final Comparator<Entry>        ORDER = Comparator
+        .comparingLong(Entry::lastAccessedTime).thenComparing(Entry::sessionId).reversed();
+
+    private final RedisOperations<String, Object> redisOperations;
+
+    private final String                          namespace;
+
+    public SessionActivityIndex(RedisOperations<String, Object> redisOperations,
+                                String namespace) {
+        this.redisOperations = redisOperations;
+        this.namespace = namespace;
+    }
+}
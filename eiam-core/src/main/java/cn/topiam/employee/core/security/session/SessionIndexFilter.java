@@ -0,0 +1,97 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.security.session;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import static cn.topiam.employee.core.security.session.ClusterSessionRegistryImpl.SPRING_SECURITY_CONTEXT;
+
+/**
+ * 会话索引过滤器
+ * <p>
+ * 请求结束后更新已认证会话的活动索引，同一会话在刷新间隔内只写一次。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 11:50
+ */
+public class SessionIndexFilter extends OncePerRequestFilter {
+
+    /**
+     * 索引刷新间隔
+     */
+    private static final Duration               TOUCH_INTERVAL = Duration.ofSeconds(30);
+
+    /**
+     * 最近已更新索引的会话
+     */
+    private final Cache<String, Boolean>        touched        = Caffeine.newBuilder()
+        .expireAfterWrite(TOUCH_INTERVAL).maximumSize(100000).build();
+
+    private final ClusterSessionRegistryImpl<?> sessionRegistry;
+
+    public SessionIndexFilter(ClusterSessionRegistryImpl<?> sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException,
+                                                                      IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            touch(request);
+        }
+    }
+
+    private void touch(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (Objects.isNull(session) || !Objects.isNull(touched.getIfPresent(session.getId()))) {
+            return;
+        }
+        try {
+            Object context = session.getAttribute(SPRING_SECURITY_CONTEXT);
+            if (context instanceof SecurityContext securityContext
+                && sessionRegistry.touch(session.getId(), securityContext,
+                    Instant.ofEpochMilli(session.getLastAccessedTime()),
+                    Duration.ofSeconds(session.getMaxInactiveInterval()))) {
+                touched.put(session.getId(), Boolean.TRUE);
+            }
+        } catch (IllegalStateException ignored) {
+            //会话已失效
+        } catch (Exception e) {
+            logger.warn("更新会话索引异常: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.security.session;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 会话游标分页
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 11:32
+ */
+@Data
+@AllArgsConstructor
+public class SessionPage implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2284609335185372816L;
+
+    /**
+     * 会话列表
+     */
+    private List<Session>     list;
+
+    /**
+     * 下一页游标，没有下一页时为空
+     */
+    private String            cursor;
+}
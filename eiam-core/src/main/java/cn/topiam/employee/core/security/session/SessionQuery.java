@@ -0,0 +1,68 @@
+/*
+ * eiam-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.core.security.session;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 会话查询
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 11:30
+ */
+@Data
+@Builder
+public class SessionQuery implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3162450951932104745L;
+
+    /**
+     * 用户名
+     */
+    private String            username;
+
+    /**
+     * 用户类型
+     */
+    private String            userType;
+
+    /**
+     * IP
+     */
+    private String            ip;
+
+    /**
+     * 排除的会话（当前会话）
+     */
+    private String            excludeSessionId;
+
+    /**
+     * 游标，上一页返回
+     */
+    private String            cursor;
+
+    /**
+     * 每页条数
+     */
+    private int               size;
+}
@@ -20,7 +20,6 @@ package cn.topiam.employee.identitysource.core;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.RandomStringUtils;
 
@@ -78,12 +77,9 @@ public abstract class AbstractDefaultIdentitySource<T extends IdentitySourceConf
             triggerType);
 
         // 拉取用户，根据部门拉取用户，而不是直接调用getUserList()，第一考虑性能，也是为了数据准确性。
+        // 各部门用户并发拉取，调用频率受身份源客户端限流控制
         LocalDateTime userListStartTime = LocalDateTime.now();
-        List<User> userList = new ArrayList<>();
-        for (Dept dept : deptList) {
-            userList.addAll(identitySourceClient.getUserList(dept));
-        }
-        userList = userList.stream().distinct().collect(Collectors.toList());
+        List<User> userList = identitySourceClient.getUserList(deptList);
         // 处理用户数据
         identitySourceSyncUserPostProcessor.process(batch, getId(), userList, userListStartTime,
             triggerType);
@@ -17,9 +17,15 @@
  */
 package cn.topiam.employee.identitysource.core.client;
 
+import java.util.*;
+import java.util.stream.Collectors;
+
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 
 import cn.topiam.employee.identitysource.core.IdentitySourceConfig;
+import cn.topiam.employee.identitysource.core.domain.Dept;
+import cn.topiam.employee.identitysource.core.domain.User;
 
 import lombok.Getter;
 
@@ -33,15 +39,60 @@ import lombok.Getter;
 public abstract class AbstractIdentitySourceClient<T extends IdentitySourceConfig>
                                                   implements IdentitySourceClient {
 
-    public static String ACCESS_KEY = "ACCESS_KEY";
+    public static String                    ACCESS_KEY          = "ACCESS_KEY";
 
-    protected AbstractIdentitySourceClient(T config) {
+    /**
+     * 默认并发拉取线程数
+     */
+    public static final int                 DEFAULT_PARALLELISM = 8;
+
+    protected AbstractIdentitySourceClient(T config, int permitsPerSecond) {
         Assert.notNull(config, "IdentityProviderConfig Not Null");
         this.config = config;
+        this.rateLimiter = new IdentitySourceRateLimiter(permitsPerSecond);
+        this.fetcher = new IdentitySourceFetcher(DEFAULT_PARALLELISM, "identity-source-fetch");
+    }
+
+    /**
+     * 按部门并发拉取用户，部门树展开后每个部门只拉取一次
+     *
+     * @param deptList {@link List}
+     * @return {@link List}
+     */
+    @Override
+    public List<User> getUserList(List<Dept> deptList) {
+        Map<String, Dept> depts = new LinkedHashMap<>();
+        Deque<Dept> stack = new ArrayDeque<>(deptList);
+        while (!stack.isEmpty()) {
+            Dept dept = stack.pop();
+            if (Objects.isNull(depts.putIfAbsent(dept.getDeptId(), dept))
+                && !CollectionUtils.isEmpty(dept.getChildren())) {
+                dept.getChildren().forEach(stack::push);
+            }
+        }
+        List<User> users = fetcher.fetchAll(depts.keySet(), deptId -> getUserList(deptId));
+        return users.stream().distinct().collect(Collectors.toList());
+    }
+
+    /**
+     * 调用身份源接口前获取令牌
+     */
+    protected void acquire() {
+        rateLimiter.acquire();
     }
 
     /**
      * 配置
      */
-    private final T config;
+    private final T                         config;
+
+    /**
+     * 接口调用限流
+     */
+    private final IdentitySourceRateLimiter rateLimiter;
+
+    /**
+     * 并发拉取
+     */
+    private final IdentitySourceFetcher     fetcher;
 }
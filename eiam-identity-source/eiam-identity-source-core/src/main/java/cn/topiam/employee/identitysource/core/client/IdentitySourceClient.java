@@ -19,6 +19,7 @@ package cn.topiam.employee.identitysource.core.client;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import cn.topiam.employee.identitysource.core.domain.Dept;
 import cn.topiam.employee.identitysource.core.domain.User;
@@ -45,6 +46,18 @@ public interface IdentitySourceClient {
         return list;
     }
 
+    /**
+     * 获取部门（含子部门）下的全部用户，去重
+     *
+     * @param deptList {@link List}
+     * @return {@link List}
+     */
+    default List<User> getUserList(List<Dept> deptList) {
+        List<User> list = new ArrayList<>();
+        deptList.forEach(dept -> list.addAll(getUserList(dept)));
+        return list.stream().distinct().collect(Collectors.toList());
+    }
+
     /**
      * 根据部门ID获取部门数据
      *
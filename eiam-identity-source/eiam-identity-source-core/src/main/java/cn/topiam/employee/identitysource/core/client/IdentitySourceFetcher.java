@@ -0,0 +1,91 @@
+/*
+ * eiam-identity-source-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.identitysource.core.client;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.util.Assert;
+
+/**
+ * 身份源数据并发拉取
+ * <p>
+ * 使用线程数不超过 parallelism 的 {@link ForkJoinPool}，拉取任务中可以再次调用
+ * {@link #fetch(Collection, Function)}（如递归拉取子部门），等待子任务时当前线程会执行其他任务，
+ * 不会因线程耗尽而死锁。
+ * 空闲线程 60 秒后回收，调用频率由 {@link IdentitySourceRateLimiter} 控制。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 22:20
+ */
+public class IdentitySourceFetcher {
+
+    private final ForkJoinPool pool;
+
+    public IdentitySourceFetcher(int parallelism, String name) {
+        Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+        //@formatter:off
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName(name + "-" + thread.getPoolIndex());
+            return thread;
+        }, null, false, 0, parallelism, 1, forkJoinPool -> true, 60, TimeUnit.SECONDS);
+        //@formatter:on
+    }
+
+    /**
+     * 并发执行，结果顺序与入参一致，任一任务失败时抛出该异常
+     *
+     * @param inputs   {@link Collection}
+     * @param function {@link Function}
+     * @return {@link List}
+     */
+    public <T, R> List<R> fetch(Collection<T> inputs, Function<T, R> function) {
+        if (inputs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (ForkJoinTask.getPool() == pool) {
+            return invokeAll(inputs, function);
+        }
+        return pool.invoke(ForkJoinTask.adapt(() -> invokeAll(inputs, function)));
+    }
+
+    /**
+     * 并发执行并合并结果
+     *
+     * @param inputs   {@link Collection}
+     * @param function {@link Function}
+     * @return {@link List}
+     */
+    public <T, R> List<R> fetchAll(Collection<T> inputs, Function<T, List<R>> function) {
+        return fetch(inputs, function).stream().flatMap(Collection::stream)
+            .collect(Collectors.toList());
+    }
+
+    private <T, R> List<R> invokeAll(Collection<T> inputs, Function<T, R> function) {
+        List<ForkJoinTask<R>> tasks = inputs.stream()
+            .map(input -> ForkJoinTask.adapt(() -> function.apply(input))).toList();
+        ForkJoinTask.invokeAll(tasks);
+        return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * eiam-identity-source-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.identitysource.core.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.util.Assert;
+
+import cn.topiam.employee.identitysource.core.exception.ApiCallException;
+
+/**
+ * 身份源接口调用限流（令牌桶）
+ * <p>
+ * 按 permitsPerSecond 匀速补充令牌，最多累积 capacity 个，调用前获取令牌，令牌不足时预占并等待，
+ * 使并发拉取时的调用频率不超过身份源提供商的 QPS 限制。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 22:10
+ */
+public class IdentitySourceRateLimiter {
+
+    /**
+     * 每纳秒补充令牌数
+     */
+    private final double permitsPerNanos;
+
+    /**
+     * 令牌桶容量
+     */
+    private final double capacity;
+
+    /**
+     * 当前令牌数，为负数时表示已被预占
+     */
+    private double       permits;
+
+    /**
+     * 上次补充时间
+     */
+    private long         lastRefillTime;
+
+    public IdentitySourceRateLimiter(int permitsPerSecond) {
+        this(permitsPerSecond, permitsPerSecond);
+    }
+
+    public IdentitySourceRateLimiter(int permitsPerSecond, int capacity) {
+        Assert.isTrue(permitsPerSecond > 0, "permitsPerSecond must be greater than 0");
+        Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+        this.permitsPerNanos = permitsPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.permits = capacity;
+        this.lastRefillTime = System.nanoTime();
+    }
+
+    /**
+     * 获取一个令牌，令牌不足时阻塞等待
+     */
+    public void acquire() {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            permits = Math.min(capacity, permits + (now - lastRefillTime) * permitsPerNanos);
+            lastRefillTime = now;
+            permits -= 1;
+            wait = permits >= 0 ? 0 : (long) (-permits / permitsPerNanos);
+        }
+        long deadline = System.nanoTime() + wait;
+        while (wait > 0) {
+            LockSupport.parkNanos(this, wait);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new ApiCallException("身份源接口调用等待被中断");
+            }
+            wait = deadline - System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * eiam-identity-source-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.identitysource.core.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * 身份源数据并发拉取测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 23:40
+ */
+class IdentitySourceFetcherTest {
+
+    /**
+     * 结果顺序与入参一致，并发数不超过 parallelism
+     */
+    @Test
+    void fetchKeepsOrderAndParallelism() {
+        IdentitySourceFetcher fetcher = new IdentitySourceFetcher(3, "fetcher-test");
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> inputs = IntStream.range(0, 30).boxed().toList();
+        List<Integer> results = fetcher.fetch(inputs, input -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(10);
+            running.decrementAndGet();
+            return input * 2;
+        });
+        assertThat(results).isEqualTo(inputs.stream().map(input -> input * 2).toList());
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    /**
+     * 拉取任务中递归拉取（如子部门），线程数为 1 时也不会死锁
+     */
+    @Test
+    void nestedFetchDoesNotDeadlock() {
+        IdentitySourceFetcher fetcher = new IdentitySourceFetcher(1, "fetcher-test");
+        List<Integer> results = assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> fetchTree(fetcher, 0, 4));
+        //每层 3 个子节点，深度 4，共 1 + 3 + 9 + 27 + 81 个节点
+        assertThat(results).hasSize(121);
+    }
+
+    /**
+     * 任一任务失败时抛出该异常
+     */
+    @Test
+    void fetchPropagatesFailure() {
+        IdentitySourceFetcher fetcher = new IdentitySourceFetcher(2, "fetcher-test");
+        assertThatThrownBy(() -> fetcher.fetch(List.of(1, 2, 3), input -> {
+            if (input == 2) {
+                throw new IllegalStateException("fetch failed");
+            }
+            return input;
+        })).isInstanceOf(IllegalStateException.class).hasMessageContaining("fetch failed");
+    }
+
+    private static List<Integer> fetchTree(IdentitySourceFetcher fetcher, int node, int depth) {
+        if (depth == 0) {
+            return List.of(node);
+        }
+        List<Integer> children = IntStream.range(0, 3).map(i -> node * 3 + i + 1).boxed()
+            .toList();
+        List<Integer> results = new ArrayList<>(List.of(node));
+        results.addAll(fetcher.fetchAll(children, child -> fetchTree(fetcher, child, depth - 1)));
+        return results;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * eiam-identity-source-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.identitysource.core.client;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import cn.topiam.employee.identitysource.core.exception.ApiCallException;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 身份源接口调用限流测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 23:30
+ */
+class IdentitySourceRateLimiterTest {
+
+    /**
+     * 桶内令牌可立即获取，超出部分按速率等待
+     */
+    @Test
+    void burstThenThrottle() {
+        IdentitySourceRateLimiter rateLimiter = new IdentitySourceRateLimiter(20, 5);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire();
+        }
+        assertThat(elapsedMillis(start)).isLessThan(200);
+        //再获取 10 个令牌，按每秒 20 个补充，至少等待 500ms
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.acquire();
+        }
+        assertThat(elapsedMillis(start)).isGreaterThanOrEqualTo(450);
+    }
+
+    /**
+     * 多线程并发获取时总速率不超过限制
+     */
+    @Test
+    void concurrentAcquire() throws Exception {
+        IdentitySourceRateLimiter rateLimiter = new IdentitySourceRateLimiter(50, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < 51; i++) {
+                executor.execute(rateLimiter::acquire);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        //首个令牌立即获取，其余 50 个按每秒 50 个补充
+        assertThat(elapsedMillis(start)).isGreaterThanOrEqualTo(900);
+    }
+
+    /**
+     * 等待期间被中断时抛出异常并保留中断状态
+     */
+    @Test
+    void interruptWhileWaiting() throws Exception {
+        IdentitySourceRateLimiter rateLimiter = new IdentitySourceRateLimiter(1, 1);
+        rateLimiter.acquire();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicReference<Boolean> interrupted = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                rateLimiter.acquire();
+            } catch (Throwable e) {
+                error.set(e);
+                interrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        thread.start();
+        TimeUnit.MILLISECONDS.sleep(100);
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(error.get()).isInstanceOf(ApiCallException.class);
+        assertThat(interrupted.get()).isTrue();
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
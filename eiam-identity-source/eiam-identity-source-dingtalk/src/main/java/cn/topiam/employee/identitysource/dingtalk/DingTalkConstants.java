@@ -65,6 +65,11 @@ public class DingTalkConstants {
      */
     public static final String GET_USER               = DOMAIN + "/topapi/v2/user/get";
 
+    /**
+     * 接口调用频率限制，企业内部应用单个应用调用同一接口 20 次/秒
+     */
+    public static final int    QPS                    = 20;
+
     /**
      * accessToken缓存名
      */
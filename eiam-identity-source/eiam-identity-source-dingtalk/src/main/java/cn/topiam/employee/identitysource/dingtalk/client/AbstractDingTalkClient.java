@@ -19,8 +19,6 @@ package cn.topiam.employee.identitysource.dingtalk.client;
 
 import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.lang3.ObjectUtils;
-
 import com.alibaba.fastjson2.JSON;
 import com.aliyun.dingtalkoauth2_1_0.Client;
 import com.aliyun.dingtalkoauth2_1_0.models.GetAccessTokenRequest;
@@ -36,6 +34,7 @@ import cn.topiam.employee.identitysource.dingtalk.DingTalkConfig;
 
 import lombok.extern.slf4j.Slf4j;
 import static cn.topiam.employee.identitysource.dingtalk.DingTalkConstants.LOGGER_NAME;
+import static cn.topiam.employee.identitysource.dingtalk.DingTalkConstants.QPS;
 
 /**
  * AbstractDingTalkDataProcessor
@@ -46,14 +45,13 @@ import static cn.topiam.employee.identitysource.dingtalk.DingTalkConstants.LOGGE
 @Slf4j(topic = LOGGER_NAME)
 public abstract class AbstractDingTalkClient extends AbstractIdentitySourceClient<DingTalkConfig> {
     /**
-     * 缓存
+     * 令牌缓存，并发拉取时同一时间只有一个线程请求令牌
      */
-    private Cache<String, String> cache;
+    private final Cache<String, AccessToken> cache = CacheBuilder.newBuilder().build();
 
     protected AbstractDingTalkClient(DingTalkConfig config) {
-        super(config);
-        String token = getAccessToken();
-        cache.put(ACCESS_KEY, token);
+        super(config, QPS);
+        getAccessToken();
     }
 
     /**
@@ -63,29 +61,37 @@ public abstract class AbstractDingTalkClient extends AbstractIdentitySourceClien
      */
     protected String getAccessToken() {
         try {
-            DingTalkConfig config = getConfig();
-            if (ObjectUtils.isNotEmpty(cache)
-                && ObjectUtils.isNotEmpty(cache.getIfPresent(ACCESS_KEY))) {
-                return cache.getIfPresent(ACCESS_KEY);
+            AccessToken token = cache.get(ACCESS_KEY, this::requestAccessToken);
+            if (token.isExpired()) {
+                cache.asMap().remove(ACCESS_KEY, token);
+                token = cache.get(ACCESS_KEY, this::requestAccessToken);
             }
-            Client client = createClient();
-            GetAccessTokenRequest request = new GetAccessTokenRequest()
-                .setAppKey(config.getAppKey()).setAppSecret(config.getAppSecret());
-            log.debug("获取钉钉 Access Token 入参: {}", JSON.toJSONString(request));
-            GetAccessTokenResponse accessToken = client.getAccessToken(request);
-            log.debug("获取钉钉 Access Token 返回: {}", JSON.toJSONString(accessToken));
-            GetAccessTokenResponseBody body = accessToken.getBody();
-            cache = CacheBuilder.newBuilder()
-                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
-                .expireAfterWrite(body.getExpireIn(), TimeUnit.SECONDS).build();
-            cache.put(ACCESS_KEY, body.getAccessToken());
-            return cache.getIfPresent(ACCESS_KEY);
+            return token.value();
         } catch (Exception e) {
             log.error("获取钉钉 Access Token 失败: {}", e.getMessage());
             throw new ApiCallException("获取钉钉 Access Token 失败");
         }
     }
 
+    /**
+     * 请求访问令牌
+     *
+     * @return {@link AccessToken}
+     * @throws Exception Exception
+     */
+    private AccessToken requestAccessToken() throws Exception {
+        DingTalkConfig config = getConfig();
+        Client client = createClient();
+        GetAccessTokenRequest request = new GetAccessTokenRequest().setAppKey(config.getAppKey())
+            .setAppSecret(config.getAppSecret());
+        log.debug("获取钉钉 Access Token 入参: {}", JSON.toJSONString(request));
+        acquire();
+        GetAccessTokenResponse accessToken = client.getAccessToken(request);
+        log.debug("获取钉钉 Access Token 返回: {}", JSON.toJSONString(accessToken));
+        GetAccessTokenResponseBody body = accessToken.getBody();
+        return AccessToken.of(body.getAccessToken(), body.getExpireIn());
+    }
+
     /**
      * 使用 Token 初始化账号Client
      */
@@ -101,4 +107,26 @@ public abstract class AbstractDingTalkClient extends AbstractIdentitySourceClien
         }
     }
 
+    /**
+     * 访问令牌
+     *
+     * @param value {@link String}
+     * @param expiresAt {@link Long} 过期时间（System.nanoTime）
+     */
+    private record AccessToken(String value, long expiresAt) {
+
+        /**
+         * 提前刷新时间（秒）
+         */
+        private static final long REFRESH_AHEAD = 60;
+
+        static AccessToken of(String value, long expireIn) {
+            long ttl = TimeUnit.SECONDS.toNanos(Math.max(0, expireIn - REFRESH_AHEAD));
+            return new AccessToken(value, System.nanoTime() + ttl);
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
 }
@@ -71,6 +71,7 @@ public class DingTalkClient extends AbstractDingTalkClient implements IdentitySo
             req.setDeptId(Long.valueOf(id));
             req.setLanguage(DingTalkConstants.ZH_CN);
             log.info("获取钉钉部门信息入参: {}", JSON.toJSONString(req));
+            acquire();
             OapiV2DepartmentGetResponse execute = client.execute(req, getAccessToken());
             log.info("获取钉钉部门信息返回: {}", JSON.toJSONString(execute));
             //成功处理数据
@@ -122,7 +123,6 @@ public class DingTalkClient extends AbstractDingTalkClient implements IdentitySo
      * @return {@link  List}
      */
     private List<Dept> getSubDeptList(String deptId) {
-        List<Dept> list = new ArrayList<>();
         try {
             //获取子部门
             com.dingtalk.api.DingTalkClient client = new DefaultDingTalkClient(
@@ -131,18 +131,17 @@ public class DingTalkClient extends AbstractDingTalkClient implements IdentitySo
             req.setDeptId(Long.valueOf(deptId));
             req.setLanguage(DingTalkConstants.ZH_CN);
             log.info("获取钉钉子部门列表入参: {}", JSON.toJSONString(req));
+            acquire();
             OapiV2DepartmentListsubResponse execute = client.execute(req, getAccessToken());
             log.info("获取钉钉子部门列表返回: {}", JSON.toJSONString(execute));
             if (execute.isSuccess()) {
-                for (OapiV2DepartmentListsubResponse.DeptBaseResponse response : execute
-                    .getResult()) {
-                    Dept dept = getDept(String.valueOf(response.getDeptId()));
-                    // 递归查询子节点
+                // 并发获取子部门详情并递归查询子节点
+                return getFetcher().fetch(execute.getResult(), response -> {
                     String childDeptId = String.valueOf(response.getDeptId());
+                    Dept dept = getDept(childDeptId);
                     dept.setChildren(getSubDeptList(childDeptId));
-                    list.add(dept);
-                }
-                return list;
+                    return dept;
+                });
             }
             log.error("获取钉钉子部门列表失败: {}", JSON.toJSONString(execute));
             throw new ApiCallException(execute.getErrmsg());
@@ -166,6 +165,7 @@ public class DingTalkClient extends AbstractDingTalkClient implements IdentitySo
             log.info("获取钉钉用户信息入参: {}", JSON.toJSONString(req));
             com.dingtalk.api.DingTalkClient client = new DefaultDingTalkClient(
                 DingTalkConstants.GET_USER);
+            acquire();
             OapiV2UserGetResponse execute = client.execute(req, getAccessToken());
             log.info("获取钉钉用户信息返回: {}", JSON.toJSONString(execute));
             if (execute.isSuccess()) {
@@ -206,14 +206,8 @@ public class DingTalkClient extends AbstractDingTalkClient implements IdentitySo
      */
     @Override
     public List<User> getUserList() {
-        //获取全部部门
-        List<Dept> list = getDeptList();
-        List<User> users = new ArrayList<>();
-        //根据部门获取用户信息
-        for (Dept dept : list) {
-            users.addAll(getUserList(dept));
-        }
-        return users;
+        //获取全部部门，根据部门并发获取用户信息
+        return getUserList(getDeptList());
     }
 
     /**
@@ -228,6 +222,7 @@ public class DingTalkClient extends AbstractDingTalkClient implements IdentitySo
             log.info("分页获取用户列表入参：{}", JSON.toJSONString(request));
             com.dingtalk.api.DingTalkClient client = new DefaultDingTalkClient(
                 DingTalkConstants.USER_LIST);
+            acquire();
             OapiV2UserListResponse execute = client.execute(request, getAccessToken());
             log.info("分页获取用户列表返回：{}", JSON.toJSONString(execute));
             if (execute.isSuccess()) {
@@ -35,6 +35,11 @@ public class FeiShuConstant {
      * 分页大小， 最大50
      */
     public static final int    PAGE_SIZE            = 50;
+
+    /**
+     * 接口调用频率限制，通讯录接口 50 次/秒
+     */
+    public static final int    QPS                  = 50;
     /**
      * 钉钉开放接口域名
      */
@@ -17,9 +17,9 @@
  */
 package cn.topiam.employee.identitysource.feishu.client;
 
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.http.*;
 import org.springframework.util.Assert;
 import org.springframework.web.client.RestOperations;
@@ -28,6 +28,7 @@ import org.springframework.web.client.RestTemplate;
 import com.alibaba.fastjson2.JSON;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import cn.topiam.employee.identitysource.core.client.AbstractIdentitySourceClient;
 import cn.topiam.employee.identitysource.core.exception.ApiCallException;
@@ -38,6 +39,7 @@ import cn.topiam.employee.identitysource.feishu.domain.response.GetAccessTokenRe
 import lombok.extern.slf4j.Slf4j;
 import static cn.topiam.employee.identitysource.feishu.FeiShuConstant.ACCESS_TOKEN_URL;
 import static cn.topiam.employee.identitysource.feishu.FeiShuConstant.LOGGER_NAME;
+import static cn.topiam.employee.identitysource.feishu.FeiShuConstant.QPS;
 
 /**
  * AbstractDingTalkDataProcessor
@@ -50,17 +52,16 @@ import static cn.topiam.employee.identitysource.feishu.FeiShuConstant.LOGGER_NAM
 public abstract class AbstractFeiShuClient extends AbstractIdentitySourceClient<FeiShuConfig> {
 
     /**
-     * 缓存
+     * 令牌缓存，并发拉取时同一时间只有一个线程请求令牌
      */
-    private Cache<String, String> cache;
+    private final Cache<String, AccessToken> cache = CacheBuilder.newBuilder().build();
 
-    protected RestOperations      restOperations;
+    protected RestOperations                 restOperations;
 
     protected AbstractFeiShuClient(FeiShuConfig config) {
-        super(config);
+        super(config, QPS);
         this.restOperations = new RestTemplate();
-        String token = getAccessToken();
-        cache.put(ACCESS_KEY, token);
+        getAccessToken();
     }
 
     /**
@@ -69,22 +70,36 @@ public abstract class AbstractFeiShuClient extends AbstractIdentitySourceClient<
      * @return {@link String}
      */
     protected String getAccessToken() {
-        if (ObjectUtils.isNotEmpty(cache)
-            && ObjectUtils.isNotEmpty(cache.getIfPresent(ACCESS_KEY))) {
-            return cache.getIfPresent(ACCESS_KEY);
+        try {
+            AccessToken token = cache.get(ACCESS_KEY, this::requestAccessToken);
+            if (token.isExpired()) {
+                cache.asMap().remove(ACCESS_KEY, token);
+                token = cache.get(ACCESS_KEY, this::requestAccessToken);
+            }
+            return token.value();
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ApiCallException("获取飞书 Access Token 失败", e.getCause());
         }
+    }
+
+    /**
+     * 请求访问令牌
+     *
+     * @return {@link AccessToken}
+     */
+    private AccessToken requestAccessToken() {
         GetAccessTokenRequest request = new GetAccessTokenRequest(getConfig().getAppId(),
             getConfig().getAppSecret());
         log.debug("获取飞书 Access Token 入参: {}", JSON.toJSONString(request));
+        acquire();
         GetAccessTokenResponse response = postToken(request);
         Assert.notNull(response, "获取Token返回结果为空");
         log.debug("获取飞书 Access Token 返回: {}", JSON.toJSONString(response));
         if (response.isSuccess()) {
-            cache = CacheBuilder.newBuilder()
-                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
-                .expireAfterWrite(response.getExpire(), TimeUnit.SECONDS).build();
-            cache.put(ACCESS_KEY, response.getTenantAccessToken());
-            return cache.getIfPresent(ACCESS_KEY);
+            return AccessToken.of(response.getTenantAccessToken(), response.getExpire());
         }
         log.error("获取飞书 Access Token 失败: {}", JSON.toJSONString(response));
         throw new ApiCallException("获取飞书 Access Token 失败");
@@ -111,4 +126,27 @@ public abstract class AbstractFeiShuClient extends AbstractIdentitySourceClient<
         Assert.notNull(restOperations, "restOperations cannot be null");
         this.restOperations = restOperations;
     }
+
+    /**
+     * 访问令牌
+     *
+     * @param value {@link String}
+     * @param expiresAt {@link Long} 过期时间（System.nanoTime）
+     */
+    private record AccessToken(String value, long expiresAt) {
+
+        /**
+         * 提前刷新时间（秒）
+         */
+        private static final long REFRESH_AHEAD = 60;
+
+        static AccessToken of(String value, long expireIn) {
+            long ttl = TimeUnit.SECONDS.toNanos(Math.max(0, expireIn - REFRESH_AHEAD));
+            return new AccessToken(value, System.nanoTime() + ttl);
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
 }
@@ -117,7 +117,8 @@ public class FeiShuClient extends AbstractFeiShuClient implements IdentitySource
             GetListResponse.ListData<GetDepartmentResponse> data = deptResponse.getData();
             List<GetDepartmentResponse> items = data.getItems();
             if (!CollectionUtils.isEmpty(items)) {
-                List<Dept> deptList = items.stream().map(item -> {
+                //并发递归获取子部门
+                List<Dept> deptList = getFetcher().fetch(items, item -> {
                     String departmentId = item.getOpenDepartmentId();
                     Dept dept = new Dept();
                     dept.setDeptId(departmentId);
@@ -126,7 +127,7 @@ public class FeiShuClient extends AbstractFeiShuClient implements IdentitySource
                     dept.setOrder(Long.valueOf(item.getOrder()));
                     dept.setChildren(getDepartmentList(departmentId, new ArrayList<>(), null));
                     return dept;
-                }).toList();
+                });
                 departmentList.addAll(deptList);
             }
             if (StringUtils.isNoneBlank(data.getPageToken())) {
@@ -221,10 +222,7 @@ public class FeiShuClient extends AbstractFeiShuClient implements IdentitySource
 
     @Override
     public List<User> getUserList() {
-        List<Dept> deptList = getDeptList();
-        List<User> users = new ArrayList<>();
-        deptList.forEach(deptId -> users.addAll(getUserList(deptId.getDeptId())));
-        return users;
+        return getUserList(getDeptList());
     }
 
     /**
@@ -247,6 +245,7 @@ public class FeiShuClient extends AbstractFeiShuClient implements IdentitySource
             JSONObject params = JSON.parseObject(JSON.toJSONString(json), JSONObject.class);
             params.forEach(builder::queryParam);
         }
+        acquire();
         ResponseEntity<T> response = restOperations.exchange(builder.build().encode().toString(),
             HttpMethod.GET, requestEntity, reference);
         T body = response.getBody();
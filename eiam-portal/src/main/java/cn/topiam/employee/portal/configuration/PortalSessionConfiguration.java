@@ -18,13 +18,16 @@
 package cn.topiam.employee.portal.configuration;
 
 import org.springframework.boot.autoconfigure.session.RedisSessionProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.Session;
+import org.springframework.session.web.http.SessionRepositoryFilter;
 
 import cn.topiam.employee.core.security.session.ClusterSessionRegistryImpl;
+import cn.topiam.employee.core.security.session.SessionIndexFilter;
 
 /**
  *
@@ -40,4 +43,18 @@ public class PortalSessionConfiguration {
         return new ClusterSessionRegistryImpl<>(sessionRepository,
             redisSessionProperties.getNamespace());
     }
+
+    /**
+     * 会话索引过滤器，在 SessionRepositoryFilter 之后
+     *
+     * @param sessionRegistry {@link SessionRegistry}
+     * @return {@link FilterRegistrationBean}
+     */
+    @Bean
+    public FilterRegistrationBean<SessionIndexFilter> sessionIndexFilter(SessionRegistry sessionRegistry) {
+        FilterRegistrationBean<SessionIndexFilter> registration = new FilterRegistrationBean<>(
+            new SessionIndexFilter((ClusterSessionRegistryImpl<?>) sessionRegistry));
+        registration.setOrder(SessionRepositoryFilter.DEFAULT_ORDER + 1);
+        return registration;
+    }
 }
@@ -20,6 +20,7 @@ package cn.topiam.employee.portal.configuration.security;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
@@ -36,11 +37,14 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
 import cn.topiam.employee.application.ApplicationServiceLoader;
 import cn.topiam.employee.audit.event.AuditEventPublish;
 import cn.topiam.employee.common.repository.setting.SettingRepository;
+import cn.topiam.employee.protocol.code.codec.AuthorizationCodecProperties;
 import cn.topiam.employee.protocol.jwt.JwtAuthorizationService;
 import cn.topiam.employee.protocol.jwt.RedisJwtAuthorizationService;
 import cn.topiam.employee.protocol.jwt.authentication.JwtAuthenticationFailureEventListener;
 import cn.topiam.employee.protocol.jwt.authentication.JwtAuthenticationSuccessEventListener;
 import cn.topiam.employee.protocol.jwt.configurers.JwtAuthorizationServerConfigurer;
+import cn.topiam.employee.protocol.jwt.token.JwtIdTokenMetrics;
+import cn.topiam.employee.protocol.jwt.token.JwtSigningKeyRegistry;
 import static org.springframework.security.config.http.SessionCreationPolicy.NEVER;
 
 import static cn.topiam.employee.common.constant.ConfigBeanNameConstants.JWT_PROTOCOL_SECURITY_FILTER_CHAIN;
@@ -52,6 +56,7 @@ import static cn.topiam.employee.common.constant.ConfigBeanNameConstants.JWT_PRO
  */
 @AutoConfigureBefore(PortalSecurityConfiguration.class)
 @Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AuthorizationCodecProperties.class)
 public class JwtProtocolSecurityConfiguration extends AbstractSecurityConfiguration {
 
     public JwtProtocolSecurityConfiguration(SettingRepository settingRepository) {
@@ -116,11 +121,34 @@ public class JwtProtocolSecurityConfiguration extends AbstractSecurityConfigurat
     public JwtAuthorizationService jwtAuthorizationService(RedisConnectionFactory redisConnectionFactory,
                                                            CacheProperties cacheProperties,
                                                            AutowireCapableBeanFactory beanFactory,
-                                                           ApplicationServiceLoader applicationServiceLoader) {
+                                                           ApplicationServiceLoader applicationServiceLoader,
+                                                           AuthorizationCodecProperties codecProperties) {
         RedisTemplate<String, String> redisTemplate = getStringRedisTemplate(redisConnectionFactory,
             cacheProperties);
-        return new RedisJwtAuthorizationService(redisTemplate, beanFactory,
-            applicationServiceLoader);
+        RedisJwtAuthorizationService service = new RedisJwtAuthorizationService(redisTemplate,
+            beanFactory, applicationServiceLoader);
+        service.setCodecFormat(codecProperties.getFormat());
+        return service;
+    }
+
+    /**
+     * JWT 签名密钥注册表，应用配置刷新、删除时清除私钥缓存
+     *
+     * @return {@link JwtSigningKeyRegistry}
+     */
+    @Bean
+    public JwtSigningKeyRegistry jwtSigningKeyRegistry() {
+        return new JwtSigningKeyRegistry();
+    }
+
+    /**
+     * JWT ID Token 签发指标
+     *
+     * @return {@link JwtIdTokenMetrics}
+     */
+    @Bean
+    public JwtIdTokenMetrics jwtIdTokenMetrics() {
+        return new JwtIdTokenMetrics();
     }
 
 }
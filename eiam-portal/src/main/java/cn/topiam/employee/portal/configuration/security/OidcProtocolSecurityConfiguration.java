@@ -17,9 +17,11 @@
  */
 package cn.topiam.employee.portal.configuration.security;
 
+import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
@@ -59,6 +61,7 @@ import cn.topiam.employee.audit.event.AuditEventPublish;
 import cn.topiam.employee.authentication.common.jackjson.AuthenticationJacksonModule;
 import cn.topiam.employee.common.repository.app.AppOidcConfigRepository;
 import cn.topiam.employee.common.repository.setting.SettingRepository;
+import cn.topiam.employee.protocol.code.codec.AuthorizationCodecProperties;
 import cn.topiam.employee.support.jackjson.SupportJackson2Module;
 import cn.topiam.employee.support.redis.KeyStringRedisSerializer;
 import static org.springframework.security.config.http.SessionCreationPolicy.NEVER;
@@ -73,6 +76,7 @@ import static cn.topiam.employee.common.constant.ConfigBeanNameConstants.OIDC_PR
  */
 @AutoConfigureBefore(PortalSecurityConfiguration.class)
 @Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AuthorizationCodecProperties.class)
 public class OidcProtocolSecurityConfiguration extends AbstractSecurityConfiguration {
 
     public OidcProtocolSecurityConfiguration(SettingRepository settingRepository) {
@@ -129,14 +133,16 @@ public class OidcProtocolSecurityConfiguration extends AbstractSecurityConfigura
      *
      * @param jwtDecoder {@link JwtDecoder}
      * @param authorizationService {@link OAuth2AuthorizationService}
+     * @param redissonClient {@link RedissonClient}
      * @return {@link AccessTokenAuthenticationManagerResolver}
      */
     @Bean
     public AccessTokenAuthenticationManagerResolver authenticationManagerResolver(JwtDecoder jwtDecoder,
-                                                                                  OAuth2AuthorizationService authorizationService) {
+                                                                                  OAuth2AuthorizationService authorizationService,
+                                                                                  RedissonClient redissonClient) {
         return new AccessTokenAuthenticationManagerResolver(
             new JwtAuthenticationProvider(jwtDecoder), new OpaqueTokenAuthenticationProvider(
-                new OpaqueTokenIntrospector(authorizationService)));
+                new OpaqueTokenIntrospector(authorizationService, redissonClient)));
     }
 
     /**
@@ -145,12 +151,14 @@ public class OidcProtocolSecurityConfiguration extends AbstractSecurityConfigura
      * @param redisConnectionFactory {@link RedisConnectionFactory}
      * @param cacheProperties {@link CacheProperties}
      * @param clientRepository {@link RedisConnectionFactory}
+     * @param codecProperties {@link AuthorizationCodecProperties}
      * @return {@link AutowireCapableBeanFactory}
      */
     @Bean
     public OAuth2AuthorizationService authorizationService(RedisConnectionFactory redisConnectionFactory,
                                                            CacheProperties cacheProperties,
-                                                           RegisteredClientRepository clientRepository) {
+                                                           RegisteredClientRepository clientRepository,
+                                                           AuthorizationCodecProperties codecProperties) {
         RedisTemplate<String, String> redisTemplate = getStringRedisTemplate(redisConnectionFactory,
             cacheProperties);
         ClassLoader classLoader = this.getClass().getClassLoader();
@@ -162,6 +170,7 @@ public class OidcProtocolSecurityConfiguration extends AbstractSecurityConfigura
         RedisOAuth2AuthorizationServiceWrapper service = new RedisOAuth2AuthorizationServiceWrapper(
             redisTemplate, clientRepository);
         service.setObjectMapper(objectMapper);
+        service.setCodecFormat(codecProperties.getFormat());
         return service;
     }
 
@@ -0,0 +1,46 @@
+/*
+ * eiam-protocol-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.code;
+
+import java.util.Collection;
+
+/**
+ * 授权批量撤销
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 13:10
+ */
+public interface AuthorizationRevoker {
+
+    /**
+     * 撤销用户的全部授权
+     *
+     * @param principalNames {@link Collection} 用户名
+     * @return {@link Long} 撤销的授权数量
+     */
+    long revokeByPrincipalNames(Collection<String> principalNames);
+
+    /**
+     * 撤销应用的全部授权
+     *
+     * @param appId {@link String} 应用ID
+     * @param clientId {@link String} 客户端ID
+     * @return {@link Long} 撤销的授权数量
+     */
+    long revokeByApp(String appId, String clientId);
+}
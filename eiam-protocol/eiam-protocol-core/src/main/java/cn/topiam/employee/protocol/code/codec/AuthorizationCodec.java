@@ -0,0 +1,45 @@
+/*
+ * eiam-protocol-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.code.codec;
+
+/**
+ * 授权信息编解码
+ * <p>
+ * 用于将授权信息（如 OAuth2Authorization、JwtAuthentication）写入/读取 Redis
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 22:10
+ */
+public interface AuthorizationCodec<T> {
+
+    /**
+     * 编码
+     *
+     * @param authorization {@link T}
+     * @return {@link String}
+     */
+    String encode(T authorization);
+
+    /**
+     * 解码
+     *
+     * @param data {@link String}
+     * @return {@link T}
+     */
+    T decode(String data);
+}
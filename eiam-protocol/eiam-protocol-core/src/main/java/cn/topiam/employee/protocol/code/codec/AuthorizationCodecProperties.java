@@ -0,0 +1,61 @@
+/*
+ * eiam-protocol-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.code.codec;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 授权信息编解码配置
+ *
+ * <pre>
+ * topiam:
+ *   protocol:
+ *     authorization-codec:
+ *       format: json
+ * </pre>
+ * <p>
+ * 两种格式均可读取，仅影响写入格式。切换为 COMPACT 前需升级全部节点，否则旧版本节点无法读取。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 22:30
+ */
+@Data
+@ConfigurationProperties(prefix = "topiam.protocol.authorization-codec")
+public class AuthorizationCodecProperties {
+
+    /**
+     * 写入格式
+     */
+    private Format format = Format.JSON;
+
+    /**
+     * 写入格式
+     */
+    public enum Format {
+                        /**
+                         * JSON
+                         */
+                        JSON,
+                        /**
+                         * 压缩格式，见 {@link CompactAuthorizationCodec}
+                         */
+                        COMPACT
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * eiam-protocol-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.code.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.util.Assert;
+
+/**
+ * 紧凑授权信息编解码
+ * <p>
+ * 对委托编解码器的输出进行压缩，格式（版本 1）：
+ * <pre>
+ * '~' + Base64( version(1 byte) | rawLength(4 bytes) | deflate(raw) )
+ * </pre>
+ * 解码时不以 '~' 开头的数据交由委托编解码器处理，兼容迁移前写入的 JSON 数据。
+ * 关闭压缩写入（{@link AuthorizationCodecProperties.Format#JSON}）时按委托格式写入，仍可读取压缩数据，便于回滚。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 22:15
+ */
+public class CompactAuthorizationCodec<T> implements AuthorizationCodec<T> {
+
+    /**
+     * 标记，JSON 及 Base64 均不会出现该字符
+     */
+    public static final char             MARKER         = '~';
+
+    /**
+     * 版本
+     */
+    public static final byte             VERSION_1      = 1;
+
+    /**
+     * 头部长度：版本 + 原始长度
+     */
+    private static final int             HEADER_LENGTH  = 1 + Integer.BYTES;
+
+    /**
+     * 原始数据最大长度，防止异常数据导致过量分配
+     */
+    private static final int             MAX_RAW_LENGTH = 16 * 1024 * 1024;
+
+    private final AuthorizationCodec<T>  delegate;
+
+    /**
+     * 是否以压缩格式写入
+     */
+    private final boolean                compactWrite;
+
+    public CompactAuthorizationCodec(AuthorizationCodec<T> delegate) {
+        this(delegate, true);
+    }
+
+    public CompactAuthorizationCodec(AuthorizationCodec<T> delegate, boolean compactWrite) {
+        Assert.notNull(delegate, "delegate must not be null");
+        this.delegate = delegate;
+        this.compactWrite = compactWrite;
+    }
+
+    /**
+     * 按配置的写入格式创建
+     *
+     * @param delegate {@link AuthorizationCodec}
+     * @param format {@link AuthorizationCodecProperties.Format}
+     * @return {@link CompactAuthorizationCodec}
+     */
+    public static <T> CompactAuthorizationCodec<T> create(AuthorizationCodec<T> delegate,
+                                                          AuthorizationCodecProperties.Format format) {
+        return new CompactAuthorizationCodec<>(delegate,
+            format == AuthorizationCodecProperties.Format.COMPACT);
+    }
+
+    @Override
+    public String encode(T authorization) {
+        if (!compactWrite) {
+            return delegate.encode(authorization);
+        }
+        byte[] raw = delegate.encode(authorization).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream output = new ByteArrayOutputStream(raw.length / 2 + HEADER_LENGTH);
+        output.write(VERSION_1);
+        output.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(raw.length).array());
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                output.write(buffer, 0, count);
+            }
+        } finally {
+            deflater.end();
+        }
+        return MARKER + Base64.getEncoder().withoutPadding().encodeToString(output.toByteArray());
+    }
+
+    @Override
+    public T decode(String data) {
+        if (data.isEmpty() || data.charAt(0) != MARKER) {
+            return delegate.decode(data);
+        }
+        byte[] bytes = Base64.getDecoder().decode(data.substring(1));
+        if (bytes.length < HEADER_LENGTH || bytes[0] != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported authorization codec version");
+        }
+        int rawLength = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+        if (rawLength < 0 || rawLength > MAX_RAW_LENGTH) {
+            throw new IllegalArgumentException("Invalid authorization length: " + rawLength);
+        }
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+            int offset = 0;
+            while (offset < rawLength && !inflater.finished()) {
+                int count = inflater.inflate(raw, offset, rawLength - offset);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += count;
+            }
+            if (offset != rawLength) {
+                throw new IllegalArgumentException("Truncated authorization data");
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException(ex.getMessage(), ex);
+        } finally {
+            inflater.end();
+        }
+        return delegate.decode(new String(raw, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * eiam-protocol-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.code.codec;
+
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON 授权信息编解码
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 22:12
+ */
+public class JacksonAuthorizationCodec<T> implements AuthorizationCodec<T> {
+
+    private final ObjectMapper objectMapper;
+
+    private final Class<T>     type;
+
+    public JacksonAuthorizationCodec(ObjectMapper objectMapper, Class<T> type) {
+        Assert.notNull(objectMapper, "objectMapper must not be null");
+        Assert.notNull(type, "type must not be null");
+        this.objectMapper = objectMapper;
+        this.type = type;
+    }
+
+    @Override
+    public String encode(T authorization) {
+        try {
+            return this.objectMapper.writeValueAsString(authorization);
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public T decode(String data) {
+        try {
+            return this.objectMapper.readValue(data, type);
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex.getMessage(), ex);
+        }
+    }
+}
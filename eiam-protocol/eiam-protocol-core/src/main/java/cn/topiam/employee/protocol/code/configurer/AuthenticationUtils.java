@@ -28,6 +28,7 @@ import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.util.StringUtils;
 
 import cn.topiam.employee.application.ApplicationServiceLoader;
+import cn.topiam.employee.application.entitlement.ApplicationEntitlementService;
 import cn.topiam.employee.support.security.authentication.WebAuthenticationDetailsSource;
 
 /**
@@ -56,6 +57,17 @@ public class AuthenticationUtils {
         return applicationServiceLoader;
     }
 
+    public static <B extends HttpSecurityBuilder<B>> ApplicationEntitlementService getApplicationEntitlementService(B builder) {
+        ApplicationEntitlementService applicationEntitlementService = builder
+            .getSharedObject(ApplicationEntitlementService.class);
+        if (applicationEntitlementService == null) {
+            applicationEntitlementService = getBean(builder, ApplicationEntitlementService.class);
+            builder.setSharedObject(ApplicationEntitlementService.class,
+                applicationEntitlementService);
+        }
+        return applicationEntitlementService;
+    }
+
     public static <B extends HttpSecurityBuilder<B>> WebAuthenticationDetailsSource getAuthenticationDetailsSource(B builder) {
         WebAuthenticationDetailsSource authenticationDetailsSource = builder
             .getSharedObject(WebAuthenticationDetailsSource.class);
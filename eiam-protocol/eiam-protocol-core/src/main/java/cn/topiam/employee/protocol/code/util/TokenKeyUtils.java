@@ -0,0 +1,79 @@
+/*
+ * eiam-protocol-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.code.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 令牌 Key 工具
+ * <p>
+ * 令牌值经 SHA-256 摘要后作为缓存 Key。{@link MessageDigest} 非线程安全，此处按线程复用实例。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 22:48
+ */
+public final class TokenKeyUtils {
+
+    private static final String                     ALGORITHM  = "SHA-256";
+
+    private static final char[]                     HEX        = "0123456789abcdef"
+        .toCharArray();
+
+    /**
+     * 与历史格式 {@code String.format("%032x", new BigInteger(1, digest))} 保持一致的最小长度
+     */
+    private static final int                        MIN_LENGTH = 32;
+
+    private static final ThreadLocal<MessageDigest> DIGEST     = ThreadLocal
+        .withInitial(TokenKeyUtils::createDigest);
+
+    /**
+     * 生成 Key
+     *
+     * @param rawKey {@link String}
+     * @return {@link String}
+     */
+    public static String generateKey(String rawKey) {
+        MessageDigest digest = DIGEST.get();
+        byte[] bytes = digest.digest(rawKey.getBytes(StandardCharsets.UTF_8));
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0F];
+        }
+        //去除前导 0（保留最小长度），兼容已写入的 Key
+        int offset = 0;
+        while (offset < chars.length - MIN_LENGTH && chars[offset] == '0') {
+            offset++;
+        }
+        return new String(chars, offset, chars.length - offset);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private TokenKeyUtils() {
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * eiam-protocol-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.code.codec;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 紧凑授权信息编解码测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 23:05
+ */
+class CompactAuthorizationCodecTest {
+
+    private final JacksonAuthorizationCodec<Sample> delegate = new JacksonAuthorizationCodec<>(
+        new ObjectMapper(), Sample.class);
+
+    /**
+     * 压缩写入后可还原
+     */
+    @Test
+    void compactRoundTrip() {
+        AuthorizationCodec<Sample> codec = CompactAuthorizationCodec.create(delegate,
+            AuthorizationCodecProperties.Format.COMPACT);
+        Sample sample = sample();
+        String data = codec.encode(sample);
+        assertThat(data.charAt(0)).isEqualTo(CompactAuthorizationCodec.MARKER);
+        assertThat(codec.decode(data)).isEqualTo(sample);
+    }
+
+    /**
+     * JSON 写入（默认）按委托格式输出，仍可读取压缩数据，便于回滚
+     */
+    @Test
+    void jsonWriteReadsCompact() {
+        AuthorizationCodec<Sample> compact = CompactAuthorizationCodec.create(delegate,
+            AuthorizationCodecProperties.Format.COMPACT);
+        AuthorizationCodec<Sample> json = CompactAuthorizationCodec.create(delegate,
+            AuthorizationCodecProperties.Format.JSON);
+        Sample sample = sample();
+        assertThat(json.encode(sample)).isEqualTo(delegate.encode(sample));
+        assertThat(json.decode(compact.encode(sample))).isEqualTo(sample);
+        assertThat(compact.decode(json.encode(sample))).isEqualTo(sample);
+    }
+
+    /**
+     * 截断或版本不支持的数据拒绝解码
+     */
+    @Test
+    void rejectInvalidData() {
+        AuthorizationCodec<Sample> codec = CompactAuthorizationCodec.create(delegate,
+            AuthorizationCodecProperties.Format.COMPACT);
+        String data = codec.encode(sample());
+        //按 Base64 4 字符边界截断，使压缩数据不完整
+        String truncated = data.substring(0, 1 + (data.length() - 1) / 2 / 4 * 4);
+        assertThatThrownBy(() -> codec.decode(truncated))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Truncated");
+        assertThatThrownBy(() -> codec.decode(CompactAuthorizationCodec.MARKER + "AgAAAAA"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Sample sample() {
+        return new Sample("authorization-id", "client-id",
+            List.of("openid", "profile", "email", "phone"));
+    }
+
+    record Sample(String id, String clientId, List<String> scopes) {
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * eiam-protocol-core - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.code.util;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 令牌 Key 工具测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 23:15
+ */
+class TokenKeyUtilsTest {
+
+    private static final int THREADS = 256;
+
+    private static final int KEYS    = 1000;
+
+    /**
+     * 与历史格式 {@code String.format("%032x", new BigInteger(1, digest))} 一致，含前导 0 的摘要
+     */
+    @Test
+    void compatibleWithLegacyFormat() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (int i = 0; i < 5000; i++) {
+            String rawKey = "token-" + i;
+            String legacy = String.format("%032x", new BigInteger(1,
+                digest.digest(rawKey.getBytes(StandardCharsets.UTF_8))));
+            assertThat(TokenKeyUtils.generateKey(rawKey)).isEqualTo(legacy);
+        }
+    }
+
+    /**
+     * 多线程同时开始并发生成，结果与单线程按历史格式计算的结果一致
+     */
+    @Test
+    void concurrentGenerate() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        List<String> expected = new ArrayList<>(KEYS);
+        for (int i = 0; i < KEYS; i++) {
+            expected.add(String.format("%032x", new BigInteger(1,
+                digest.digest(("token-" + i).getBytes(StandardCharsets.UTF_8)))));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return IntStream.range(0, KEYS)
+                        .mapToObj(i -> TokenKeyUtils.generateKey("token-" + i)).toList();
+                }));
+            }
+            start.countDown();
+            for (Future<List<String>> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS)).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
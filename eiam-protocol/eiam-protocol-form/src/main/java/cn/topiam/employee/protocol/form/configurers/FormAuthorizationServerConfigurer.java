@@ -33,6 +33,7 @@ import cn.topiam.employee.protocol.code.EndpointMatcher;
 import cn.topiam.employee.protocol.code.UnauthorizedAuthenticationEntryPoint;
 import cn.topiam.employee.protocol.code.configurer.AbstractConfigurer;
 import cn.topiam.employee.protocol.form.context.FormAuthorizationServerContextFilter;
+import static cn.topiam.employee.protocol.code.configurer.AuthenticationUtils.getApplicationEntitlementService;
 import static cn.topiam.employee.protocol.code.configurer.AuthenticationUtils.getApplicationServiceLoader;
 
 /**
@@ -78,7 +79,7 @@ public final class FormAuthorizationServerConfigurer extends
         //@formatter:off
         //Authorization server context filter
         ApplicationServiceLoader applicationServiceLoader = getApplicationServiceLoader(httpSecurity);
-        FormAuthorizationServerContextFilter authorizationServerContextFilter = new FormAuthorizationServerContextFilter(this.endpointMatchers, applicationServiceLoader);
+        FormAuthorizationServerContextFilter authorizationServerContextFilter = new FormAuthorizationServerContextFilter(this.endpointMatchers, applicationServiceLoader, getApplicationEntitlementService(httpSecurity));
         httpSecurity.addFilterAfter(postProcess(authorizationServerContextFilter), SecurityContextHolderFilter.class);
         this.configurers.values().forEach(configurer -> configurer.configure(httpSecurity));
         //@formatter:on
@@ -33,13 +33,13 @@ import com.alibaba.fastjson2.JSONObject;
 import cn.topiam.employee.application.ApplicationServiceLoader;
 import cn.topiam.employee.application.context.ApplicationContext;
 import cn.topiam.employee.application.context.ApplicationContextHolder;
+import cn.topiam.employee.application.entitlement.ApplicationEntitlementService;
 import cn.topiam.employee.application.exception.AppNotConfigException;
 import cn.topiam.employee.application.exception.AppNotExistException;
 import cn.topiam.employee.application.form.FormApplicationService;
 import cn.topiam.employee.application.form.model.FormProtocolConfig;
 import cn.topiam.employee.common.exception.app.AppAccessDeniedException;
 import cn.topiam.employee.protocol.code.EndpointMatcher;
-import cn.topiam.employee.support.security.userdetails.Application;
 import cn.topiam.employee.support.security.userdetails.UserDetails;
 import cn.topiam.employee.support.security.util.SecurityUtils;
 import cn.topiam.employee.support.util.IpUtils;
@@ -61,17 +61,23 @@ import static cn.topiam.employee.support.util.HttpRequestUtils.getRequestHeaders
  */
 public final class FormAuthorizationServerContextFilter extends OncePerRequestFilter {
 
-    public static final String             SEPARATE = "----------------------------------------------------------";
+    public static final String                  SEPARATE = "----------------------------------------------------------";
 
     @Getter
-    private final List<EndpointMatcher>    endpointMatchers;
+    private final List<EndpointMatcher>         endpointMatchers;
 
-    private final ApplicationServiceLoader applicationServiceLoader;
+    private final ApplicationServiceLoader      applicationServiceLoader;
+
+    private final ApplicationEntitlementService applicationEntitlementService;
 
     public FormAuthorizationServerContextFilter(List<EndpointMatcher> endpointMatchers,
-                                                ApplicationServiceLoader applicationServiceLoader) {
+                                                ApplicationServiceLoader applicationServiceLoader,
+                                                ApplicationEntitlementService applicationEntitlementService) {
         Assert.notNull(endpointMatchers, "endpointMatchers cannot be null");
         Assert.notNull(applicationServiceLoader, "applicationServiceLoader cannot be null");
+        Assert.notNull(applicationEntitlementService,
+            "applicationEntitlementService cannot be null");
+        this.applicationEntitlementService = applicationEntitlementService;
         this.applicationServiceLoader = applicationServiceLoader;
         this.endpointMatchers = endpointMatchers;
     }
@@ -99,9 +105,7 @@ public final class FormAuthorizationServerContextFilter extends OncePerRequestFi
         //校验访问权限（未登录不校验访问权限）
         if (access && SecurityUtils.isAuthenticated()) {
             UserDetails userDetails = SecurityUtils.getCurrentUser();
-            Collection<Application> applications = userDetails.getApplications();
-            if (applications.stream()
-                .noneMatch(application -> application.getCode().equals(appCode))) {
+            if (!applicationEntitlementService.isEntitled(userDetails, appCode)) {
                 response.sendError(HttpServletResponse.SC_FORBIDDEN,
                     new AppAccessDeniedException().getMessage());
                 return;
@@ -0,0 +1,127 @@
+/*
+ * eiam-protocol-jwt - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.jwt;
+
+import java.util.*;
+
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+import cn.topiam.employee.protocol.code.AuthorizationRevoker;
+import cn.topiam.employee.protocol.code.util.TokenKeyUtils;
+
+import lombok.Setter;
+import static cn.topiam.employee.protocol.jwt.RedisJwtAuthorizationService.*;
+import static cn.topiam.employee.protocol.jwt.constant.JwtProtocolConstants.JWT_PROTOCOL_CACHE_PREFIX;
+
+/**
+ * JWT 授权批量撤销
+ * <p>
+ * 与 {@link RedisJwtAuthorizationService} 使用相同的存储结构，按用户、客户端授权集合找到授权后分批删除。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 13:40
+ */
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class RedisJwtAuthorizationRevoker implements AuthorizationRevoker {
+
+    /**
+     * 每批处理授权数量
+     */
+    private static final int                      BATCH_SIZE = 500;
+
+    private final RedisOperations<String, String> redisOperations;
+
+    @Setter
+    private String                                prefix     = JWT_PROTOCOL_CACHE_PREFIX;
+
+    public RedisJwtAuthorizationRevoker(RedisOperations<String, String> redisOperations) {
+        Assert.notNull(redisOperations, "redisOperations mut not be null");
+        this.redisOperations = redisOperations;
+    }
+
+    @Override
+    public long revokeByPrincipalNames(Collection<String> principalNames) {
+        List<String> keys = principalNames.stream()
+            .map(name -> prefix + PRINCIPAL_TO_AUTHORIZATIONS + name).toList();
+        long revoked = revoke(members(keys));
+        redisOperations.delete(keys);
+        return revoked;
+    }
+
+    @Override
+    public long revokeByApp(String appId, String clientId) {
+        String key = prefix + CID_TO_AUTHORIZATIONS + clientId;
+        long revoked = revoke(members(List.of(key)));
+        redisOperations.delete(key);
+        return revoked;
+    }
+
+    /**
+     * 撤销授权，与 {@link RedisJwtAuthorizationService#remove(JwtAuthentication)} 删除相同的 key
+     *
+     * @param authorizationIds {@link Collection}
+     * @return {@link Long}
+     */
+    private long revoke(Collection<String> authorizationIds) {
+        long revoked = 0;
+        for (List<String> batch : ListUtils.partition(new ArrayList<>(authorizationIds),
+            BATCH_SIZE)) {
+            List<String> keys = new ArrayList<>();
+            batch.forEach(id -> {
+                keys.add(prefix + ID_TO_CORRELATIONS + id);
+                keys.add(prefix + UID_TO_AUTHORIZATIONS + TokenKeyUtils.generateKey(id));
+            });
+            Long deleted = redisOperations
+                .delete(batch.stream().map(id -> prefix + ID_TO_AUTHORIZATION + id).toList());
+            redisOperations.delete(keys);
+            revoked += Objects.isNull(deleted) ? 0 : deleted;
+        }
+        return revoked;
+    }
+
+    /**
+     * 流水线读取多个集合成员
+     *
+     * @param keys {@link List}
+     * @return {@link Set}
+     */
+    private Set<String> members(List<String> keys) {
+        Set<String> result = new HashSet<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        List<Object> members = redisOperations.executePipelined(new SessionCallback<>() {
+            @Override
+            public Object execute(@NonNull RedisOperations operations) throws DataAccessException {
+                keys.forEach(key -> operations.opsForSet().members(key));
+                return null;
+            }
+        });
+        for (Object member : members) {
+            if (member instanceof Collection<?> collection) {
+                collection.forEach(item -> result.add(item.toString()));
+            }
+        }
+        return result;
+    }
+}
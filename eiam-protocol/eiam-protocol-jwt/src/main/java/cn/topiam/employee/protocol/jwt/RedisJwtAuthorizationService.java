@@ -17,24 +17,28 @@
  */
 package cn.topiam.employee.protocol.jwt;
 
-import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.http.converter.json.SpringHandlerInstantiator;
 import org.springframework.util.Assert;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import cn.topiam.employee.application.ApplicationServiceLoader;
+import cn.topiam.employee.protocol.code.codec.AuthorizationCodec;
+import cn.topiam.employee.protocol.code.codec.AuthorizationCodecProperties;
+import cn.topiam.employee.protocol.code.codec.CompactAuthorizationCodec;
+import cn.topiam.employee.protocol.code.codec.JacksonAuthorizationCodec;
+import cn.topiam.employee.protocol.code.util.TokenKeyUtils;
 import cn.topiam.employee.protocol.jwt.jackson.JwtAuthorizationModule;
 import cn.topiam.employee.support.jackjson.SupportJackson2Module;
 
@@ -48,10 +52,11 @@ import static cn.topiam.employee.protocol.jwt.constant.JwtProtocolConstants.JWT_
  * Created by support@topiam.cn on 2023/9/1 12:51
  */
 public class RedisJwtAuthorizationService extends AbstractJwtAuthorizationService {
-    private static final String CID_TO_AUTHORIZATIONS = "cid_to_authorizations:";
-    private static final String UID_TO_AUTHORIZATIONS = "uid_to_authorizations:";
-    private static final String ID_TO_AUTHORIZATION   = "id_to_authorization:";
-    private static final String ID_TO_CORRELATIONS    = "id_to_correlations:";
+    static final String                           CID_TO_AUTHORIZATIONS       = "cid_to_authorizations:";
+    static final String                           UID_TO_AUTHORIZATIONS       = "uid_to_authorizations:";
+    static final String                           ID_TO_AUTHORIZATION         = "id_to_authorization:";
+    static final String                           ID_TO_CORRELATIONS          = "id_to_correlations:";
+    static final String                           PRINCIPAL_TO_AUTHORIZATIONS = "principal_to_authorizations:";
 
     public RedisJwtAuthorizationService(RedisOperations<String, String> redisOperations,
                                         AutowireCapableBeanFactory beanFactory,
@@ -63,6 +68,34 @@ public class RedisJwtAuthorizationService extends AbstractJwtAuthorizationServic
         objectMapper.registerModules(SupportJackson2Module.getModules(classLoader));
         objectMapper.registerModule(new JwtAuthorizationModule());
         objectMapper.setHandlerInstantiator(new SpringHandlerInstantiator(beanFactory));
+        this.authorizationCodec = createAuthorizationCodec(objectMapper);
+    }
+
+    /**
+     * 设置 ObjectMapper，同时重建默认授权信息编解码
+     *
+     * @param objectMapper {@link ObjectMapper}
+     */
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        Assert.notNull(objectMapper, "objectMapper must not be null");
+        this.objectMapper = objectMapper;
+        this.authorizationCodec = createAuthorizationCodec(objectMapper);
+    }
+
+    /**
+     * 设置授权信息写入格式，同时重建默认授权信息编解码
+     *
+     * @param codecFormat {@link AuthorizationCodecProperties.Format}
+     */
+    public void setCodecFormat(AuthorizationCodecProperties.Format codecFormat) {
+        Assert.notNull(codecFormat, "codecFormat must not be null");
+        this.codecFormat = codecFormat;
+        this.authorizationCodec = createAuthorizationCodec(objectMapper);
+    }
+
+    private AuthorizationCodec<JwtAuthentication> createAuthorizationCodec(ObjectMapper objectMapper) {
+        return CompactAuthorizationCodec.create(
+            new JacksonAuthorizationCodec<>(objectMapper, JwtAuthentication.class), codecFormat);
     }
 
     /**
@@ -83,7 +116,14 @@ public class RedisJwtAuthorizationService extends AbstractJwtAuthorizationServic
         //add client authorizations
         correlationValues.add(cidToAuthorizationsKey);
         redisOperations.opsForSet().add(cidToAuthorizationsKey, authorizationId);
-        redisOperations.expire(cidToAuthorizationsKey, timeToLive);
+        extendExpire(cidToAuthorizationsKey, timeToLive);
+        //add principal authorizations
+        String principalName = getPrincipalName(token);
+        if (!Objects.isNull(principalName)) {
+            String principalToAuthorizationsKey = getPrincipalToAuthorizations(principalName);
+            redisOperations.opsForSet().add(principalToAuthorizationsKey, authorizationId);
+            extendExpire(principalToAuthorizationsKey, timeToLive);
+        }
         //save authorization
         correlationValues.add(idToAuthorizationKey);
         redisOperations.opsForValue().set(idToAuthorizationKey, write(token));
@@ -99,6 +139,17 @@ public class RedisJwtAuthorizationService extends AbstractJwtAuthorizationServic
         redisOperations.expire(idToCorrelationsKey, timeToLive);
     }
 
+    /**
+     * 延长集合过期时间，集合内包含其他授权，剩余时间更长时不能缩短
+     *
+     * @param key {@link String}
+     * @param timeToLive {@link Duration}
+     */
+    private void extendExpire(String key, Duration timeToLive) {
+        redisOperations.execute(EXTEND_EXPIRE_SCRIPT, List.of(key),
+            String.valueOf(timeToLive.getSeconds()));
+    }
+
     @Override
     public void remove(JwtAuthentication authorization) {
         String authorizationId = authorization.getId();
@@ -110,6 +161,16 @@ public class RedisJwtAuthorizationService extends AbstractJwtAuthorizationServic
         redisOperations.delete(idToCorrelationsKey);
         redisOperations.delete(uidToAuthorizationsKey);
         redisOperations.opsForSet().remove(cidToAuthorizationsKey, authorization.getId());
+        String principalName = getPrincipalName(authorization);
+        if (!Objects.isNull(principalName)) {
+            redisOperations.opsForSet().remove(getPrincipalToAuthorizations(principalName),
+                authorization.getId());
+        }
+    }
+
+    private static String getPrincipalName(JwtAuthentication authorization) {
+        return Objects.isNull(authorization.getPrincipal()) ? null
+            : authorization.getPrincipal().getName();
     }
 
     @Override
@@ -129,27 +190,22 @@ public class RedisJwtAuthorizationService extends AbstractJwtAuthorizationServic
         return prefix + ID_TO_CORRELATIONS + authorizationId;
     }
 
-    private String write(Object data) {
-        try {
-            return this.objectMapper.writeValueAsString(data);
-        } catch (Exception ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+    private String write(JwtAuthentication data) {
+        return this.authorizationCodec.encode(data);
     }
 
     private JwtAuthentication parse(String data) {
-        try {
-            return this.objectMapper.readValue(data, new TypeReference<>() {
-            });
-        } catch (Exception ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return this.authorizationCodec.decode(data);
     }
 
     public String getCidToAuthorizations(String clientId) {
         return prefix + CID_TO_AUTHORIZATIONS + clientId;
     }
 
+    private String getPrincipalToAuthorizations(String principalName) {
+        return prefix + PRINCIPAL_TO_AUTHORIZATIONS + principalName;
+    }
+
     private String getIdToAuthorizationKey(String authorizationId) {
         return prefix + ID_TO_AUTHORIZATION + authorizationId;
     }
@@ -159,25 +215,34 @@ public class RedisJwtAuthorizationService extends AbstractJwtAuthorizationServic
     }
 
     protected static String generateKey(String rawKey) {
-        byte[] bytes = DIGEST.digest(rawKey.getBytes(StandardCharsets.UTF_8));
-        return String.format("%032x", new BigInteger(1, bytes));
+        return TokenKeyUtils.generateKey(rawKey);
     }
 
+    /**
+     * 延长过期时间脚本，KEYS[1]: 集合，ARGV[1]: 过期时间（秒）
+     */
+    private static final RedisScript<Long>        EXTEND_EXPIRE_SCRIPT        = new DefaultRedisScript<>("""
+        if redis.call('TTL', KEYS[1]) < tonumber(ARGV[1]) then
+            return redis.call('EXPIRE', KEYS[1], ARGV[1])
+        end
+        return 0
+        """, Long.class);
+
     private final RedisOperations<String, String> redisOperations;
 
     @Setter
-    private String                                prefix       = JWT_PROTOCOL_CACHE_PREFIX;
+    private String                                prefix                      = JWT_PROTOCOL_CACHE_PREFIX;
 
-    @Setter
-    private ObjectMapper                          objectMapper = new ObjectMapper();
+    private ObjectMapper                          objectMapper                = new ObjectMapper();
 
-    private static final MessageDigest            DIGEST;
+    /**
+     * 授权信息编解码，默认按 JSON 写入，兼容读取紧凑格式
+     */
+    @Setter
+    private AuthorizationCodec<JwtAuthentication> authorizationCodec;
 
-    static {
-        try {
-            DIGEST = MessageDigest.getInstance("SHA-256");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
-    }
+    /**
+     * 授权信息写入格式
+     */
+    private AuthorizationCodecProperties.Format   codecFormat                 = AuthorizationCodecProperties.Format.JSON;
 }
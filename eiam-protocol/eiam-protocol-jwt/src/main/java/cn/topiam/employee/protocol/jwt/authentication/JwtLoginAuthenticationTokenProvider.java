@@ -41,6 +41,8 @@ import cn.topiam.employee.protocol.jwt.token.IdToken;
 import cn.topiam.employee.protocol.jwt.token.IdTokenContext;
 import cn.topiam.employee.protocol.jwt.token.IdTokenGenerator;
 import cn.topiam.employee.protocol.jwt.token.JwtIdTokenGenerator;
+import cn.topiam.employee.protocol.jwt.token.JwtIdTokenMetrics;
+import cn.topiam.employee.protocol.jwt.token.JwtSigningKeyRegistry;
 import cn.topiam.employee.support.security.authentication.WebAuthenticationDetails;
 import cn.topiam.employee.support.security.userdetails.UserDetails;
 import static cn.topiam.employee.common.constant.ProtocolConstants.APP_CODE_VARIABLE;
@@ -85,6 +87,7 @@ public final class JwtLoginAuthenticationTokenProvider implements Authentication
             String subject = getSubject(config,(UserDetails) principal.getPrincipal());
             WebAuthenticationDetails details = (WebAuthenticationDetails) requestAuthenticationToken.getDetails();
             IdTokenContext tokenContext = IdTokenContext.builder()
+                    .appId(config.getAppId())
                     .issuer(issuer)
                     .subject(subject)
                     .audience(config.getAppCode())
@@ -180,11 +183,18 @@ public final class JwtLoginAuthenticationTokenProvider implements Authentication
     /**
      * ID_TOKEN 生成器
      */
-    private final IdTokenGenerator        tokenGenerator = new JwtIdTokenGenerator();
+    private final IdTokenGenerator        tokenGenerator;
 
     private final JwtAuthorizationService authorizationService;
 
     public JwtLoginAuthenticationTokenProvider(JwtAuthorizationService authorizationService) {
+        this(authorizationService, new JwtSigningKeyRegistry(), new JwtIdTokenMetrics());
+    }
+
+    public JwtLoginAuthenticationTokenProvider(JwtAuthorizationService authorizationService,
+                                               JwtSigningKeyRegistry signingKeyRegistry,
+                                               JwtIdTokenMetrics idTokenMetrics) {
         this.authorizationService = authorizationService;
+        this.tokenGenerator = new JwtIdTokenGenerator(signingKeyRegistry, idTokenMetrics);
     }
 }
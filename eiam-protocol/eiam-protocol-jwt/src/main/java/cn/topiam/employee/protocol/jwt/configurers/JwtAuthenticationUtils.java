@@ -23,6 +23,8 @@ import cn.topiam.employee.application.ApplicationServiceLoader;
 import cn.topiam.employee.protocol.code.configurer.AuthenticationUtils;
 import cn.topiam.employee.protocol.jwt.InMemoryJwtAuthorizationService;
 import cn.topiam.employee.protocol.jwt.JwtAuthorizationService;
+import cn.topiam.employee.protocol.jwt.token.JwtIdTokenMetrics;
+import cn.topiam.employee.protocol.jwt.token.JwtSigningKeyRegistry;
 
 /**
  *
@@ -47,4 +49,31 @@ public class JwtAuthenticationUtils {
         }
         return authorizationService;
     }
+
+    public static JwtSigningKeyRegistry getSigningKeyRegistry(HttpSecurity httpSecurity) {
+        JwtSigningKeyRegistry signingKeyRegistry = httpSecurity
+            .getSharedObject(JwtSigningKeyRegistry.class);
+        if (signingKeyRegistry == null) {
+            signingKeyRegistry = AuthenticationUtils.getOptionalBean(httpSecurity,
+                JwtSigningKeyRegistry.class);
+            if (signingKeyRegistry == null) {
+                signingKeyRegistry = new JwtSigningKeyRegistry();
+            }
+            httpSecurity.setSharedObject(JwtSigningKeyRegistry.class, signingKeyRegistry);
+        }
+        return signingKeyRegistry;
+    }
+
+    public static JwtIdTokenMetrics getIdTokenMetrics(HttpSecurity httpSecurity) {
+        JwtIdTokenMetrics idTokenMetrics = httpSecurity.getSharedObject(JwtIdTokenMetrics.class);
+        if (idTokenMetrics == null) {
+            idTokenMetrics = AuthenticationUtils.getOptionalBean(httpSecurity,
+                JwtIdTokenMetrics.class);
+            if (idTokenMetrics == null) {
+                idTokenMetrics = new JwtIdTokenMetrics();
+            }
+            httpSecurity.setSharedObject(JwtIdTokenMetrics.class, idTokenMetrics);
+        }
+        return idTokenMetrics;
+    }
 }
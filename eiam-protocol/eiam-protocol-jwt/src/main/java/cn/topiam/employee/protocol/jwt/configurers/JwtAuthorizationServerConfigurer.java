@@ -33,6 +33,7 @@ import cn.topiam.employee.protocol.code.EndpointMatcher;
 import cn.topiam.employee.protocol.code.UnauthorizedAuthenticationEntryPoint;
 import cn.topiam.employee.protocol.code.configurer.AbstractConfigurer;
 import cn.topiam.employee.protocol.jwt.context.JwtAuthorizationServerContextFilter;
+import static cn.topiam.employee.protocol.code.configurer.AuthenticationUtils.getApplicationEntitlementService;
 import static cn.topiam.employee.protocol.code.configurer.AuthenticationUtils.getApplicationServiceLoader;
 
 /**
@@ -79,7 +80,7 @@ public final class JwtAuthorizationServerConfigurer extends
         //@formatter:off
         //Authorization server context filter
         ApplicationServiceLoader applicationServiceLoader = getApplicationServiceLoader(httpSecurity);
-        JwtAuthorizationServerContextFilter authorizationServerContextFilter = new JwtAuthorizationServerContextFilter(this.endpointMatchers, applicationServiceLoader);
+        JwtAuthorizationServerContextFilter authorizationServerContextFilter = new JwtAuthorizationServerContextFilter(this.endpointMatchers, applicationServiceLoader, getApplicationEntitlementService(httpSecurity));
         httpSecurity.addFilterAfter(postProcess(authorizationServerContextFilter), SecurityContextHolderFilter.class);
         this.configurers.values().forEach(configurer -> configurer.configure(httpSecurity));
         //@formatter:on
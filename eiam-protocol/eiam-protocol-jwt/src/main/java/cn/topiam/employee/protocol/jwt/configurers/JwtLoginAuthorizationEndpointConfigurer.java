@@ -32,6 +32,8 @@ import cn.topiam.employee.protocol.code.configurer.AuthenticationUtils;
 import cn.topiam.employee.protocol.jwt.JwtAuthorizationService;
 import cn.topiam.employee.protocol.jwt.authentication.JwtLoginAuthenticationTokenProvider;
 import cn.topiam.employee.protocol.jwt.endpoint.JwtLoginAuthenticationEndpointFilter;
+import cn.topiam.employee.protocol.jwt.token.JwtIdTokenMetrics;
+import cn.topiam.employee.protocol.jwt.token.JwtSigningKeyRegistry;
 import static cn.topiam.employee.common.constant.ProtocolConstants.JwtEndpointConstants.IDP_JWT_SSO_INITIATOR;
 import static cn.topiam.employee.common.constant.ProtocolConstants.JwtEndpointConstants.JWT_SSO_PATH;
 
@@ -62,8 +64,11 @@ public class JwtLoginAuthorizationEndpointConfigurer extends AbstractConfigurer
             new AntPathRequestMatcher(IDP_JWT_SSO_INITIATOR, HttpMethod.GET.name()),
             new AntPathRequestMatcher(JWT_SSO_PATH, HttpMethod.GET.name()),
             new AntPathRequestMatcher(JWT_SSO_PATH, HttpMethod.POST.name()));
-        httpSecurity
-            .authenticationProvider(new JwtLoginAuthenticationTokenProvider(authorizationService));
+        JwtSigningKeyRegistry signingKeyRegistry = JwtAuthenticationUtils
+            .getSigningKeyRegistry(httpSecurity);
+        JwtIdTokenMetrics idTokenMetrics = JwtAuthenticationUtils.getIdTokenMetrics(httpSecurity);
+        httpSecurity.authenticationProvider(new JwtLoginAuthenticationTokenProvider(
+            authorizationService, signingKeyRegistry, idTokenMetrics));
     }
 
     /**
@@ -34,6 +34,12 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class IdTokenContext {
 
+    /**
+     * 应用ID
+     */
+    @NonNull
+    private String   appId;
+
     @NonNull
     private String   issuer;
 
@@ -22,7 +22,6 @@ import java.time.Instant;
 import java.util.Date;
 
 import cn.topiam.employee.protocol.jwt.exception.IdTokenGenerateException;
-import cn.topiam.employee.support.util.CertUtils;
 
 import io.jsonwebtoken.Jwts;
 
@@ -33,14 +32,34 @@ import io.jsonwebtoken.Jwts;
  */
 public class JwtIdTokenGenerator implements IdTokenGenerator {
 
+    /**
+     * 签名密钥
+     */
+    private final JwtSigningKeyRegistry signingKeyRegistry;
+
+    /**
+     * 签发指标
+     */
+    private final JwtIdTokenMetrics     metrics;
+
+    public JwtIdTokenGenerator() {
+        this(new JwtSigningKeyRegistry(), new JwtIdTokenMetrics());
+    }
+
+    public JwtIdTokenGenerator(JwtSigningKeyRegistry signingKeyRegistry,
+                               JwtIdTokenMetrics metrics) {
+        this.signingKeyRegistry = signingKeyRegistry;
+        this.metrics = metrics;
+    }
+
     @Override
     public IdToken generate(IdTokenContext context) {
         //@formatter:off
         try{
             Instant issuedAt = Instant.now();
             Instant expiresAt=issuedAt.plus(context.getIdTokenTimeToLive());
-            // 生成私钥
-            PrivateKey rsaPrivateKey = CertUtils.readPrivateKey(context.getPrivateKey(), "");
+            // 获取私钥
+            PrivateKey rsaPrivateKey = signingKeyRegistry.getPrivateKey(context.getAppId(), context.getPrivateKey());
             // 生成 JWT 令牌
             String tokenValue = Jwts.builder().issuer(context.getIssuer())
                     .issuedAt(new Date(issuedAt.toEpochMilli()))
@@ -49,6 +68,7 @@ public class JwtIdTokenGenerator implements IdTokenGenerator {
                     .expiration(new Date(expiresAt.toEpochMilli()))
                     .signWith(rsaPrivateKey, Jwts.SIG.RS256)
                     .compact();
+            metrics.signed();
             return IdToken.builder().tokenValue(tokenValue)
                     .issuedAt(issuedAt)
                     .expiresAt(expiresAt)
@@ -58,4 +78,22 @@ public class JwtIdTokenGenerator implements IdTokenGenerator {
         }
         //@formatter:off
     }
+
+    /**
+     * 获取已签发 ID Token 数量
+     *
+     * @return {@link Long}
+     */
+    public long getSignedCount() {
+        return metrics.getSignedCount();
+    }
+
+    /**
+     * 获取签名密钥注册表
+     *
+     * @return {@link JwtSigningKeyRegistry}
+     */
+    public JwtSigningKeyRegistry getSigningKeyRegistry() {
+        return signingKeyRegistry;
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * eiam-protocol-jwt - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.jwt.token;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * JWT ID Token 签发指标
+ * <p>
+ * 多个 {@link JwtIdTokenGenerator} 共享同一实例，注册为 Bean 后由 Spring Boot 绑定到应用指标注册表。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/20 10:15
+ */
+public class JwtIdTokenMetrics implements MeterBinder {
+
+    /**
+     * 签发数量
+     */
+    private final LongAdder signedCount = new LongAdder();
+
+    /**
+     * 记录签发
+     */
+    public void signed() {
+        signedCount.increment();
+    }
+
+    /**
+     * 获取已签发 ID Token 数量
+     *
+     * @return {@link Long}
+     */
+    public long getSignedCount() {
+        return signedCount.sum();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("eiam.jwt.id-token.signed", signedCount, LongAdder::sum)
+            .description("JWT id token signed count").register(registry);
+    }
+}
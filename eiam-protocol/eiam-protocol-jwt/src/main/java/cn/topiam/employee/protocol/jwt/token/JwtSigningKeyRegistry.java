@@ -0,0 +1,89 @@
+/*
+ * eiam-protocol-jwt - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.protocol.jwt.token;
+
+import java.security.PrivateKey;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cn.topiam.employee.application.event.ApplicationConfigEventListener;
+import cn.topiam.employee.support.util.CertUtils;
+
+/**
+ * JWT 签名密钥注册表
+ * <p>
+ * 按应用缓存已解析的私钥，私钥 PEM 变化（证书轮换）时重新解析，应用配置刷新、删除时清除。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 23:46
+ */
+public class JwtSigningKeyRegistry implements ApplicationConfigEventListener {
+
+    /**
+     * key: appId
+     */
+    private final Map<String, SigningKey> signingKeys = new ConcurrentHashMap<>(16);
+
+    /**
+     * 获取私钥
+     *
+     * @param appId {@link String}
+     * @param privateKeyPem {@link String}
+     * @return {@link PrivateKey}
+     */
+    public PrivateKey getPrivateKey(String appId, String privateKeyPem) {
+        SigningKey signingKey = signingKeys.get(appId);
+        if (!Objects.isNull(signingKey) && signingKey.pem().equals(privateKeyPem)) {
+            return signingKey.privateKey();
+        }
+        signingKey = new SigningKey(privateKeyPem, readPrivateKey(privateKeyPem));
+        signingKeys.put(appId, signingKey);
+        return signingKey.privateKey();
+    }
+
+    /**
+     * 清除应用私钥
+     *
+     * @param appId {@link String}
+     */
+    public void invalidate(String appId) {
+        signingKeys.remove(appId);
+    }
+
+    /**
+     * 刷新
+     *
+     * @param appId {@link String}
+     */
+    @Override
+    public void refresh(String appId) {
+        invalidate(appId);
+    }
+
+    private static PrivateKey readPrivateKey(String privateKeyPem) {
+        try {
+            return CertUtils.readPrivateKey(privateKeyPem, "");
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private record SigningKey(String pem, PrivateKey privateKey) {
+    }
+}
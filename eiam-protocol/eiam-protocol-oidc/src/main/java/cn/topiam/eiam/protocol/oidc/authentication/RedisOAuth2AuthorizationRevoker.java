@@ -0,0 +1,129 @@
+/*
+ * eiam-protocol-oidc - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.eiam.protocol.oidc.authentication;
+
+import java.util.*;
+
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+import cn.topiam.eiam.protocol.oidc.token.TokenIntrospectionEventUtils;
+import cn.topiam.employee.protocol.code.AuthorizationRevoker;
+
+import lombok.Setter;
+import static cn.topiam.eiam.protocol.oidc.authentication.RedisOAuth2AuthorizationService.*;
+import static cn.topiam.eiam.protocol.oidc.constant.OidcProtocolConstants.OIDC_PROTOCOL_CACHE_PREFIX;
+
+/**
+ * OIDC 授权批量撤销
+ * <p>
+ * 与 {@link RedisOAuth2AuthorizationService} 使用相同的存储结构，按用户、客户端授权集合找到授权后分批流水线删除授权及其令牌索引。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 13:20
+ */
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class RedisOAuth2AuthorizationRevoker implements AuthorizationRevoker {
+
+    /**
+     * 每批处理授权数量
+     */
+    private static final int                      BATCH_SIZE = 500;
+
+    private final RedisOperations<String, String> redisOperations;
+
+    @Setter
+    private String                                prefix     = OIDC_PROTOCOL_CACHE_PREFIX;
+
+    public RedisOAuth2AuthorizationRevoker(RedisOperations<String, String> redisOperations) {
+        Assert.notNull(redisOperations, "redisOperations mut not be null");
+        this.redisOperations = redisOperations;
+    }
+
+    @Override
+    public long revokeByPrincipalNames(Collection<String> principalNames) {
+        List<String> keys = principalNames.stream()
+            .map(name -> prefix + PRINCIPAL_TO_AUTHORIZATIONS + name).toList();
+        long revoked = revoke(members(keys));
+        redisOperations.delete(keys);
+        return revoked;
+    }
+
+    @Override
+    public long revokeByApp(String appId, String clientId) {
+        //OIDC 客户端授权集合以应用ID作为客户端ID
+        String key = prefix + CID_TO_AUTHORIZATIONS + appId;
+        long revoked = revoke(members(List.of(key)));
+        redisOperations.delete(key);
+        return revoked;
+    }
+
+    /**
+     * 撤销授权
+     *
+     * @param authorizationIds {@link Collection}
+     * @return {@link Long}
+     */
+    private long revoke(Collection<String> authorizationIds) {
+        long revoked = 0;
+        for (List<String> batch : ListUtils.partition(new ArrayList<>(authorizationIds),
+            BATCH_SIZE)) {
+            List<String> correlationKeys = batch.stream()
+                .map(id -> prefix + ID_TO_CORRELATIONS + id).toList();
+            List<String> keys = new ArrayList<>(correlationKeys);
+            keys.addAll(members(correlationKeys));
+            Long deleted = redisOperations
+                .delete(batch.stream().map(id -> prefix + ID_TO_AUTHORIZATION + id).toList());
+            redisOperations.delete(keys);
+            revoked += Objects.isNull(deleted) ? 0 : deleted;
+            //清除集群内令牌内省缓存
+            batch.forEach(TokenIntrospectionEventUtils::evict);
+        }
+        return revoked;
+    }
+
+    /**
+     * 流水线读取多个集合成员
+     *
+     * @param keys {@link List}
+     * @return {@link Set}
+     */
+    private Set<String> members(List<String> keys) {
+        Set<String> result = new HashSet<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        List<Object> members = redisOperations.executePipelined(new SessionCallback<>() {
+            @Override
+            public Object execute(@NonNull RedisOperations operations) throws DataAccessException {
+                keys.forEach(key -> operations.opsForSet().members(key));
+                return null;
+            }
+        });
+        for (Object member : members) {
+            if (member instanceof Collection<?> collection) {
+                collection.forEach(item -> result.add(item.toString()));
+            }
+        }
+        return result;
+    }
+}
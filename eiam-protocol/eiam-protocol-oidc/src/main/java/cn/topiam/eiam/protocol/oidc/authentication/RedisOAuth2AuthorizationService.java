@@ -17,16 +17,16 @@
  */
 package cn.topiam.eiam.protocol.oidc.authentication;
 
-import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationCode;
@@ -35,12 +35,16 @@ import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
 import org.springframework.util.Assert;
-import org.springframework.util.CollectionUtils;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import cn.topiam.eiam.protocol.oidc.jackson.OidcProtocolJackson2Module;
+import cn.topiam.eiam.protocol.oidc.token.TokenIntrospectionEventUtils;
+import cn.topiam.employee.protocol.code.codec.AuthorizationCodec;
+import cn.topiam.employee.protocol.code.codec.AuthorizationCodecProperties;
+import cn.topiam.employee.protocol.code.codec.CompactAuthorizationCodec;
+import cn.topiam.employee.protocol.code.codec.JacksonAuthorizationCodec;
+import cn.topiam.employee.protocol.code.util.TokenKeyUtils;
 import cn.topiam.employee.support.jackjson.SupportJackson2Module;
 
 import lombok.Setter;
@@ -57,41 +61,86 @@ import static cn.topiam.eiam.protocol.oidc.constant.OidcProtocolConstants.OIDC_P
                     "AlibabaClassNamingShouldBeCamel" })
 public class RedisOAuth2AuthorizationService implements OAuth2AuthorizationService {
 
-    private static final String                   ID_TO_AUTHORIZATION      = "id_to_authorization:";
-
-    private static final String                   STATE_TO_AUTHORIZATION   = "state_to_authorization:";
-
-    private static final String                   CODE_TO_AUTHORIZATION    = "code_to_authorization:";
-
-    private static final String                   ACCESS_TO_AUTHORIZATION  = "access_to_authorization:";
-
-    private static final String                   REFRESH_TO_AUTHORIZATION = "refresh_to_authorization:";
-
-    private static final String                   ID_TO_CORRELATIONS       = "id_to_correlations:";
-
-    private static final String                   UID_TO_AUTHORIZATIONS    = "uid_to_authorizations:";
-
-    private static final String                   CID_TO_AUTHORIZATIONS    = "cid_to_authorizations:";
-
-    private static final MessageDigest            DIGEST;
+    static final String                           ID_TO_AUTHORIZATION         = "id_to_authorization:";
+
+    private static final String                   STATE_TO_AUTHORIZATION      = "state_to_authorization:";
+
+    private static final String                   CODE_TO_AUTHORIZATION       = "code_to_authorization:";
+
+    private static final String                   ACCESS_TO_AUTHORIZATION     = "access_to_authorization:";
+
+    private static final String                   REFRESH_TO_AUTHORIZATION    = "refresh_to_authorization:";
+
+    static final String                           ID_TO_CORRELATIONS          = "id_to_correlations:";
+
+    private static final String                   UID_TO_AUTHORIZATIONS       = "uid_to_authorizations:";
+
+    static final String                           CID_TO_AUTHORIZATIONS       = "cid_to_authorizations:";
+
+    static final String                           PRINCIPAL_TO_AUTHORIZATIONS = "principal_to_authorizations:";
+
+    /**
+     * 保存授权脚本
+     * <p>
+     * 脚本访问多个 key，令牌索引按令牌值查找、客户端及用户授权集合由多个授权共享，无法通过 hash tag 落在同一槽位，
+     * Redis Cluster 下执行会返回 CROSSSLOT，集群模式改为逐条写入，见 {@link #saveIndividually}。
+     * <p>
+     * KEYS[1]: 授权信息，KEYS[2]: 客户端授权集合，KEYS[3]: 授权关联集合，KEYS[4]: 用户授权集合，KEYS[5..n]: 令牌索引
+     * <p>
+     * ARGV[1]: 授权信息，ARGV[2]: 授权ID，ARGV[3]: 最大过期时间，ARGV[4]: 用户授权集合过期时间，ARGV[5]: access_token 索引前缀，
+     * ARGV[6..n+1]: 对应令牌索引过期时间，ARGV[n+2..]: 对应令牌索引 key（未经 key 序列化），写入授权关联集合，删除时按 key 原样传回
+     * <p>
+     * 返回值：写入前已存在 access_token 索引（令牌刷新、撤销）时为 1，否则为 0
+     */
+    private static final RedisScript<Long>        SAVE_SCRIPT                 = new DefaultRedisScript<>("""
+        local replaced = 0
+        for _, member in ipairs(redis.call('SMEMBERS', KEYS[3])) do
+            if string.sub(member, 1, #ARGV[5]) == ARGV[5] then
+                replaced = 1
+            end
+        end
+        redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3])
+        redis.call('SADD', KEYS[2], ARGV[2])
+        redis.call('EXPIRE', KEYS[2], ARGV[3])
+        redis.call('SADD', KEYS[4], ARGV[2])
+        if redis.call('TTL', KEYS[4]) < tonumber(ARGV[4]) then
+            redis.call('EXPIRE', KEYS[4], ARGV[4])
+        end
+        local count = #KEYS - 4
+        for i = 5, #KEYS do
+            redis.call('SET', KEYS[i], ARGV[2], 'EX', ARGV[i + 1])
+            redis.call('SADD', KEYS[3], ARGV[i + 1 + count])
+        end
+        if #KEYS > 4 then
+            redis.call('EXPIRE', KEYS[3], ARGV[3])
+        end
+        return replaced
+        """, Long.class);
 
     private final RedisOperations<String, String> redisOperations;
 
     private final RegisteredClientRepository      clientRepository;
 
+    private ObjectMapper                          objectMapper                = new ObjectMapper();
+
+    /**
+     * 授权信息编解码，默认按 JSON 写入，兼容读取紧凑格式
+     */
     @Setter
-    private ObjectMapper                          objectMapper             = new ObjectMapper();
+    private AuthorizationCodec<OAuth2Authorization> authorizationCodec;
+
+    /**
+     * 授权信息写入格式
+     */
+    private AuthorizationCodecProperties.Format     codecFormat                 = AuthorizationCodecProperties.Format.JSON;
 
     @Setter
-    private String                                prefix                   = OIDC_PROTOCOL_CACHE_PREFIX;
+    private String                                prefix                      = OIDC_PROTOCOL_CACHE_PREFIX;
 
-    static {
-        try {
-            DIGEST = MessageDigest.getInstance("SHA-256");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
-    }
+    /**
+     * 是否为 Redis Cluster
+     */
+    private volatile Boolean                      cluster;
 
     public RedisOAuth2AuthorizationService(RedisOperations<String, String> redisOperations,
                                            RegisteredClientRepository clientRepository) {
@@ -102,6 +151,34 @@ public class RedisOAuth2AuthorizationService implements OAuth2AuthorizationServi
         ClassLoader classLoader = this.getClass().getClassLoader();
         objectMapper.registerModules(SupportJackson2Module.getModules(classLoader));
         objectMapper.registerModules(OidcProtocolJackson2Module.getModules());
+        this.authorizationCodec = createAuthorizationCodec(objectMapper);
+    }
+
+    /**
+     * 设置 ObjectMapper，同时重建默认授权信息编解码
+     *
+     * @param objectMapper {@link ObjectMapper}
+     */
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        Assert.notNull(objectMapper, "objectMapper must not be null");
+        this.objectMapper = objectMapper;
+        this.authorizationCodec = createAuthorizationCodec(objectMapper);
+    }
+
+    /**
+     * 设置授权信息写入格式，同时重建默认授权信息编解码
+     *
+     * @param codecFormat {@link AuthorizationCodecProperties.Format}
+     */
+    public void setCodecFormat(AuthorizationCodecProperties.Format codecFormat) {
+        Assert.notNull(codecFormat, "codecFormat must not be null");
+        this.codecFormat = codecFormat;
+        this.authorizationCodec = createAuthorizationCodec(objectMapper);
+    }
+
+    private AuthorizationCodec<OAuth2Authorization> createAuthorizationCodec(ObjectMapper objectMapper) {
+        return CompactAuthorizationCodec.create(
+            new JacksonAuthorizationCodec<>(objectMapper, OAuth2Authorization.class), codecFormat);
     }
 
     @Override
@@ -110,75 +187,157 @@ public class RedisOAuth2AuthorizationService implements OAuth2AuthorizationServi
         RegisteredClient registeredClient = clientRepository.findById(clientId);
         Assert.notNull(registeredClient, "Registered client must not be null");
 
+        Instant now = Instant.now();
         Duration codeTtl = registeredClient.getTokenSettings().getAuthorizationCodeTimeToLive();
         Duration accessTokenTtl = registeredClient.getTokenSettings().getAccessTokenTimeToLive();
         Duration refreshTokenTtl = registeredClient.getTokenSettings().getRefreshTokenTimeToLive();
-        // idToken过期时间
-        // TODO 等 spring-authorization-server 授权服务器支持后更改
+        // idToken 未设置过期时间时的默认值
         Duration idTokenTtl = Duration.of(30, ChronoUnit.MINUTES);
         Duration max = authorization.getRefreshToken() == null ? accessTokenTtl
             : Collections.max(Arrays.asList(accessTokenTtl, refreshTokenTtl));
 
         final String authorizationId = authorization.getId();
-        final String idToAuthorizationKey = getIdToAuthorizationKey(authorizationId);
-        final String cidToAuthorizationsKey = getCidToAuthorizations(clientId);
-
-        redisOperations.opsForValue().set(idToAuthorizationKey, write(authorization),
-            max.getSeconds(), TimeUnit.SECONDS);
-
-        redisOperations.opsForSet().add(cidToAuthorizationsKey, authorizationId);
-        redisOperations.expire(cidToAuthorizationsKey, max);
-
-        Set<String> correlationValues = new HashSet<>();
+        //索引 key -> 过期时间，按令牌实际过期时间计算
+        Map<String, Duration> correlations = new LinkedHashMap<>();
         //state
         Optional.ofNullable(authorization.getAttribute(OAuth2ParameterNames.STATE))
-            .ifPresent(token -> {
-                final String stateToAuthorizationKey = getStateToAuthorization((String) token);
-                redisOperations.opsForValue().set(stateToAuthorizationKey, authorizationId,
-                    codeTtl.getSeconds(), TimeUnit.SECONDS);
-                correlationValues.add(stateToAuthorizationKey);
-            });
+            .ifPresent(token -> correlations.put(getStateToAuthorization((String) token), codeTtl));
         //授权码
         Optional.ofNullable(authorization.getToken(OAuth2AuthorizationCode.class))
-            .ifPresent(token -> {
-                final String codeToAuthorizationKey = getCodeToAuthorization(
-                    token.getToken().getTokenValue());
-                redisOperations.opsForValue().set(codeToAuthorizationKey, authorizationId,
-                    codeTtl.getSeconds(), TimeUnit.SECONDS);
-                correlationValues.add(codeToAuthorizationKey);
-            });
+            .ifPresent(token -> correlations.put(
+                getCodeToAuthorization(token.getToken().getTokenValue()),
+                getTimeToLive(token, now, codeTtl)));
         //access_token
-        Optional.ofNullable(authorization.getAccessToken()).ifPresent(token -> {
-            final String accessToAuthorization = getAccessTokenToAuthorization(
-                token.getToken().getTokenValue());
-            redisOperations.opsForValue().set(accessToAuthorization, authorizationId,
-                accessTokenTtl.getSeconds(), TimeUnit.SECONDS);
-            correlationValues.add(accessToAuthorization);
-        });
+        Optional.ofNullable(authorization.getAccessToken())
+            .ifPresent(token -> correlations.put(
+                getAccessTokenToAuthorization(token.getToken().getTokenValue()),
+                getTimeToLive(token, now, accessTokenTtl)));
         //refresh_token
-        Optional.ofNullable(authorization.getRefreshToken()).ifPresent(token -> {
-            final String refreshToAuthorization = getRefreshTokenToAuthorization(
-                token.getToken().getTokenValue());
-            redisOperations.opsForValue().set(refreshToAuthorization, authorizationId,
-                refreshTokenTtl.getSeconds(), TimeUnit.SECONDS);
-            correlationValues.add(refreshToAuthorization);
-        });
+        Optional.ofNullable(authorization.getRefreshToken())
+            .ifPresent(token -> correlations.put(
+                getRefreshTokenToAuthorization(token.getToken().getTokenValue()),
+                getTimeToLive(token, now, refreshTokenTtl)));
         //id_token
         Optional
             .ofNullable(authorization
                 .getToken(org.springframework.security.oauth2.core.oidc.OidcIdToken.class))
-            .ifPresent(token -> {
-                final String idTokenToAuthorization = getIdTokenToAuthorization(
-                    token.getToken().getTokenValue());
-                redisOperations.opsForValue().set(idTokenToAuthorization, authorizationId,
-                    idTokenTtl.getSeconds(), TimeUnit.SECONDS);
-                correlationValues.add(idTokenToAuthorization);
-            });
-        if (!CollectionUtils.isEmpty(correlationValues)) {
-            redisOperations.opsForSet().add(getIdToCorrelations(authorizationId),
-                correlationValues.toArray(String[]::new));
-            redisOperations.expire(getIdToCorrelations(authorizationId), max);
+            .ifPresent(token -> correlations.put(
+                getIdTokenToAuthorization(token.getToken().getTokenValue()),
+                getTimeToLive(token, now, idTokenTtl)));
+        for (Duration ttl : correlations.values()) {
+            max = ttl.compareTo(max) > 0 ? ttl : max;
+        }
+
+        //@formatter:off
+        List<String> keys = new ArrayList<>();
+        keys.add(getIdToAuthorizationKey(authorizationId));
+        keys.add(getCidToAuthorizations(clientId));
+        keys.add(getIdToCorrelations(authorizationId));
+        keys.add(getPrincipalToAuthorizations(authorization.getPrincipalName()));
+        keys.addAll(correlations.keySet());
+        List<String> args = new ArrayList<>();
+        args.add(write(authorization));
+        args.add(authorizationId);
+        args.add(String.valueOf(getSeconds(max)));
+        args.add(String.valueOf(getSeconds(max)));
+        args.add(prefix + ACCESS_TO_AUTHORIZATION);
+        correlations.values().forEach(ttl -> args.add(String.valueOf(getSeconds(ttl))));
+        args.addAll(correlations.keySet());
+        //@formatter:on
+        //单次往返原子写入授权信息及全部索引，集群模式下逐条写入
+        Long replaced = isCluster()
+            ? saveIndividually(authorization, args.get(0), correlations, max)
+            : redisOperations.execute(SAVE_SCRIPT, keys, args.toArray());
+        //已签发的令牌被刷新、撤销时清除集群内旧令牌的内省缓存，首次签发无需通知
+        if (Long.valueOf(1L).equals(replaced)) {
+            TokenIntrospectionEventUtils.evict(authorizationId);
+        }
+    }
+
+    /**
+     * 获取令牌剩余生存时间，令牌未设置过期时间时使用默认值
+     *
+     * @param token {@link OAuth2Authorization.Token}
+     * @param now {@link Instant}
+     * @param defaultTtl {@link Duration}
+     * @return {@link Duration}
+     */
+    private static Duration getTimeToLive(OAuth2Authorization.Token<?> token, Instant now,
+                                          Duration defaultTtl) {
+        Instant expiresAt = token.getToken().getExpiresAt();
+        if (Objects.isNull(expiresAt)) {
+            return defaultTtl;
+        }
+        return Duration.between(now, expiresAt);
+    }
+
+    /**
+     * SET EX 不允许小于 1 秒
+     *
+     * @param ttl {@link Duration}
+     * @return {@link long}
+     */
+    private static long getSeconds(Duration ttl) {
+        return Math.max(ttl.getSeconds(), 1L);
+    }
+
+    /**
+     * 逐条写入授权信息及全部索引，与 {@link #SAVE_SCRIPT} 行为一致
+     * <p>
+     * 用于 Redis Cluster：不保证原子性，写入中途失败时可能残留部分索引，索引均设置了过期时间，到期后自动清除。
+     *
+     * @param authorization {@link OAuth2Authorization}
+     * @param value {@link String} 已编码的授权信息
+     * @param correlations {@link Map} 令牌索引 key -> 过期时间
+     * @param max {@link Duration} 最大过期时间
+     * @return {@link Long} 写入前已存在 access_token 索引时为 1，否则为 0
+     */
+    private Long saveIndividually(OAuth2Authorization authorization, String value,
+                                  Map<String, Duration> correlations, Duration max) {
+        String authorizationId = authorization.getId();
+        String idToCorrelationsKey = getIdToCorrelations(authorizationId);
+        String cidToAuthorizationsKey = getCidToAuthorizations(
+            authorization.getRegisteredClientId());
+        String principalToAuthorizationsKey = getPrincipalToAuthorizations(
+            authorization.getPrincipalName());
+        Duration timeToLive = Duration.ofSeconds(getSeconds(max));
+        String accessTokenPrefix = prefix + ACCESS_TO_AUTHORIZATION;
+        Set<String> members = redisOperations.opsForSet().members(idToCorrelationsKey);
+        boolean replaced = !Objects.isNull(members)
+                           && members.stream().anyMatch(member -> member.startsWith(accessTokenPrefix));
+        redisOperations.opsForValue().set(getIdToAuthorizationKey(authorizationId), value,
+            timeToLive);
+        redisOperations.opsForSet().add(cidToAuthorizationsKey, authorizationId);
+        redisOperations.expire(cidToAuthorizationsKey, timeToLive);
+        redisOperations.opsForSet().add(principalToAuthorizationsKey, authorizationId);
+        Long principalTtl = redisOperations.getExpire(principalToAuthorizationsKey);
+        if (Objects.isNull(principalTtl) || principalTtl < timeToLive.getSeconds()) {
+            redisOperations.expire(principalToAuthorizationsKey, timeToLive);
+        }
+        correlations.forEach((key, ttl) -> {
+            redisOperations.opsForValue().set(key, authorizationId,
+                Duration.ofSeconds(getSeconds(ttl)));
+            redisOperations.opsForSet().add(idToCorrelationsKey, key);
+        });
+        if (!correlations.isEmpty()) {
+            redisOperations.expire(idToCorrelationsKey, timeToLive);
         }
+        return replaced ? 1L : 0L;
+    }
+
+    /**
+     * 是否为 Redis Cluster，首次调用时检测
+     *
+     * @return {@link Boolean}
+     */
+    private boolean isCluster() {
+        Boolean result = cluster;
+        if (Objects.isNull(result)) {
+            result = Boolean.TRUE.equals(redisOperations.execute(
+                (RedisCallback<Boolean>) connection -> connection instanceof RedisClusterConnection));
+            cluster = result;
+        }
+        return result;
     }
 
     @Override
@@ -194,6 +353,10 @@ public class RedisOAuth2AuthorizationService implements OAuth2AuthorizationServi
 
         final String clientId = authorization.getRegisteredClientId();
         redisOperations.opsForSet().remove(getCidToAuthorizations(clientId), authorization.getId());
+        redisOperations.opsForSet().remove(
+            getPrincipalToAuthorizations(authorization.getPrincipalName()), authorization.getId());
+        //清除集群内令牌内省缓存
+        TokenIntrospectionEventUtils.evict(authorization.getId());
     }
 
     @Override
@@ -272,26 +435,20 @@ public class RedisOAuth2AuthorizationService implements OAuth2AuthorizationServi
         return prefix + CID_TO_AUTHORIZATIONS + clientId;
     }
 
+    private String getPrincipalToAuthorizations(String principalName) {
+        return prefix + PRINCIPAL_TO_AUTHORIZATIONS + principalName;
+    }
+
     protected static String generateKey(String rawKey) {
-        byte[] bytes = DIGEST.digest(rawKey.getBytes(StandardCharsets.UTF_8));
-        return String.format("%032x", new BigInteger(1, bytes));
+        return TokenKeyUtils.generateKey(rawKey);
     }
 
-    private String write(Object data) {
-        try {
-            return this.objectMapper.writeValueAsString(data);
-        } catch (Exception ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+    private String write(OAuth2Authorization data) {
+        return this.authorizationCodec.encode(data);
     }
 
     private OAuth2Authorization parse(String data) {
-        try {
-            return this.objectMapper.readValue(data, new TypeReference<>() {
-            });
-        } catch (Exception ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return this.authorizationCodec.decode(data);
     }
 
 }
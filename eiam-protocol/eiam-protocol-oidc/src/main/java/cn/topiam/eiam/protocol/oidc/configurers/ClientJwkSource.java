@@ -19,6 +19,9 @@ package cn.topiam.eiam.protocol.oidc.configurers;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import com.nimbusds.jose.KeySourceException;
 import com.nimbusds.jose.jwk.JWK;
@@ -29,15 +32,24 @@ import com.nimbusds.jose.proc.SecurityContext;
 
 import cn.topiam.employee.application.context.ApplicationContext;
 import cn.topiam.employee.application.context.ApplicationContextHolder;
+import cn.topiam.employee.application.event.ApplicationConfigEventListener;
 import cn.topiam.employee.application.oidc.model.OidcProtocolConfig;
 
 /**
  * 客户端JWK
+ * <p>
+ * 按应用缓存 {@link JWKSet}，以证书密钥ID作为版本，证书变更后重建。
  *
  * @author TopIAM
  * Created by support@topiam.cn on 2023/6/27 22:50
  */
-public class ClientJwkSource implements JWKSource<SecurityContext> {
+public class ClientJwkSource implements JWKSource<SecurityContext>,
+                             ApplicationConfigEventListener {
+
+    /**
+     * key: appId
+     */
+    private final Map<String, VersionedJwkSet> jwkSets = new ConcurrentHashMap<>(16);
 
     @Override
     public List<JWK> get(JWKSelector jwkSelector,
@@ -47,6 +59,48 @@ public class ClientJwkSource implements JWKSource<SecurityContext> {
         Map<String, Object> config = applicationContext.getConfig();
         OidcProtocolConfig protocolConfig = (OidcProtocolConfig) config
             .get(OidcProtocolConfig.class.getName());
-        return jwkSelector.select(new JWKSet(protocolConfig.getJwks()));
+        return jwkSelector.select(getJwkSet(applicationContext.getAppId(), protocolConfig));
+    }
+
+    /**
+     * 获取应用 JWKSet
+     *
+     * @param appId {@link String}
+     * @param protocolConfig {@link OidcProtocolConfig}
+     * @return {@link JWKSet}
+     */
+    private JWKSet getJwkSet(String appId, OidcProtocolConfig protocolConfig) {
+        List<JWK> jwks = protocolConfig.getJwks();
+        VersionedJwkSet jwkSet = jwkSets.get(appId);
+        //同一份配置直接返回
+        if (!Objects.isNull(jwkSet) && jwkSet.jwks() == jwks) {
+            return jwkSet.jwkSet();
+        }
+        String version = getVersion(jwks);
+        if (!Objects.isNull(jwkSet) && jwkSet.version().equals(version)) {
+            jwkSet = new VersionedJwkSet(version, jwks, jwkSet.jwkSet());
+        } else {
+            jwkSet = new VersionedJwkSet(version, jwks, new JWKSet(jwks));
+        }
+        jwkSets.put(appId, jwkSet);
+        return jwkSet.jwkSet();
+    }
+
+    /**
+     * 版本号，证书ID即密钥ID，重新生成证书后变化
+     *
+     * @param jwks {@link List}
+     * @return {@link String}
+     */
+    private static String getVersion(List<JWK> jwks) {
+        return jwks.stream().map(JWK::getKeyID).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public void refresh(String appId) {
+        jwkSets.remove(appId);
+    }
+
+    private record VersionedJwkSet(String version, List<JWK> jwks, JWKSet jwkSet) {
     }
 }
@@ -19,6 +19,7 @@ package cn.topiam.eiam.protocol.oidc.configurers;
 
 import java.util.*;
 
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.GenericApplicationListenerAdapter;
 import org.springframework.context.event.SmartApplicationListener;
@@ -52,6 +53,10 @@ import cn.topiam.employee.common.constant.ProtocolConstants;
 import cn.topiam.employee.protocol.code.EndpointMatcher;
 import cn.topiam.employee.protocol.code.UnauthorizedAuthenticationEntryPoint;
 import cn.topiam.employee.protocol.code.configurer.AbstractConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import static cn.topiam.employee.protocol.code.configurer.AuthenticationUtils.getApplicationEntitlementService;
 import static cn.topiam.employee.protocol.code.configurer.AuthenticationUtils.getApplicationServiceLoader;
 import static cn.topiam.employee.support.security.util.HttpSecurityConfigUtils.getOptionalBean;
 
@@ -114,7 +119,8 @@ public final class OAuth2AuthorizationServerConfigurer extends
         //@formatter:off
         //OIDC 授权服务器上下文过滤器
         ApplicationServiceLoader applicationServiceLoader = getApplicationServiceLoader(httpSecurity);
-        OidcAuthorizationServerContextFilter oidcAuthorizationServerContextFilter = new OidcAuthorizationServerContextFilter(this.endpointMatchers, applicationServiceLoader);
+        MeterRegistry meterRegistry = httpSecurity.getSharedObject(ApplicationContext.class).getBeanProvider(MeterRegistry.class).getIfUnique(SimpleMeterRegistry::new);
+        OidcAuthorizationServerContextFilter oidcAuthorizationServerContextFilter = new OidcAuthorizationServerContextFilter(this.endpointMatchers, applicationServiceLoader, getApplicationEntitlementService(httpSecurity), meterRegistry);
         httpSecurity.addFilterAfter(postProcess(oidcAuthorizationServerContextFilter), SecurityContextHolderFilter.class);
         this.configurers.values().forEach(configurer -> configurer.configure(httpSecurity));
         //Jwk filter
@@ -20,6 +20,8 @@ package cn.topiam.eiam.protocol.oidc.context;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -28,7 +30,6 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.oauth2.server.authorization.context.AuthorizationServerContext;
 import org.springframework.security.oauth2.server.authorization.context.AuthorizationServerContextHolder;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
-import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.Assert;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -37,6 +38,7 @@ import com.alibaba.fastjson2.JSONObject;
 import cn.topiam.employee.application.ApplicationServiceLoader;
 import cn.topiam.employee.application.context.ApplicationContext;
 import cn.topiam.employee.application.context.ApplicationContextHolder;
+import cn.topiam.employee.application.entitlement.ApplicationEntitlementService;
 import cn.topiam.employee.application.exception.AppNotConfigException;
 import cn.topiam.employee.application.exception.AppNotExistException;
 import cn.topiam.employee.application.oidc.OidcApplicationService;
@@ -44,7 +46,6 @@ import cn.topiam.employee.application.oidc.model.OidcProtocolConfig;
 import cn.topiam.employee.common.exception.app.AppAccessDeniedException;
 import cn.topiam.employee.core.context.ContextService;
 import cn.topiam.employee.protocol.code.EndpointMatcher;
-import cn.topiam.employee.support.security.userdetails.Application;
 import cn.topiam.employee.support.security.userdetails.UserDetails;
 import cn.topiam.employee.support.security.util.SecurityUtils;
 import cn.topiam.employee.support.util.IpUtils;
@@ -52,6 +53,8 @@ import cn.topiam.employee.support.util.UrlUtils;
 
 import lombok.Getter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -73,16 +76,43 @@ public final class OidcAuthorizationServerContextFilter extends OncePerRequestFi
     public static final String             SEPARATE = "----------------------------------------------------------";
 
     @Getter
-    private final List<EndpointMatcher>    endpointMatchers;
+    private final List<EndpointMatcher>             endpointMatchers;
 
-    private final ApplicationServiceLoader applicationServiceLoader;
+    private final ApplicationServiceLoader          applicationServiceLoader;
+
+    private final ApplicationEntitlementService     applicationEntitlementService;
+
+    /**
+     * 端点路由
+     */
+    private final OidcEndpointRouter                endpointRouter;
+
+    /**
+     * 应用上下文缓存，key: appCode
+     */
+    private final Map<String, OidcServerContext>    contexts = new ConcurrentHashMap<>(16);
+
+    /**
+     * 过滤器耗时（不含后续过滤器链）
+     */
+    private final Timer                             timer;
 
     public OidcAuthorizationServerContextFilter(List<EndpointMatcher> endpointMatchers,
-                                                ApplicationServiceLoader applicationServiceLoader) {
+                                                ApplicationServiceLoader applicationServiceLoader,
+                                                ApplicationEntitlementService applicationEntitlementService,
+                                                MeterRegistry meterRegistry) {
         Assert.notNull(endpointMatchers, "requestMatchers cannot be null");
         Assert.notNull(applicationServiceLoader, "applicationServiceLoader cannot be null");
+        Assert.notNull(applicationEntitlementService,
+            "applicationEntitlementService cannot be null");
+        Assert.notNull(meterRegistry, "meterRegistry cannot be null");
+        this.timer = Timer.builder("eiam.oidc.authorization-server-context.filter")
+            .description("OIDC authorization server context filter overhead")
+            .register(meterRegistry);
+        this.applicationEntitlementService = applicationEntitlementService;
         this.applicationServiceLoader = applicationServiceLoader;
         this.endpointMatchers = endpointMatchers;
+        this.endpointRouter = new OidcEndpointRouter(endpointMatchers);
     }
 
     @Override
@@ -90,27 +120,17 @@ public final class OidcAuthorizationServerContextFilter extends OncePerRequestFi
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException,
                                                                       IOException {
-        boolean match = false, access = false;
-        Map<String, String> variables = new HashMap<>(16);
-        for (EndpointMatcher endpointMatcher : endpointMatchers) {
-            RequestMatcher requestMatcher = endpointMatcher.getRequestMatcher();
-            if (requestMatcher.matches(request)) {
-                match = true;
-                access = endpointMatcher.getAccess();
-                variables = requestMatcher.matcher(request).getVariables();
-            }
-        }
-        if (!match) {
+        long start = System.nanoTime();
+        OidcEndpointRouter.Route route = endpointRouter.route(request);
+        if (Objects.isNull(route)) {
             filterChain.doFilter(request, response);
             return;
         }
-        String appCode = variables.get(APP_CODE);
+        String appCode = route.appCode();
         //校验访问权限（未登录不校验访问权限）
-        if (access && SecurityUtils.isAuthenticated()) {
+        if (route.access() && SecurityUtils.isAuthenticated()) {
             UserDetails userDetails = SecurityUtils.getCurrentUser();
-            Collection<Application> applications = userDetails.getApplications();
-            if (applications.stream()
-                .noneMatch(application -> application.getCode().equals(appCode))) {
+            if (!applicationEntitlementService.isEntitled(userDetails, appCode)) {
                 response.sendError(HttpServletResponse.SC_FORBIDDEN,
                     new AppAccessDeniedException().getMessage());
                 return;
@@ -131,49 +151,11 @@ public final class OidcAuthorizationServerContextFilter extends OncePerRequestFi
                         "┣ " + SEPARATE;
                 logger.trace(logs);
             }
-            OidcApplicationService applicationService = (OidcApplicationService) applicationServiceLoader.getApplicationServiceByAppCode(appCode);
-            OidcProtocolConfig config = applicationService.getProtocolConfig(appCode);
-            if (Objects.isNull(config)) {
-                throw new AppNotExistException();
-            }
-            if (!config.getConfigured()){
-                throw new AppNotConfigException();
-            }
-            //封装 ProviderSettings
-            StringSubstitutor sub = new StringSubstitutor(variables, "{", "}");
-            AuthorizationServerSettings providerSettings = AuthorizationServerSettings.builder()
-                    .issuer(sub.replace(UrlUtils.format(ContextService.getPortalPublicBaseUrl() + OIDC_AUTHORIZE_PATH)))
-                    .authorizationEndpoint(sub.replace(AUTHORIZATION_ENDPOINT))
-                    .tokenEndpoint(sub.replace(TOKEN_ENDPOINT))
-                    .jwkSetEndpoint(sub.replace(JWK_SET_ENDPOINT))
-                    .oidcClientRegistrationEndpoint(sub.replace(OIDC_CLIENT_REGISTRATION_ENDPOINT))
-                    .tokenIntrospectionEndpoint(sub.replace(TOKEN_INTROSPECTION_ENDPOINT))
-                    .tokenRevocationEndpoint(sub.replace(TOKEN_REVOCATION_ENDPOINT))
-                    .oidcUserInfoEndpoint(sub.replace(OIDC_USER_INFO_ENDPOINT))
-                    .oidcLogoutEndpoint(sub.replace(OIDC_LOGOUT_ENDPOINT))
-                    .deviceAuthorizationEndpoint(sub.replace(DEVICE_AUTHORIZATION_ENDPOINT))
-                    .deviceVerificationEndpoint(sub.replace(DEVICE_VERIFICATION_ENDPOINT))
-                    .setting(ACCESS_TOKEN_FORMAT,config.getAccessTokenFormat())
-                    .setting(REUSE_REFRESH_TOKENS,config.getReuseRefreshToken())
-                    .setting(REFRESH_TOKEN_TIME_TO_LIVE,config.getRefreshTokenTimeToLive())
-                    .setting(AUTHORIZATION_CODE_TIME_TO_LIVE,config.getAuthorizationCodeTimeToLive())
-                    .setting(DEVICE_CODE_TIME_TO_LIVE,config.getDeviceCodeTimeToLive())
-                    .setting(ACCESS_TOKEN_TIME_TO_LIVE,config.getAccessTokenTimeToLive())
-                    .setting(ID_TOKEN_SIGNATURE_ALGORITHM,config.getIdTokenSignatureAlgorithm())
-                    .build();
-            AuthorizationServerContext providerContext = new AuthorizationServerContext() {
-                @Override
-                public String getIssuer() {
-                    return providerSettings.getIssuer();
-                }
-                @Override
-                public AuthorizationServerSettings getAuthorizationServerSettings() {
-                    return providerSettings;
-                }
-            };
+            OidcServerContext context = getContext(appCode);
             //设置上下文
-            AuthorizationServerContextHolder.setContext(providerContext);
-            ApplicationContextHolder.setContext(new DefaultApplicationContext(config));
+            AuthorizationServerContextHolder.setContext(context.authorizationServerContext());
+            ApplicationContextHolder.setContext(context.applicationContext());
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             filterChain.doFilter(request, response);
             //@formatter:on
         } finally {
@@ -182,7 +164,84 @@ public final class OidcAuthorizationServerContextFilter extends OncePerRequestFi
         }
     }
 
-    private record DefaultApplicationContext(OidcProtocolConfig config) implements ApplicationContext {
+    /**
+     * 获取应用上下文
+     * <p>
+     * 协议配置实例（应用配置变更后会被替换）或门户地址变化时重新构建。
+     *
+     * @param appCode {@link String}
+     * @return {@link OidcServerContext}
+     */
+    private OidcServerContext getContext(String appCode) {
+        String baseUrl = ContextService.getPortalPublicBaseUrl();
+        OidcServerContext context = contexts.get(appCode);
+        if (!Objects.isNull(context)) {
+            OidcProtocolConfig config = context.applicationService().getProtocolConfig(appCode);
+            if (config == context.config() && Objects.equals(baseUrl, context.baseUrl())) {
+                return context;
+            }
+            contexts.remove(appCode, context);
+        }
+        //@formatter:off
+        OidcApplicationService applicationService = (OidcApplicationService) applicationServiceLoader.getApplicationServiceByAppCode(appCode);
+        OidcProtocolConfig config = applicationService.getProtocolConfig(appCode);
+        if (Objects.isNull(config)) {
+            throw new AppNotExistException();
+        }
+        if (!config.getConfigured()){
+            throw new AppNotConfigException();
+        }
+        //封装 ProviderSettings
+        StringSubstitutor sub = new StringSubstitutor(Map.of(APP_CODE, appCode), "{", "}");
+        AuthorizationServerSettings providerSettings = AuthorizationServerSettings.builder()
+                .issuer(sub.replace(UrlUtils.format(baseUrl + OIDC_AUTHORIZE_PATH)))
+                .authorizationEndpoint(sub.replace(AUTHORIZATION_ENDPOINT))
+                .tokenEndpoint(sub.replace(TOKEN_ENDPOINT))
+                .jwkSetEndpoint(sub.replace(JWK_SET_ENDPOINT))
+                .oidcClientRegistrationEndpoint(sub.replace(OIDC_CLIENT_REGISTRATION_ENDPOINT))
+                .tokenIntrospectionEndpoint(sub.replace(TOKEN_INTROSPECTION_ENDPOINT))
+                .tokenRevocationEndpoint(sub.replace(TOKEN_REVOCATION_ENDPOINT))
+                .oidcUserInfoEndpoint(sub.replace(OIDC_USER_INFO_ENDPOINT))
+                .oidcLogoutEndpoint(sub.replace(OIDC_LOGOUT_ENDPOINT))
+                .deviceAuthorizationEndpoint(sub.replace(DEVICE_AUTHORIZATION_ENDPOINT))
+                .deviceVerificationEndpoint(sub.replace(DEVICE_VERIFICATION_ENDPOINT))
+                .setting(ACCESS_TOKEN_FORMAT,config.getAccessTokenFormat())
+                .setting(REUSE_REFRESH_TOKENS,config.getReuseRefreshToken())
+                .setting(REFRESH_TOKEN_TIME_TO_LIVE,config.getRefreshTokenTimeToLive())
+                .setting(AUTHORIZATION_CODE_TIME_TO_LIVE,config.getAuthorizationCodeTimeToLive())
+                .setting(DEVICE_CODE_TIME_TO_LIVE,config.getDeviceCodeTimeToLive())
+                .setting(ACCESS_TOKEN_TIME_TO_LIVE,config.getAccessTokenTimeToLive())
+                .setting(ID_TOKEN_SIGNATURE_ALGORITHM,config.getIdTokenSignatureAlgorithm())
+                .build();
+        AuthorizationServerContext providerContext = new AuthorizationServerContext() {
+            @Override
+            public String getIssuer() {
+                return providerSettings.getIssuer();
+            }
+            @Override
+            public AuthorizationServerSettings getAuthorizationServerSettings() {
+                return providerSettings;
+            }
+        };
+        //@formatter:on
+        context = new OidcServerContext(applicationService, config, baseUrl, providerContext,
+            new DefaultApplicationContext(config));
+        contexts.put(appCode, context);
+        return context;
+    }
+
+    private record OidcServerContext(OidcApplicationService applicationService,
+                                     OidcProtocolConfig config, String baseUrl,
+                                     AuthorizationServerContext authorizationServerContext,
+                                     ApplicationContext applicationContext) {
+    }
+
+    private record DefaultApplicationContext(OidcProtocolConfig config,
+                                             Map<String, Object> configs) implements ApplicationContext {
+
+        private DefaultApplicationContext(OidcProtocolConfig config) {
+            this(config, Map.of(OidcProtocolConfig.class.getName(), config));
+        }
 
         private DefaultApplicationContext {
             Assert.notNull(config, "config cannot be null");
@@ -235,9 +294,7 @@ public final class OidcAuthorizationServerContextFilter extends OncePerRequestFi
      */
     @Override
     public Map<String, Object> getConfig() {
-        Map<String, Object> config = new HashMap<>(16);
-        config.put(OidcProtocolConfig.class.getName(), this.config);
-        return config;
+        return configs;
     }
 
 }}
@@ -0,0 +1,82 @@
+/*
+ * eiam-protocol-oidc - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.eiam.protocol.oidc.context;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.Assert;
+
+import cn.topiam.employee.protocol.code.EndpointMatcher;
+
+import jakarta.servlet.http.HttpServletRequest;
+import static cn.topiam.employee.common.constant.ProtocolConstants.APP_CODE;
+
+/**
+ * 端点路由
+ * <p>
+ * 一次遍历完成端点匹配，并提取应用编码及访问控制标识。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 23:58
+ */
+final class OidcEndpointRouter {
+
+    /**
+     * 端点匹配器，倒序排列（与原逻辑一致，后注册的优先）
+     */
+    private final EndpointMatcher[] endpointMatchers;
+
+    OidcEndpointRouter(List<EndpointMatcher> endpointMatchers) {
+        Assert.notNull(endpointMatchers, "endpointMatchers cannot be null");
+        int size = endpointMatchers.size();
+        this.endpointMatchers = new EndpointMatcher[size];
+        for (int i = 0; i < size; i++) {
+            this.endpointMatchers[i] = endpointMatchers.get(size - 1 - i);
+        }
+    }
+
+    /**
+     * 路由
+     *
+     * @param request {@link HttpServletRequest}
+     * @return {@link Route} 未匹配返回 null
+     */
+    Route route(HttpServletRequest request) {
+        for (EndpointMatcher endpointMatcher : endpointMatchers) {
+            RequestMatcher.MatchResult result = endpointMatcher.getRequestMatcher()
+                .matcher(request);
+            if (result.isMatch()) {
+                Map<String, String> variables = result.getVariables();
+                return new Route(variables.get(APP_CODE),
+                    Boolean.TRUE.equals(endpointMatcher.getAccess()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 路由结果
+     *
+     * @param appCode 应用编码
+     * @param access 是否校验访问权限
+     */
+    record Route(String appCode, boolean access) {
+    }
+}
@@ -17,8 +17,14 @@
  */
 package cn.topiam.eiam.protocol.oidc.token;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.redisson.api.RedissonClient;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,13 +38,25 @@ import org.springframework.security.oauth2.server.authorization.OAuth2Authorizat
 import org.springframework.security.oauth2.server.resource.introspection.BadOpaqueTokenException;
 import org.springframework.security.oauth2.server.resource.introspection.OAuth2IntrospectionAuthenticatedPrincipal;
 import org.springframework.security.oauth2.server.resource.introspection.SpringOpaqueTokenIntrospector;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 import com.alibaba.fastjson2.JSON;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import cn.topiam.employee.application.context.ApplicationContext;
+import cn.topiam.employee.application.context.ApplicationContextHolder;
+import cn.topiam.employee.protocol.code.util.TokenKeyUtils;
 import static org.springframework.security.oauth2.server.authorization.OAuth2TokenType.ACCESS_TOKEN;
 
 /**
  * 不透明令牌 Introspector
+ * <p>
+ * 内省结果按令牌摘要缓存在本地，缓存时间不超过令牌剩余有效期，令牌撤销、刷新时通过 redis 订阅分发清除。
+ * 加载期间收到清除通知时丢弃本次加载结果，避免旧结果在清除之后写入缓存。
  *
  * @author TopIAM
  * Created by support@topiam.cn on 2022/10/29 21:27
@@ -46,13 +64,46 @@ import static org.springframework.security.oauth2.server.authorization.OAuth2Tok
 public class OpaqueTokenIntrospector implements
                                      org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector {
 
-    private static final String AUTHORITY_PREFIX = "SCOPE_";
+    private static final String  AUTHORITY_PREFIX = "SCOPE_";
 
-    private final Logger        logger           = LoggerFactory
+    /**
+     * 默认缓存最大数量
+     */
+    public static final long     DEFAULT_MAX_SIZE = 10000;
+
+    /**
+     * 默认缓存最大时间
+     */
+    public static final Duration DEFAULT_MAX_TTL  = Duration.ofMinutes(5);
+
+    private final Logger         logger           = LoggerFactory
         .getLogger(OpaqueTokenIntrospector.class);
 
-    public OpaqueTokenIntrospector(OAuth2AuthorizationService authorizationService) {
+    public OpaqueTokenIntrospector(OAuth2AuthorizationService authorizationService,
+                                   RedissonClient redissonClient) {
+        this(authorizationService, redissonClient, DEFAULT_MAX_SIZE, DEFAULT_MAX_TTL);
+    }
+
+    public OpaqueTokenIntrospector(OAuth2AuthorizationService authorizationService,
+                                   RedissonClient redissonClient, long maxSize, Duration maxTtl) {
+        Assert.notNull(authorizationService, "authorizationService cannot be null");
+        Assert.notNull(redissonClient, "redissonClient cannot be null");
         this.authorizationService = authorizationService;
+        //@formatter:off
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new IntrospectionExpiry(maxTtl))
+                //同步执行且只处理淘汰，替换（并发加载同一令牌）及主动清除时不能删除索引，否则 evict 找不到缓存 Key
+                .evictionListener((String key, Introspection value, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && !Objects.isNull(key) && !Objects.isNull(value)) {
+                        authorizationIndex.remove(value.authorizationId(), key);
+                    }
+                })
+                .build();
+        //@formatter:on
+        //添加监听器
+        redissonClient.getTopic(TokenIntrospectionEventUtils.TOKEN_INTROSPECTION_EVENT)
+            .addListener(String.class, (channel, authorizationId) -> evict(authorizationId));
     }
 
     /**
@@ -63,6 +114,12 @@ public class OpaqueTokenIntrospector implements
      */
     @Override
     public OAuth2AuthenticatedPrincipal introspect(String token) {
+        String key = TokenKeyUtils.generateKey(token);
+        Introspection introspection = cache.getIfPresent(key);
+        if (!Objects.isNull(introspection) && isCurrentApplication(introspection)) {
+            return introspection.principal();
+        }
+        long version = evictVersion.get();
         OAuth2Authorization authorization = authorizationService.findByToken(token, ACCESS_TOKEN);
         if (authorization == null) {
             this.logger.trace("Did not validate token since it is inactive");
@@ -76,11 +133,46 @@ public class OpaqueTokenIntrospector implements
         if (!Objects.isNull(authorizedToken)
             && !CollectionUtils.isEmpty(authorizedToken.getClaims())) {
             Map<String, Object> readValue = JSON.parseObject(JSON.toJSONString(authorizedToken));
-            return convertClaimsSet(readValue);
+            OAuth2AuthenticatedPrincipal principal = convertClaimsSet(readValue);
+            Introspection value = new Introspection(authorization.getId(),
+                authorization.getRegisteredClientId(), principal,
+                authorizedToken.getToken().getExpiresAt());
+            cache.put(key, value);
+            authorizationIndex.put(authorization.getId(), key);
+            //写入后再校验，清除通知可能在加载与写入之间到达
+            if (evictVersion.get() != version) {
+                cache.invalidate(key);
+            }
+            return principal;
         }
         return null;
     }
 
+    /**
+     * 清除授权对应的内省缓存
+     *
+     * @param authorizationId {@link String}
+     */
+    public void evict(String authorizationId) {
+        evictVersion.incrementAndGet();
+        String key = authorizationIndex.remove(authorizationId);
+        if (!Objects.isNull(key)) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * 缓存结果是否属于当前应用（与 RedisOAuth2AuthorizationServiceWrapper 保持一致）
+     *
+     * @param introspection {@link Introspection}
+     * @return {@link Boolean}
+     */
+    private boolean isCurrentApplication(Introspection introspection) {
+        ApplicationContext context = ApplicationContextHolder.getApplicationContext();
+        return Objects.isNull(context)
+               || introspection.registeredClientId().equals(String.valueOf(context.getAppId()));
+    }
+
     /**
      * copy  {@link SpringOpaqueTokenIntrospector} convertClaimsSet 方法
      *
@@ -135,5 +227,62 @@ public class OpaqueTokenIntrospector implements
         return new OAuth2IntrospectionAuthenticatedPrincipal(claims, authorities);
     }
 
-    private final OAuth2AuthorizationService authorizationService;
+    /**
+     * 内省结果
+     *
+     * @param authorizationId {@link String}
+     * @param registeredClientId {@link String}
+     * @param principal {@link OAuth2AuthenticatedPrincipal}
+     * @param expiresAt {@link Instant}
+     */
+    private record Introspection(String authorizationId, String registeredClientId,
+                                 OAuth2AuthenticatedPrincipal principal, Instant expiresAt) {
+    }
+
+    /**
+     * 缓存时间不超过令牌剩余有效期
+     */
+    private record IntrospectionExpiry(Duration maxTtl) implements Expiry<String, Introspection> {
+
+        @Override
+        public long expireAfterCreate(String key, Introspection value, long currentTime) {
+            if (Objects.isNull(value.expiresAt())) {
+                return maxTtl.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), value.expiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return Math.min(maxTtl.toNanos(), remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Introspection value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Introspection value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * 内省缓存，key: 令牌摘要
+     */
+    private final Cache<String, Introspection>  cache;
+
+    /**
+     * 授权ID -> 令牌摘要
+     */
+    private final ConcurrentMap<String, String> authorizationIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 清除版本，每次清除递增
+     */
+    private final AtomicLong                    evictVersion       = new AtomicLong();
+
+    private final OAuth2AuthorizationService    authorizationService;
 }
@@ -0,0 +1,46 @@
+/*
+ * eiam-protocol-oidc - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.eiam.protocol.oidc.token;
+
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+import cn.topiam.employee.support.context.ApplicationContextService;
+
+/**
+ * 令牌内省事件工具
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/18 23:20
+ */
+public class TokenIntrospectionEventUtils {
+    public static final String TOKEN_INTROSPECTION_EVENT = "eiam-oidc-token-introspection-event";
+
+    /**
+     * evict
+     * <p>
+     * 利用redis订阅分发，通知集群清除授权对应的令牌内省缓存（令牌撤销、刷新）
+     *
+     * @param authorizationId {@link String}
+     */
+    public static void evict(String authorizationId) {
+        RedissonClient redisson = ApplicationContextService.getBean(RedissonClient.class);
+        RTopic topic = redisson.getTopic(TOKEN_INTROSPECTION_EVENT);
+        topic.publish(authorizationId);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * eiam-protocol-oidc - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.eiam.protocol.oidc.authentication;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+
+import cn.topiam.employee.protocol.code.codec.AuthorizationCodecProperties;
+import cn.topiam.employee.protocol.code.codec.CompactAuthorizationCodec;
+import cn.topiam.employee.support.security.userdetails.UserDetails;
+import cn.topiam.employee.support.security.userdetails.UserType;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.oauth2.server.authorization.OAuth2Authorization.Token.CLAIMS_METADATA_NAME;
+
+import static cn.topiam.eiam.protocol.oidc.authentication.RedisOAuth2AuthorizationService.CID_TO_AUTHORIZATIONS;
+import static cn.topiam.eiam.protocol.oidc.authentication.RedisOAuth2AuthorizationService.ID_TO_AUTHORIZATION;
+import static cn.topiam.eiam.protocol.oidc.authentication.RedisOAuth2AuthorizationService.PRINCIPAL_TO_AUTHORIZATIONS;
+import static cn.topiam.eiam.protocol.oidc.constant.OidcProtocolConstants.OIDC_PROTOCOL_CACHE_PREFIX;
+
+/**
+ * Redis 授权信息编解码测试
+ * <p>
+ * 真实的 {@link OAuth2Authorization}（access_token、refresh_token、id_token 及属性）经 Jackson Mixin 写入、读取。
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/20 12:10
+ */
+@SuppressWarnings("unchecked")
+class RedisOAuth2AuthorizationServiceTest {
+
+    private static final Instant                  ISSUED_AT         = Instant.now()
+        .truncatedTo(ChronoUnit.SECONDS);
+
+    private static final RegisteredClient         REGISTERED_CLIENT = RegisteredClient
+        .withId("registered-client-id").clientId("client-id")
+        .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+        .redirectUri("https://app.example.com/callback").scope("openid").scope("profile")
+        .build();
+
+    private final ValueOperations<String, String> valueOperations   = mock(
+        ValueOperations.class);
+
+    private final RegisteredClientRepository      clientRepository  = mock(
+        RegisteredClientRepository.class);
+
+    /**
+     * 最近一次保存脚本写入的授权信息（ARGV[1]）
+     */
+    private String                                saved;
+
+    private RedisOAuth2AuthorizationService       service;
+
+    @BeforeEach
+    void setUp() {
+        RedisOperations<String, String> redisOperations = mock(RedisOperations.class,
+            invocation -> {
+                if ("opsForValue".equals(invocation.getMethod().getName())) {
+                    return valueOperations;
+                }
+                Object[] arguments = invocation.getRawArguments();
+                if ("execute".equals(invocation.getMethod().getName())
+                    && arguments[0] instanceof RedisScript<?>) {
+                    saved = (String) ((Object[]) arguments[arguments.length - 1])[0];
+                }
+                return null;
+            });
+        when(clientRepository.findById(REGISTERED_CLIENT.getId())).thenReturn(REGISTERED_CLIENT);
+        service = new RedisOAuth2AuthorizationService(redisOperations, clientRepository);
+    }
+
+    /**
+     * 两种写入格式均可完整读回
+     */
+    @ParameterizedTest
+    @EnumSource(AuthorizationCodecProperties.Format.class)
+    void roundTrip(AuthorizationCodecProperties.Format format) {
+        service.setCodecFormat(format);
+        service.save(authorization());
+        assertThat(saved.charAt(0) == CompactAuthorizationCodec.MARKER)
+            .isEqualTo(format == AuthorizationCodecProperties.Format.COMPACT);
+        when(valueOperations.get(anyString())).thenReturn(saved);
+
+        OAuth2Authorization authorization = service.findById("authorization-id");
+
+        assertThat(authorization.getId()).isEqualTo("authorization-id");
+        assertThat(authorization.getRegisteredClientId()).isEqualTo(REGISTERED_CLIENT.getId());
+        assertThat(authorization.getPrincipalName()).isEqualTo("user");
+        assertThat(authorization.getAuthorizationGrantType())
+            .isEqualTo(AuthorizationGrantType.AUTHORIZATION_CODE);
+        assertThat(authorization.getAuthorizedScopes()).containsExactlyInAnyOrder("openid",
+            "profile");
+        OAuth2Authorization.Token<OAuth2AccessToken> accessToken = authorization.getAccessToken();
+        assertThat(accessToken.getToken().getTokenValue()).isEqualTo("access-token");
+        assertThat(accessToken.getToken().getScopes()).containsExactlyInAnyOrder("openid",
+            "profile");
+        assertThat(accessToken.getToken().getExpiresAt())
+            .isEqualTo(ISSUED_AT.plus(1, ChronoUnit.HOURS));
+        assertThat(accessToken.getClaims()).containsEntry("sub", "user");
+        assertThat(authorization.getRefreshToken().getToken().getTokenValue())
+            .isEqualTo("refresh-token");
+        OAuth2Authorization.Token<OidcIdToken> idToken = authorization
+            .getToken(OidcIdToken.class);
+        assertThat(idToken.getToken().getTokenValue()).isEqualTo("id-token");
+        assertThat(idToken.getToken().getSubject()).isEqualTo("user");
+        assertThat(idToken.getToken().getClaimAsString("name")).isEqualTo("张三");
+        Authentication principal = authorization.getAttribute(Principal.class.getName());
+        assertThat(principal.getName()).isEqualTo("user");
+        assertThat(authorization.<String> getAttribute(OAuth2ParameterNames.STATE))
+            .isEqualTo("state");
+    }
+
+    /**
+     * 紧凑格式（压缩 + Base64）不超过 JSON 格式的三分之二
+     */
+    @Test
+    void compactSmallerThanJson() {
+        service.setCodecFormat(AuthorizationCodecProperties.Format.JSON);
+        service.save(authorization());
+        String json = saved;
+        service.setCodecFormat(AuthorizationCodecProperties.Format.COMPACT);
+        service.save(authorization());
+        String compact = saved;
+
+        assertThat(compact.length()).isLessThan(json.length() * 2 / 3);
+    }
+
+    /**
+     * Redis Cluster 下不执行多 key 脚本，逐条写入授权信息及索引
+     */
+    @Test
+    void clusterWritesIndividually() {
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        SetOperations<String, String> sets = mock(SetOperations.class);
+        RedisOperations<String, String> redisOperations = mock(RedisOperations.class);
+        when(redisOperations.opsForValue()).thenReturn(values);
+        when(redisOperations.opsForSet()).thenReturn(sets);
+        when(redisOperations.execute(any(RedisCallback.class))).thenReturn(true);
+        RedisOAuth2AuthorizationService clusterService = new RedisOAuth2AuthorizationService(
+            redisOperations, clientRepository);
+
+        clusterService.save(authorization());
+
+        verify(values).set(eq(OIDC_PROTOCOL_CACHE_PREFIX + ID_TO_AUTHORIZATION + "authorization-id"),
+            anyString(), any(Duration.class));
+        verify(values).set(startsWith(OIDC_PROTOCOL_CACHE_PREFIX + "access_to_authorization:"),
+            eq("authorization-id"), any(Duration.class));
+        verify(sets).add(OIDC_PROTOCOL_CACHE_PREFIX + CID_TO_AUTHORIZATIONS + "registered-client-id",
+            "authorization-id");
+        verify(sets).add(OIDC_PROTOCOL_CACHE_PREFIX + PRINCIPAL_TO_AUTHORIZATIONS + "user",
+            "authorization-id");
+        verify(redisOperations, never()).execute(any(RedisScript.class), anyList(),
+            any(Object[].class));
+    }
+
+    private static OAuth2Authorization authorization() {
+        Instant expiresAt = ISSUED_AT.plus(1, ChronoUnit.HOURS);
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+            "access-token", ISSUED_AT, expiresAt, Set.of("openid", "profile"));
+        OAuth2RefreshToken refreshToken = new OAuth2RefreshToken("refresh-token", ISSUED_AT,
+            ISSUED_AT.plus(30, ChronoUnit.DAYS));
+        OidcIdToken idToken = OidcIdToken.withTokenValue("id-token").issuer("https://eiam.example.com")
+            .subject("user").audience(new ArrayList<>(List.of("client-id"))).issuedAt(ISSUED_AT)
+            .expiresAt(expiresAt).claim("name", "张三").build();
+        UserDetails userDetails = new UserDetails("user-id", "user", "", UserType.USER, true, true,
+            true, true, List.of());
+        //@formatter:off
+        return OAuth2Authorization.withRegisteredClient(REGISTERED_CLIENT)
+                .id("authorization-id")
+                .principalName("user")
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .authorizedScopes(Set.of("openid", "profile"))
+                .token(accessToken, metadata -> metadata.put(CLAIMS_METADATA_NAME,
+                        new HashMap<>(Map.of("sub", "user", "client_id", "client-id", "scope", "openid profile"))))
+                .refreshToken(refreshToken)
+                .token(idToken, metadata -> metadata.put(CLAIMS_METADATA_NAME, idToken.getClaims()))
+                .attribute(Principal.class.getName(), UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities()))
+                .attribute(OAuth2ParameterNames.STATE, "state")
+                .build();
+        //@formatter:on
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * eiam-protocol-oidc - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.eiam.protocol.oidc.token;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.oauth2.server.authorization.OAuth2TokenType.ACCESS_TOKEN;
+
+/**
+ * 不透明令牌内省缓存测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/20 09:10
+ */
+class OpaqueTokenIntrospectorTest {
+
+    private static final String              TOKEN                = "access-token";
+
+    private static final String              AUTHORIZATION_ID     = "authorization-id";
+
+    private final OAuth2AuthorizationService authorizationService = mock(
+        OAuth2AuthorizationService.class);
+
+    private OpaqueTokenIntrospector          introspector;
+
+    @BeforeEach
+    void setUp() {
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getTopic(anyString())).thenReturn(mock(RTopic.class));
+        introspector = new OpaqueTokenIntrospector(authorizationService, redissonClient);
+    }
+
+    /**
+     * 命中缓存时不查询授权，清除后重新查询
+     */
+    @Test
+    void cachedUntilEvict() {
+        when(authorizationService.findByToken(TOKEN, ACCESS_TOKEN)).thenReturn(authorization());
+        introspector.introspect(TOKEN);
+        introspector.introspect(TOKEN);
+        verify(authorizationService, times(1)).findByToken(TOKEN, ACCESS_TOKEN);
+
+        introspector.evict(AUTHORIZATION_ID);
+        introspector.introspect(TOKEN);
+        verify(authorizationService, times(2)).findByToken(TOKEN, ACCESS_TOKEN);
+    }
+
+    /**
+     * 并发加载同一令牌（第二次写入为替换）后清除，缓存必须被清除
+     */
+    @Test
+    void concurrentLoadThenEvict() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        OAuth2Authorization authorization = authorization();
+        when(authorizationService.findByToken(TOKEN, ACCESS_TOKEN)).thenAnswer(invocation -> {
+            barrier.await(5, TimeUnit.SECONDS);
+            return authorization;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<Void>> loads = List.of(
+                CompletableFuture.runAsync(() -> introspector.introspect(TOKEN), executor),
+                CompletableFuture.runAsync(() -> introspector.introspect(TOKEN), executor));
+            CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)).get(10,
+                TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(authorizationService, times(2)).findByToken(TOKEN, ACCESS_TOKEN);
+
+        introspector.evict(AUTHORIZATION_ID);
+        reset(authorizationService);
+        when(authorizationService.findByToken(TOKEN, ACCESS_TOKEN)).thenReturn(authorization);
+        introspector.introspect(TOKEN);
+        verify(authorizationService, times(1)).findByToken(eq(TOKEN), eq(ACCESS_TOKEN));
+    }
+
+    /**
+     * 加载期间收到清除通知，丢弃本次加载结果
+     */
+    @Test
+    void evictDuringLoad() {
+        OAuth2Authorization authorization = authorization();
+        when(authorizationService.findByToken(TOKEN, ACCESS_TOKEN)).thenAnswer(invocation -> {
+            introspector.evict(AUTHORIZATION_ID);
+            return authorization;
+        }).thenReturn(authorization);
+        introspector.introspect(TOKEN);
+        introspector.introspect(TOKEN);
+        verify(authorizationService, times(2)).findByToken(TOKEN, ACCESS_TOKEN);
+    }
+
+    private static OAuth2Authorization authorization() {
+        RegisteredClient registeredClient = RegisteredClient.withId("registered-client-id")
+            .clientId("client-id")
+            .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS).build();
+        Instant issuedAt = Instant.now();
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+            TOKEN, issuedAt, issuedAt.plus(1, ChronoUnit.HOURS), Set.of("openid"));
+        //@formatter:off
+        return OAuth2Authorization.withRegisteredClient(registeredClient)
+                .id(AUTHORIZATION_ID)
+                .principalName("user")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .token(accessToken, metadata -> metadata.put(OAuth2Authorization.Token.CLAIMS_METADATA_NAME,
+                        Map.of("sub", "user", "client_id", "client-id", "scope", "openid")))
+                .build();
+        //@formatter:on
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * eiam-synchronizer - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.synchronizer.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 身份源同步配置
+ *
+ * <pre>
+ * topiam:
+ *   identity-source:
+ *     sync:
+ *       user-chunk-size: 1000
+ * </pre>
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/19 23:40
+ */
+@Data
+@ConfigurationProperties(prefix = "topiam.identity-source.sync")
+public class IdentitySourceSyncProperties {
+
+    /**
+     * 用户同步分块大小，大于 0 时按块提交事务并记录检查点，同步失败后下次从检查点继续；
+     * 小于等于 0 时所有用户在一个事务中处理
+     */
+    private int userChunkSize = 0;
+}
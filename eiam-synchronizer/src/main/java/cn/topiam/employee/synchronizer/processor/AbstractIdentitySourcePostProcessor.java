@@ -24,12 +24,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 
+import com.alibaba.fastjson2.JSON;
+
 import cn.topiam.employee.common.entity.account.OrganizationEntity;
 import cn.topiam.employee.common.entity.account.OrganizationMemberEntity;
 import cn.topiam.employee.common.entity.account.UserDetailEntity;
@@ -283,6 +286,16 @@ public class AbstractIdentitySourcePostProcessor {
         throw new IdentitySourceNotExistException();
     }
 
+    /**
+     * 计算上游数据摘要
+     *
+     * @param values {@link Object} 参与摘要计算的数据
+     * @return {@link String} SHA-256
+     */
+    protected String digest(Object... values) {
+        return DigestUtils.sha256Hex(JSON.toJSONString(values));
+    }
+
     /**
      * 批量发送短信邮件欢迎信息(密码通知)
      *
@@ -22,6 +22,7 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -36,6 +37,7 @@ import org.springframework.util.StopWatch;
 
 import com.alibaba.fastjson2.JSON;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import cn.topiam.employee.common.entity.account.OrganizationEntity;
@@ -50,6 +52,7 @@ import cn.topiam.employee.common.enums.identitysource.IdentitySourceActionType;
 import cn.topiam.employee.common.enums.identitysource.IdentitySourceObjectType;
 import cn.topiam.employee.common.repository.account.OrganizationRepository;
 import cn.topiam.employee.common.repository.identitysource.IdentitySourceRepository;
+import cn.topiam.employee.common.repository.identitysource.IdentitySourceSyncHashRepository;
 import cn.topiam.employee.common.repository.identitysource.IdentitySourceSyncHistoryRepository;
 import cn.topiam.employee.common.repository.identitysource.IdentitySourceSyncRecordRepository;
 import cn.topiam.employee.common.storage.Storage;
@@ -110,13 +113,15 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
             //处理组织父节点
             rootOrganizationHandler(identitySource, deptList, strategyConfig, statistics);
             //处理组织子节点
-            childrenOrganizationHandler(identitySource, deptList, strategyConfig, statistics);
+            childrenOrganizationHandler(identitySource, deptList, strategyConfig, triggerType,
+                statistics);
             stopWatch.stop();
             log.info("处理组织机构数据结束, 执行时长: {} ms", stopWatch.getTotalTimeMillis());
             //更新同步历史
             history.setUpdatedCount(statistics.getUpdateOrganizations().size());
             history.setCreatedCount(statistics.getCreateOrganizations().size());
-            history.setSkippedCount(statistics.getSkipOrganizations().size());
+            history.setSkippedCount(statistics.getSkipOrganizations().size()
+                + statistics.getUnchangedOrganizations().size());
             history.setDeletedCount(statistics.getDeleteOrganizations().size());
             history.setEndTime(LocalDateTime.now());
             history.setStatus(SyncStatus.SUCCESS);
@@ -193,14 +198,20 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
      * @param identitySource {@link IdentitySourceEntity}
      * @param deptList {@link Dept}
      * @param strategyConfig {@link StrategyConfig}
+     * @param triggerType {@link TriggerType}
      * @param statistics {@link Statistics}
      */
     private void childrenOrganizationHandler(IdentitySourceEntity identitySource,
                                              List<Dept> deptList, StrategyConfig strategyConfig,
-                                             Statistics statistics) {
+                                             TriggerType triggerType, Statistics statistics) {
         //@formatter:off
         Set<OrganizationEntity> createSet = Sets.newLinkedHashSet(), updateSet = Sets.newLinkedHashSet();
         Set<SkipOrganization> skipSet=Sets.newLinkedHashSet();
+        //上游部门摘要，定时同步时跳过摘要未变化的部门，手动同步全量比对
+        Map<String, String> hashes = Maps.newHashMap();
+        digestDepts(deptList, digest(strategyConfig), hashes);
+        Map<String, String> storedHashes = identitySourceSyncHashRepository.findAllHashes(identitySource.getId(), IdentitySourceObjectType.ORGANIZATION);
+        Map<String, String> unchangedHashes = TriggerType.JOB.equals(triggerType) ? storedHashes : Collections.emptyMap();
         //查询身份源下所有数据
         List<OrganizationEntity> list = organizationRepository.findByIdentitySourceId(identitySource.getId());
         Optional<OrganizationEntity> optional = organizationRepository.findById(strategyConfig.getOrganization().getTargetId());
@@ -211,7 +222,10 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
         //构建新关联关系
         Set<Modal> modals = buildModal(deptList, list);
         //构建更新&修改对象
-        buildEntity(optional.get(), identitySource.getId(), modals, createSet, updateSet,skipSet);
+        buildEntity(optional.get(), identitySource.getId(), modals, hashes, unchangedHashes, createSet, updateSet, skipSet, statistics.getUnchangedOrganizations());
+        if (!statistics.getUnchangedOrganizations().isEmpty()) {
+            log.info("上游部门摘要未变化, 跳过部门数量: {}", statistics.getUnchangedOrganizations().size());
+        }
         entityManager.clear();
 
         //保存
@@ -236,9 +250,38 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
         }
         //跳过
         statistics.getSkipOrganizations().addAll(skipSet);
+        //保存上游部门摘要
+        Map<String, String> changedHashes = Maps.newHashMap();
+        Stream.concat(Stream.concat(createSet.stream(), updateSet.stream()), skipSet.stream().map(SkipOrganization::getOrganization))
+            .map(OrganizationEntity::getExternalId)
+            .filter(deptId -> hashes.containsKey(deptId) && !hashes.get(deptId).equals(storedHashes.get(deptId)))
+            .forEach(deptId -> changedHashes.put(deptId, hashes.get(deptId)));
+        identitySourceSyncHashRepository.batchSave(identitySource.getId(), IdentitySourceObjectType.ORGANIZATION, changedHashes);
+        //上游已不存在的部门删除摘要
+        List<String> removedDeptIds = storedHashes.keySet().stream().filter(deptId -> !hashes.containsKey(deptId)).toList();
+        identitySourceSyncHashRepository.deleteAllByExternalIdIn(identitySource.getId(), IdentitySourceObjectType.ORGANIZATION, removedDeptIds);
         //@formatter:on
     }
 
+    /**
+     * 计算上游部门摘要，包含上级部门摘要，上级部门变化时下级部门的显示路径随之变化
+     *
+     * @param deptList {@link Dept} 上游部门
+     * @param parentHash {@link String} 上级部门摘要
+     * @param hashes {@link Map} KEY：外部ID，VALUE：摘要
+     */
+    private void digestDepts(List<Dept> deptList, String parentHash, Map<String, String> hashes) {
+        if (Objects.isNull(deptList)) {
+            return;
+        }
+        for (Dept dept : deptList) {
+            String hash = digest(parentHash, dept.getDeptId(), dept.getName(), dept.getOrder(),
+                dept.isLeaf());
+            hashes.put(dept.getDeptId(), hash);
+            digestDepts(dept.getChildren(), hash, hashes);
+        }
+    }
+
     private List<String> getDeptIds(List<Dept> deptList) {
         List<String> ids = deptList.stream().map(Dept::getDeptId).distinct().collect(toList());
         deptList.forEach(item -> {
@@ -254,11 +297,14 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
      * 根据新模型，构建新增，修改数据集
      *
      * @param modals {@link Modal} 新模型数据
-     *
+     * @param hashes {@link Map} 上游部门摘要
+     * @param unchangedHashes {@link Map} 用于判断未变化的已保存摘要
+     * @param unchangedSet {@link Set} 摘要未变化跳过的部门外部ID
      */
     private void buildEntity(OrganizationEntity parent, String identitySourceId, Set<Modal> modals,
+                             Map<String, String> hashes, Map<String, String> unchangedHashes,
                              Set<OrganizationEntity> createSet, Set<OrganizationEntity> updateSet,
-                             Set<SkipOrganization> skipSet) {
+                             Set<SkipOrganization> skipSet, Set<String> unchangedSet) {
         for (Modal modal : modals) {
             Dept thirdParty = modal.getThirdParty();
             Set<Modal> children = modal.getChildren();
@@ -286,14 +332,22 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
                 createSet.add(entity);
                 //处理子节点
                 if (!CollectionUtils.isEmpty(children)) {
-                    buildEntity(entity, identitySourceId, children, createSet, updateSet, skipSet);
+                    buildEntity(entity, identitySourceId, children, hashes, unchangedHashes,
+                        createSet, updateSet, skipSet, unchangedSet);
                 }
             }
             //构建修改数据
             else {
                 OrganizationEntity current = modal.getCurrent();
+                //摘要未变化且上级部门未重建，跳过比对
+                String hash = hashes.get(thirdParty.getDeptId());
+                if (Objects.nonNull(hash)
+                    && hash.equals(unchangedHashes.get(thirdParty.getDeptId()))
+                    && StringUtils.equals(parent.getId(), current.getParentId())) {
+                    unchangedSet.add(thirdParty.getDeptId());
+                }
                 //是否需要修改
-                if (!equalsOrganization(modal, parent)) {
+                else if (!equalsOrganization(modal, parent)) {
                     current.setName(thirdParty.getName());
                     current.setOrder(thirdParty.getOrder());
                     current.setParentId(parent.getId());
@@ -311,7 +365,8 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
                 }
                 //处理子节点
                 if (!CollectionUtils.isEmpty(children)) {
-                    buildEntity(current, identitySourceId, children, createSet, updateSet, skipSet);
+                    buildEntity(current, identitySourceId, children, hashes, unchangedHashes,
+                        createSet, updateSet, skipSet, unchangedSet);
                 }
             }
         }
@@ -588,11 +643,17 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
          */
         private Set<SkipOrganization>   skipOrganizations;
 
+        /**
+         * 摘要未变化跳过（外部ID）
+         */
+        private Set<String>             unchangedOrganizations;
+
         public Statistics() {
             this.setUpdateOrganizations(Sets.newLinkedHashSet());
             this.setSkipOrganizations(Sets.newLinkedHashSet());
             this.setCreateOrganizations(Sets.newLinkedHashSet());
             this.setDeleteOrganizations(Sets.newLinkedHashSet());
+            this.setUnchangedOrganizations(Sets.newHashSet());
         }
     }
 
@@ -608,15 +669,19 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
     /**
      * EntityManager
      */
-    private final EntityManager            entityManager;
+    private final EntityManager                    entityManager;
     /**
      * 身份源 Repository
      */
-    private final IdentitySourceRepository identitySourceRepository;
+    private final IdentitySourceRepository         identitySourceRepository;
     /**
      * 组织 Repository
      */
-    private final OrganizationRepository   organizationRepository;
+    private final OrganizationRepository           organizationRepository;
+    /**
+     * 身份源同步摘要
+     */
+    private final IdentitySourceSyncHashRepository identitySourceSyncHashRepository;
 
     public DefaultIdentitySourceDeptPostProcessor(MailMsgEventPublish mailMsgEventPublish,
                                                   PasswordEncoder passwordEncoder,
@@ -628,6 +693,7 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
                                                   OrganizationRepository organizationRepository,
                                                   IdentitySourceSyncHistoryRepository identitySourceSyncHistoryRepository,
                                                   IdentitySourceSyncRecordRepository identitySourceSyncRecordRepository,
+                                                  IdentitySourceSyncHashRepository identitySourceSyncHashRepository,
                                                   Storage storage) {
         super(mailMsgEventPublish, passwordEncoder, passwordGenerator, transactionDefinition,
             platformTransactionManager, entityManager, identitySourceRepository,
@@ -635,5 +701,6 @@ public class DefaultIdentitySourceDeptPostProcessor extends AbstractIdentitySour
         this.entityManager = entityManager;
         this.identitySourceRepository = identitySourceRepository;
         this.organizationRepository = organizationRepository;
+        this.identitySourceSyncHashRepository = identitySourceSyncHashRepository;
     }
 }
@@ -23,6 +23,7 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -51,6 +52,7 @@ import cn.topiam.employee.common.enums.identitysource.IdentitySourceActionType;
 import cn.topiam.employee.common.enums.identitysource.IdentitySourceObjectType;
 import cn.topiam.employee.common.repository.account.*;
 import cn.topiam.employee.common.repository.identitysource.IdentitySourceRepository;
+import cn.topiam.employee.common.repository.identitysource.IdentitySourceSyncHashRepository;
 import cn.topiam.employee.common.repository.identitysource.IdentitySourceSyncHistoryRepository;
 import cn.topiam.employee.common.repository.identitysource.IdentitySourceSyncRecordRepository;
 import cn.topiam.employee.common.storage.Storage;
@@ -59,6 +61,7 @@ import cn.topiam.employee.identitysource.core.domain.User;
 import cn.topiam.employee.identitysource.core.processor.IdentitySourceSyncUserPostProcessor;
 import cn.topiam.employee.support.repository.base.IdEntity;
 import cn.topiam.employee.support.security.password.PasswordGenerator;
+import cn.topiam.employee.synchronizer.configuration.IdentitySourceSyncProperties;
 
 import lombok.Builder;
 import lombok.Data;
@@ -84,6 +87,12 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
     @Override
     public void process(String batch, String identitySourceId, List<User> thirdPartyUserList,
                         LocalDateTime startTime, TriggerType triggerType) {
+        //分块处理
+        if (identitySourceSyncProperties.getUserChunkSize() > 0) {
+            processChunked(batch, identitySourceId, thirdPartyUserList, startTime, triggerType,
+                identitySourceSyncProperties.getUserChunkSize());
+            return;
+        }
         ProcessDataResult processData = null;
         //保存同步历史
         IdentitySourceSyncHistoryEntity history = saveSyncHistory(batch, identitySourceId,
@@ -93,60 +102,31 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
             .getTransaction(transactionDefinition);
         IdentitySourceEntity identitySource = getIdentitySource(identitySourceId);
         try {
+            //上游用户摘要
+            Map<String, String> hashes = digestUsers(identitySource, thirdPartyUserList);
+            Map<String, String> storedHashes = identitySourceSyncHashRepository
+                .findAllHashes(identitySourceId, IdentitySourceObjectType.USER);
+            Set<String> unchangedUserIds = getUnchangedUserIds(hashes, storedHashes, triggerType);
             //初始化数据
-            InitDataResult initData = initData(identitySource, thirdPartyUserList);
+            List<UserEntity> users = userRepository.findAllByIdentitySourceId(identitySourceId);
+            InitDataResult initData = initData(identitySource, thirdPartyUserList, users,
+                unchangedUserIds);
             //处理数据
             processData = processData(identitySource, initData);
             //校验数据
             validateData(processData);
-            //批量保存用户
-            if (!CollectionUtils.isEmpty(processData.getCreateUsers())) {
-                List<UserEntity> createUserList = Lists.newArrayList(processData.getCreateUsers());
-                userRepository.batchSave(createUserList);
-            }
-            //批量更新用户
-            if (!CollectionUtils.isEmpty(processData.getUpdateUsers())) {
-                List<UserEntity> updateUserList = Lists.newArrayList(processData.getUpdateUsers());
-                userRepository.batchUpdate(updateUserList);
-            }
-            //保存组织成员关系
-            if (!CollectionUtils.isEmpty(processData.getCreateOrganizationMembers())) {
-                List<OrganizationMemberEntity> organizationMemberEntityList = Lists
-                    .newArrayList(processData.getCreateOrganizationMembers());
-                organizationMemberRepository.batchSave(organizationMemberEntityList);
-            }
-            //删除相关数据
-            List<String> deleteUserIds;
-            if (!CollectionUtils.isEmpty(processData.getDeleteUsers())) {
-                deleteUserIds = processData.getDeleteUsers().stream().map(IdEntity::getId).toList();
-                //删除用户
-                userRepository.deleteAllById(deleteUserIds);
-                //删除用户详情
-                userDetailRepository.deleteAllByUserIdIn(deleteUserIds);
-                //删除组织用户关联关系
-                organizationMemberRepository.deleteAllByUserIdIn(deleteUserIds);
-                //删除用户组关系
-                userGroupMemberRepository.deleteAllByUserIdIn(deleteUserIds);
-            }
-            //删除组织关系
-            if (!CollectionUtils.isEmpty(processData.getDeleteOrganizationMembers())) {
-                for (String userId : processData.getDeleteOrganizationMembers().keySet()) {
-                    for (String orgId : processData.getDeleteOrganizationMembers().get(userId)) {
-                        organizationMemberRepository.deleteByOrgIdAndUserId(orgId, userId);
-                    }
-                }
-            }
+            //保存数据
+            saveData(processData);
+            //保存上游用户摘要
+            saveSyncHash(identitySourceId, hashes, storedHashes, processData);
+            removeSyncHash(identitySourceId, hashes, storedHashes);
             //更新同步历史
             updateSyncHistory(processData, history, SyncStatus.SUCCESS);
             //新增同步记录
             saveSyncHistoryRecord(history.getId(), processData);
             //提交事务
             platformTransactionManager.commit(transactionStatus);
-            if (!CollectionUtils.isEmpty(processData.getCreateUsers()) && Boolean.TRUE
-                .equals(identitySource.getStrategyConfig().getUser().getEmailNotify())) {
-                // 发送密码通知
-                publishMessage(Lists.newArrayList(processData.getCreateUsers()));
-            }
+            publishMessage(identitySource, processData);
         } catch (Exception e) {
             log.error("处理用户数据发生异常", e);
             platformTransactionManager.rollback(transactionStatus);
@@ -154,6 +134,251 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
         }
     }
 
+    /**
+     * 分块处理，上游用户按ID排序后分块，每块单独提交事务，并在同步历史中记录检查点，
+     * 定时同步失败后下次定时同步从检查点继续，上游已不存在的用户在最后分块删除
+     *
+     * @param batch {@link String} 批号
+     * @param identitySourceId {@link String} 身份源ID
+     * @param thirdPartyUserList {@link List} 上游用户信息
+     * @param startTime {@link LocalDateTime} 开始时间
+     * @param triggerType {@link TriggerType} 触发类型
+     * @param chunkSize {@link Integer} 分块大小
+     */
+    private void processChunked(String batch, String identitySourceId,
+                                List<User> thirdPartyUserList, LocalDateTime startTime,
+                                TriggerType triggerType, int chunkSize) {
+        //定时同步且上次定时同步未成功时，从上次同步写入的检查点继续
+        String checkpoint = getCheckpoint(identitySourceId, triggerType);
+        //保存同步历史，检查点不继承，只由本次同步提交的分块写入，避免沿用更早同步的检查点
+        IdentitySourceSyncHistoryEntity history = saveSyncHistory(batch, identitySourceId,
+            startTime, triggerType);
+        IdentitySourceEntity identitySource = getIdentitySource(identitySourceId);
+        try {
+            //@formatter:off
+            //上游用户摘要
+            Map<String, String> hashes = digestUsers(identitySource, thirdPartyUserList);
+            Map<String, String> storedHashes = identitySourceSyncHashRepository.findAllHashes(identitySourceId, IdentitySourceObjectType.USER);
+            Set<String> unchangedUserIds = getUnchangedUserIds(hashes, storedHashes, triggerType);
+            //检查点之前的用户已在上次同步中提交
+            if (StringUtils.isNotBlank(checkpoint)) {
+                log.info("从检查点:[{}]继续同步用户", checkpoint);
+                hashes.keySet().stream().filter(userId -> userId.compareTo(checkpoint) <= 0).forEach(unchangedUserIds::add);
+            }
+            List<UserEntity> users = userRepository.findAllByIdentitySourceId(identitySourceId);
+            Map<String, UserEntity> currentUsers = users.stream().collect(Collectors.toMap(UserEntity::getExternalId, Function.identity(), (first, second) -> first));
+            //按上游用户ID排序去重，保证每次同步分块顺序一致
+            List<User> sortedUsers = new ArrayList<>(thirdPartyUserList.stream().collect(Collectors.toMap(User::getUserId, Function.identity(), (first, second) -> first, TreeMap::new)).values());
+            for (List<User> chunk : Lists.partition(sortedUsers, chunkSize)) {
+                List<UserEntity> chunkUsers = chunk.stream().map(user -> currentUsers.get(user.getUserId())).filter(Objects::nonNull).distinct().toList();
+                processChunk(identitySource, chunk, chunkUsers, unchangedUserIds, hashes, storedHashes, history, chunk.get(chunk.size() - 1).getUserId());
+            }
+            //上游已不存在的用户
+            List<UserEntity> deleteUsers = users.stream().filter(user -> !hashes.containsKey(user.getExternalId())).toList();
+            for (List<UserEntity> chunk : Lists.partition(deleteUsers, chunkSize)) {
+                processChunk(identitySource, Collections.emptyList(), chunk, unchangedUserIds, hashes, storedHashes, history, history.getCheckpoint());
+            }
+            removeSyncHash(identitySourceId, hashes, storedHashes);
+            //@formatter:on
+            updateSyncHistory(null, history, SyncStatus.SUCCESS);
+        } catch (Exception e) {
+            log.error("分块处理用户数据发生异常, 检查点:[{}]", history.getCheckpoint(), e);
+            //已提交分块的数量及检查点以数据库为准
+            IdentitySourceSyncHistoryEntity committed = identitySourceSyncHistoryRepository
+                .findById(history.getId()).orElse(history);
+            updateSyncHistory(null, committed, SyncStatus.FAIL);
+        }
+    }
+
+    /**
+     * 获取检查点，仅定时同步从上一次定时同步的检查点继续；手动同步全量比对，不使用检查点
+     *
+     * @param identitySourceId {@link String} 身份源ID
+     * @param triggerType {@link TriggerType} 触发类型
+     * @return {@link String}
+     */
+    String getCheckpoint(String identitySourceId, TriggerType triggerType) {
+        if (!TriggerType.JOB.equals(triggerType)) {
+            return null;
+        }
+        return identitySourceSyncHistoryRepository
+            .findFirstByIdentitySourceIdAndObjectTypeOrderByStartTimeDesc(identitySourceId,
+                IdentitySourceObjectType.USER)
+            .filter(last -> TriggerType.JOB.equals(last.getTriggerType()))
+            .filter(last -> !SyncStatus.SUCCESS.equals(last.getStatus()))
+            .map(IdentitySourceSyncHistoryEntity::getCheckpoint).orElse(null);
+    }
+
+    /**
+     * 处理一个分块，单独提交事务，提交时同时更新同步数量及检查点
+     *
+     * @param identitySource {@link IdentitySourceEntity} 身份源信息
+     * @param thirdPartyUserList {@link List} 分块上游用户
+     * @param users {@link List} 分块上游用户对应的当前用户
+     * @param unchangedUserIds {@link Set} 跳过的上游用户ID
+     * @param hashes {@link Map} 本次上游用户摘要
+     * @param storedHashes {@link Map} 已保存的用户摘要
+     * @param history {@link IdentitySourceSyncHistoryEntity} 同步历史
+     * @param checkpoint {@link String} 分块最后一个上游用户ID
+     */
+    private void processChunk(IdentitySourceEntity identitySource, List<User> thirdPartyUserList,
+                              List<UserEntity> users, Set<String> unchangedUserIds,
+                              Map<String, String> hashes, Map<String, String> storedHashes,
+                              IdentitySourceSyncHistoryEntity history, String checkpoint) {
+        TransactionStatus transactionStatus = platformTransactionManager
+            .getTransaction(transactionDefinition);
+        ProcessDataResult processData;
+        try {
+            InitDataResult initData = initData(identitySource, thirdPartyUserList, users,
+                unchangedUserIds);
+            processData = processData(identitySource, initData);
+            validateData(processData);
+            saveData(processData);
+            saveSyncHash(identitySource.getId(), hashes, storedHashes, processData);
+            //更新同步数量及检查点
+            addSyncCount(processData, history);
+            history.setCheckpoint(checkpoint);
+            identitySourceSyncHistoryRepository.save(history);
+            saveSyncHistoryRecord(history.getId(), processData);
+            platformTransactionManager.commit(transactionStatus);
+        } catch (Exception e) {
+            platformTransactionManager.rollback(transactionStatus);
+            throw e;
+        }
+        publishMessage(identitySource, processData);
+    }
+
+    /**
+     * 获取摘要未变化的上游用户ID，定时同步时跳过摘要未变化的用户，手动同步全量比对
+     *
+     * @param hashes {@link Map} 本次上游用户摘要
+     * @param storedHashes {@link Map} 已保存的用户摘要
+     * @param triggerType {@link TriggerType} 触发类型
+     * @return {@link Set}
+     */
+    private Set<String> getUnchangedUserIds(Map<String, String> hashes,
+                                            Map<String, String> storedHashes,
+                                            TriggerType triggerType) {
+        if (!TriggerType.JOB.equals(triggerType)) {
+            return Sets.newHashSet();
+        }
+        return hashes.keySet().stream()
+            .filter(userId -> hashes.get(userId).equals(storedHashes.get(userId)))
+            .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * 保存数据
+     *
+     * @param processData {@link ProcessDataResult}
+     */
+    private void saveData(ProcessDataResult processData) {
+        //批量保存用户
+        if (!CollectionUtils.isEmpty(processData.getCreateUsers())) {
+            List<UserEntity> createUserList = Lists.newArrayList(processData.getCreateUsers());
+            userRepository.batchSave(createUserList);
+        }
+        //批量更新用户
+        if (!CollectionUtils.isEmpty(processData.getUpdateUsers())) {
+            List<UserEntity> updateUserList = Lists.newArrayList(processData.getUpdateUsers());
+            userRepository.batchUpdate(updateUserList);
+        }
+        //保存组织成员关系
+        if (!CollectionUtils.isEmpty(processData.getCreateOrganizationMembers())) {
+            List<OrganizationMemberEntity> organizationMemberEntityList = Lists
+                .newArrayList(processData.getCreateOrganizationMembers());
+            organizationMemberRepository.batchSave(organizationMemberEntityList);
+        }
+        //删除相关数据
+        List<String> deleteUserIds;
+        if (!CollectionUtils.isEmpty(processData.getDeleteUsers())) {
+            deleteUserIds = processData.getDeleteUsers().stream().map(IdEntity::getId).toList();
+            //删除用户
+            userRepository.deleteAllById(deleteUserIds);
+            //删除用户详情
+            userDetailRepository.deleteAllByUserIdIn(deleteUserIds);
+            //删除组织用户关联关系
+            organizationMemberRepository.deleteAllByUserIdIn(deleteUserIds);
+            //删除用户组关系
+            userGroupMemberRepository.deleteAllByUserIdIn(deleteUserIds);
+        }
+        //删除组织关系
+        if (!CollectionUtils.isEmpty(processData.getDeleteOrganizationMembers())) {
+            for (String userId : processData.getDeleteOrganizationMembers().keySet()) {
+                for (String orgId : processData.getDeleteOrganizationMembers().get(userId)) {
+                    organizationMemberRepository.deleteByOrgIdAndUserId(orgId, userId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 发送新增用户密码通知
+     *
+     * @param identitySource {@link IdentitySourceEntity} 身份源信息
+     * @param processData {@link ProcessDataResult}
+     */
+    private void publishMessage(IdentitySourceEntity identitySource,
+                                ProcessDataResult processData) {
+        if (!CollectionUtils.isEmpty(processData.getCreateUsers()) && Boolean.TRUE
+            .equals(identitySource.getStrategyConfig().getUser().getEmailNotify())) {
+            // 发送密码通知
+            publishMessage(Lists.newArrayList(processData.getCreateUsers()));
+        }
+    }
+
+    /**
+     * 计算上游用户摘要，策略配置参与计算，配置变化后全部用户重新比对
+     *
+     * @param identitySource {@link IdentitySourceEntity} 身份源信息
+     * @param thirdPartyUserList {@link List} 上游用户信息
+     * @return {@link Map} KEY：外部ID，VALUE：摘要
+     */
+    private Map<String, String> digestUsers(IdentitySourceEntity identitySource,
+                                            List<User> thirdPartyUserList) {
+        String salt = digest(identitySource.getStrategyConfig());
+        Map<String, String> hashes = Maps.newHashMapWithExpectedSize(thirdPartyUserList.size());
+        thirdPartyUserList.forEach(user -> hashes.put(user.getUserId(), digest(salt, user)));
+        return hashes;
+    }
+
+    /**
+     * 保存上游用户摘要，处理失败的用户不更新摘要，下次同步重新处理
+     *
+     * @param identitySourceId {@link String} 身份源ID
+     * @param hashes {@link Map} 本次上游用户摘要
+     * @param storedHashes {@link Map} 已保存的用户摘要
+     * @param processData {@link ProcessDataResult}
+     */
+    private void saveSyncHash(String identitySourceId, Map<String, String> hashes,
+                              Map<String, String> storedHashes, ProcessDataResult processData) {
+        //@formatter:off
+        Map<String, String> changedHashes = Maps.newHashMap();
+        Stream.of(processData.getCreateUsers().stream(), processData.getUpdateUsers().stream(),
+                processData.getSkipUsers().stream().filter(skipUser -> SyncStatus.SKIP.equals(skipUser.getStatus())).map(SkipUser::getUser))
+            .flatMap(Function.identity())
+            .map(UserEntity::getExternalId)
+            .filter(userId -> hashes.containsKey(userId) && !hashes.get(userId).equals(storedHashes.get(userId)))
+            .forEach(userId -> changedHashes.put(userId, hashes.get(userId)));
+        identitySourceSyncHashRepository.batchSave(identitySourceId, IdentitySourceObjectType.USER, changedHashes);
+        //@formatter:on
+    }
+
+    /**
+     * 上游已不存在的用户删除摘要
+     *
+     * @param identitySourceId {@link String} 身份源ID
+     * @param hashes {@link Map} 本次上游用户摘要
+     * @param storedHashes {@link Map} 已保存的用户摘要
+     */
+    private void removeSyncHash(String identitySourceId, Map<String, String> hashes,
+                                Map<String, String> storedHashes) {
+        //@formatter:off
+        List<String> removedUserIds = storedHashes.keySet().stream().filter(userId -> !hashes.containsKey(userId)).toList();
+        identitySourceSyncHashRepository.deleteAllByExternalIdIn(identitySourceId, IdentitySourceObjectType.USER, removedUserIds);
+        //@formatter:on
+    }
+
     /**
      * 新增同步记录
      *
@@ -295,16 +520,28 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
     private void updateSyncHistory(ProcessDataResult processData,
                                    IdentitySourceSyncHistoryEntity history, SyncStatus status) {
         if (!Objects.isNull(processData)) {
-            history.setSkippedCount(processData.getSkipUsers().size());
-            history.setDeletedCount(processData.getDeleteUsers().size());
-            history.setUpdatedCount(processData.getUpdateUsers().size());
-            history.setCreatedCount(processData.getCreateUsers().size());
+            addSyncCount(processData, history);
         }
         history.setEndTime(LocalDateTime.now());
         history.setStatus(status);
         identitySourceSyncHistoryRepository.save(history);
     }
 
+    /**
+     * 累加同步数量
+     *
+     * @param processData {@link ProcessDataResult} 数据
+     * @param history {@link IdentitySourceSyncHistoryEntity} 身份源同步历史
+     */
+    private void addSyncCount(ProcessDataResult processData,
+                              IdentitySourceSyncHistoryEntity history) {
+        history.setSkippedCount(history.getSkippedCount() + processData.getSkipUsers().size()
+                                + processData.getUnchangedCount());
+        history.setDeletedCount(history.getDeletedCount() + processData.getDeleteUsers().size());
+        history.setUpdatedCount(history.getUpdatedCount() + processData.getUpdateUsers().size());
+        history.setCreatedCount(history.getCreatedCount() + processData.getCreateUsers().size());
+    }
+
     /**
      * 保存同步历史
      *
@@ -325,6 +562,10 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
         history.setObjectType(IdentitySourceObjectType.USER);
         history.setTriggerType(triggerType);
         history.setStatus(SyncStatus.PENDING);
+        history.setCreatedCount(0);
+        history.setUpdatedCount(0);
+        history.setDeletedCount(0);
+        history.setSkippedCount(0);
         identitySourceSyncHistoryRepository.save(history);
         return history;
     }
@@ -334,12 +575,22 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
      *
      * @param identitySource {@link IdentitySourceEntity} 身份源信息
      * @param thirdPartyUserList {@link List} 上游用户信息
+     * @param users {@link List} 当前用户信息
+     * @param unchangedUserIds {@link Set} 摘要未变化的上游用户ID
      */
     private InitDataResult initData(IdentitySourceEntity identitySource,
-                                    List<User> thirdPartyUserList) {
+                                    List<User> thirdPartyUserList, List<UserEntity> users,
+                                    Set<String> unchangedUserIds) {
         StrategyConfig strategyConfig = identitySource.getStrategyConfig();
         String targetId = strategyConfig.getOrganization().getTargetId();
         //@formatter:off
+        //摘要未变化且本地存在的用户直接跳过，不再比对
+        Set<String> skipUserIds = users.stream().map(UserEntity::getExternalId).filter(unchangedUserIds::contains).collect(toSet());
+        if (!skipUserIds.isEmpty()) {
+            log.info("上游用户摘要未变化, 跳过用户数量: {}", skipUserIds.size());
+            users = users.stream().filter(user -> !skipUserIds.contains(user.getExternalId())).toList();
+            thirdPartyUserList = thirdPartyUserList.stream().filter(user -> !skipUserIds.contains(user.getUserId())).toList();
+        }
         //封装三方组织及用户，为上游最新数据结构，Key: 用户，Value: 部门列表
         Map<User, Set<OrganizationEntity>> thirdPartyUserOrganizations = Maps.newHashMap();
         //封装当前系统组织及用户， KEY: 用户，Value: 部门列表
@@ -363,7 +614,6 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
         }
 
         //封装当前用户
-        List<UserEntity> users = userRepository.findAllByIdentitySourceId(identitySource.getId());
         Map<String,OrganizationEntity> identitySourceOrgMap = identitySourceOrgList.stream().collect(Collectors.toMap(OrganizationEntity::getId, Function.identity()));
         users.forEach(user -> {
             List<OrganizationMemberEntity> organizationMembers = organizationMemberRepository.findAllByUserId(user.getId());
@@ -379,11 +629,10 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
                 }
             });
         });
-        //会存在同一来源下组织未关联用户情况，查询这部分数据
-        List<UserEntity> userNotExistOrgList = userRepository.findAllByOrgIdNotExistAndIdentitySourceId(identitySource.getId());
-        userNotExistOrgList.forEach(user -> currentUserOrganizations.put(user,Sets.newHashSet()));
+        //会存在同一来源下组织未关联用户情况
+        users.forEach(user -> currentUserOrganizations.putIfAbsent(user, Sets.newHashSet()));
         return InitDataResult.builder().currentUsers(currentUserOrganizations).thirdPartyUsers(thirdPartyUserOrganizations)
-                .build();
+                .unchangedCount(skipUserIds.size()).build();
         //@formatter:on
     }
 
@@ -402,6 +651,11 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
          * 封装当前系统部门及用户， KEY: 用户，Value: 用户所有部门
          */
         private Map<UserEntity, Set<OrganizationEntity>> currentUsers;
+
+        /**
+         * 摘要未变化跳过的用户数量
+         */
+        private int                                      unchangedCount;
     }
 
     /**
@@ -495,7 +749,9 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
                 //需要创建的组织成员关系
                 .createOrganizationMembers(createOrganizationMembers)
                 //需要删除的组织成员关系
-                .deleteOrganizationMembers(deleteOrganizationMembers).build();
+                .deleteOrganizationMembers(deleteOrganizationMembers)
+                //摘要未变化跳过的用户数量
+                .unchangedCount(initData.getUnchangedCount()).build();
         //@formatter:on
     }
 
@@ -706,32 +962,47 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
          * 删除组织成员关系 KEY：用户ID，value： 组织ID集合
          */
         private Map<String, Set<String>>      deleteOrganizationMembers;
+
+        /**
+         * 摘要未变化跳过的用户数量
+         */
+        private int                           unchangedCount;
     }
 
     /**
      * 用户 Repository
      */
-    private final UserRepository               userRepository;
+    private final UserRepository                   userRepository;
 
     /**
      * 用户详情 Repository
      */
-    private final UserDetailRepository         userDetailRepository;
+    private final UserDetailRepository             userDetailRepository;
 
     /**
      * 组织机构 Repository
      */
-    private final OrganizationRepository       organizationRepository;
+    private final OrganizationRepository           organizationRepository;
 
     /**
      * 组织成员 Repository
      */
-    private final OrganizationMemberRepository organizationMemberRepository;
+    private final OrganizationMemberRepository     organizationMemberRepository;
 
     /**
      * 删除用户组关联关系
      */
-    private final UserGroupMemberRepository    userGroupMemberRepository;
+    private final UserGroupMemberRepository        userGroupMemberRepository;
+
+    /**
+     * 身份源同步摘要
+     */
+    private final IdentitySourceSyncHashRepository identitySourceSyncHashRepository;
+
+    /**
+     * 身份源同步配置
+     */
+    private final IdentitySourceSyncProperties     identitySourceSyncProperties;
 
     public DefaultIdentitySourceUserPostProcessor(MailMsgEventPublish mailMsgEventPublish,
                                                   TransactionDefinition transactionDefinition,
@@ -747,6 +1018,8 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
                                                   OrganizationMemberRepository organizationMemberRepository,
                                                   UserGroupMemberRepository userGroupMemberRepository,
                                                   OrganizationRepository organizationRepository,
+                                                  IdentitySourceSyncHashRepository identitySourceSyncHashRepository,
+                                                  IdentitySourceSyncProperties identitySourceSyncProperties,
                                                   Storage storage) {
         super(mailMsgEventPublish, passwordEncoder, passwordGenerator, transactionDefinition,
             platformTransactionManager, entityManager, identitySourceRepository,
@@ -756,5 +1029,7 @@ public class DefaultIdentitySourceUserPostProcessor extends AbstractIdentitySour
         this.organizationMemberRepository = organizationMemberRepository;
         this.userGroupMemberRepository = userGroupMemberRepository;
         this.organizationRepository = organizationRepository;
+        this.identitySourceSyncHashRepository = identitySourceSyncHashRepository;
+        this.identitySourceSyncProperties = identitySourceSyncProperties;
     }
 }
@@ -0,0 +1,218 @@
+/*
+ * eiam-synchronizer - Employee Identity and Access Management
+ * Copyright © 2022-Present Jinan Yuanchuang Network Technology Co., Ltd. (support@topiam.cn)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package cn.topiam.employee.synchronizer.processor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import cn.topiam.employee.common.entity.account.UserEntity;
+import cn.topiam.employee.common.entity.identitysource.IdentitySourceEntity;
+import cn.topiam.employee.common.entity.identitysource.IdentitySourceSyncHistoryEntity;
+import cn.topiam.employee.common.entity.identitysource.config.StrategyConfig;
+import cn.topiam.employee.common.enums.SyncStatus;
+import cn.topiam.employee.common.enums.TriggerType;
+import cn.topiam.employee.common.enums.UserStatus;
+import cn.topiam.employee.common.enums.identitysource.IdentitySourceObjectType;
+import cn.topiam.employee.common.repository.account.*;
+import cn.topiam.employee.common.repository.identitysource.IdentitySourceRepository;
+import cn.topiam.employee.common.repository.identitysource.IdentitySourceSyncHashRepository;
+import cn.topiam.employee.common.repository.identitysource.IdentitySourceSyncHistoryRepository;
+import cn.topiam.employee.common.repository.identitysource.IdentitySourceSyncRecordRepository;
+import cn.topiam.employee.common.storage.Storage;
+import cn.topiam.employee.core.message.mail.MailMsgEventPublish;
+import cn.topiam.employee.identitysource.core.domain.User;
+import cn.topiam.employee.identitysource.core.domain.UserDetail;
+import cn.topiam.employee.support.security.password.PasswordGenerator;
+import cn.topiam.employee.synchronizer.configuration.IdentitySourceSyncProperties;
+
+import jakarta.persistence.EntityManager;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * 身份源用户同步检查点测试
+ *
+ * @author TopIAM
+ * Created by support@topiam.cn on 2026/10/20 00:40
+ */
+class DefaultIdentitySourceUserPostProcessorTest {
+
+    private static final String                         IDENTITY_SOURCE_ID           = "identity-source-id";
+
+    private final IdentitySourceSyncHistoryRepository   historyRepository            = mock(
+        IdentitySourceSyncHistoryRepository.class);
+
+    private final IdentitySourceRepository              identitySourceRepository     = mock(
+        IdentitySourceRepository.class);
+
+    private final UserRepository                        userRepository               = mock(
+        UserRepository.class);
+
+    private final OrganizationMemberRepository          organizationMemberRepository = mock(
+        OrganizationMemberRepository.class);
+
+    private final IdentitySourceSyncProperties          properties                   = new IdentitySourceSyncProperties();
+
+    private DefaultIdentitySourceUserPostProcessor      processor;
+
+    @BeforeEach
+    void setUp() {
+        //@formatter:off
+        processor = new DefaultIdentitySourceUserPostProcessor(mock(MailMsgEventPublish.class),
+                mock(TransactionDefinition.class), mock(PlatformTransactionManager.class), mock(EntityManager.class),
+                identitySourceRepository, historyRepository, mock(IdentitySourceSyncRecordRepository.class),
+                mock(PasswordEncoder.class), mock(PasswordGenerator.class), userRepository,
+                mock(UserDetailRepository.class), organizationMemberRepository,
+                mock(UserGroupMemberRepository.class), mock(OrganizationRepository.class),
+                mock(IdentitySourceSyncHashRepository.class), properties,
+                mock(Storage.class));
+        //@formatter:on
+    }
+
+    /**
+     * 定时同步从上一次失败的定时同步检查点继续
+     */
+    @Test
+    void resumeFailedJob() {
+        mockLastHistory(TriggerType.JOB, SyncStatus.FAIL, "user-100");
+        assertThat(processor.getCheckpoint(IDENTITY_SOURCE_ID, TriggerType.JOB))
+            .isEqualTo("user-100");
+    }
+
+    /**
+     * 手动同步全量比对，不读取检查点
+     */
+    @Test
+    void manualIgnoresCheckpoint() {
+        mockLastHistory(TriggerType.JOB, SyncStatus.FAIL, "user-100");
+        assertThat(processor.getCheckpoint(IDENTITY_SOURCE_ID, TriggerType.MANUAL)).isNull();
+        verifyNoInteractions(historyRepository);
+    }
+
+    /**
+     * 上一次同步为手动同步或已成功时，不使用检查点
+     */
+    @Test
+    void ignoreManualOrSuccessfulHistory() {
+        mockLastHistory(TriggerType.MANUAL, SyncStatus.FAIL, "user-100");
+        assertThat(processor.getCheckpoint(IDENTITY_SOURCE_ID, TriggerType.JOB)).isNull();
+        mockLastHistory(TriggerType.JOB, SyncStatus.SUCCESS, "user-100");
+        assertThat(processor.getCheckpoint(IDENTITY_SOURCE_ID, TriggerType.JOB)).isNull();
+    }
+
+    /**
+     * 分块同步第二块失败时，检查点为第一块最后一个用户ID，下次定时同步跳过第一块用户
+     */
+    @Test
+    void resumeAfterFailedChunk() {
+        properties.setUserChunkSize(2);
+        List<User> users = Stream.of("u1", "u2", "u3", "u4").map(this::thirdPartyUser).toList();
+        IdentitySourceEntity identitySource = identitySource();
+        when(identitySourceRepository.findById(IDENTITY_SOURCE_ID))
+            .thenReturn(Optional.of(identitySource));
+        when(userRepository.findAllByIdentitySourceId(IDENTITY_SOURCE_ID)).thenReturn(
+            users.stream().map(user -> userEntity(user.getUserId())).toList());
+        //第二块第一个用户处理失败
+        when(organizationMemberRepository.findAllByUserId("local-u3"))
+            .thenThrow(new IllegalStateException("chunk 2 failed")).thenReturn(List.of());
+        ArgumentCaptor<IdentitySourceSyncHistoryEntity> histories = ArgumentCaptor
+            .forClass(IdentitySourceSyncHistoryEntity.class);
+
+        processor.process("batch-1", IDENTITY_SOURCE_ID, users, LocalDateTime.now(),
+            TriggerType.JOB);
+
+        verify(historyRepository, atLeastOnce()).save(histories.capture());
+        IdentitySourceSyncHistoryEntity failed = histories.getValue();
+        assertThat(failed.getStatus()).isEqualTo(SyncStatus.FAIL);
+        assertThat(failed.getCheckpoint()).isEqualTo("u2");
+
+        //下次定时同步从检查点继续
+        when(historyRepository.findFirstByIdentitySourceIdAndObjectTypeOrderByStartTimeDesc(
+            IDENTITY_SOURCE_ID, IdentitySourceObjectType.USER)).thenReturn(Optional.of(failed));
+        clearInvocations(organizationMemberRepository, historyRepository);
+
+        processor.process("batch-2", IDENTITY_SOURCE_ID, users, LocalDateTime.now(),
+            TriggerType.JOB);
+
+        verify(organizationMemberRepository, never()).findAllByUserId("local-u1");
+        verify(organizationMemberRepository, never()).findAllByUserId("local-u2");
+        verify(organizationMemberRepository).findAllByUserId("local-u3");
+        verify(organizationMemberRepository).findAllByUserId("local-u4");
+        verify(historyRepository, atLeastOnce()).save(histories.capture());
+        IdentitySourceSyncHistoryEntity resumed = histories.getValue();
+        assertThat(resumed).isNotSameAs(failed);
+        assertThat(resumed.getStatus()).isEqualTo(SyncStatus.SUCCESS);
+        assertThat(resumed.getCheckpoint()).isEqualTo("u4");
+        assertThat(resumed.getSkippedCount()).isEqualTo(users.size());
+    }
+
+    private IdentitySourceEntity identitySource() {
+        StrategyConfig.Organization organization = new StrategyConfig.Organization();
+        organization.setTargetId("root-org-id");
+        StrategyConfig strategyConfig = new StrategyConfig();
+        strategyConfig.setOrganization(organization);
+        strategyConfig.setUser(new StrategyConfig.User());
+        IdentitySourceEntity identitySource = new IdentitySourceEntity();
+        identitySource.setId(IDENTITY_SOURCE_ID);
+        identitySource.setStrategyConfig(strategyConfig);
+        return identitySource;
+    }
+
+    private User thirdPartyUser(String userId) {
+        UserDetail userDetail = new UserDetail();
+        userDetail.setName("name-" + userId);
+        User user = new User();
+        user.setUserId(userId);
+        user.setActive(true);
+        user.setDeptIdList(List.of());
+        user.setUserDetail(userDetail);
+        return user;
+    }
+
+    /**
+     * 与上游用户信息一致的本地用户
+     */
+    private UserEntity userEntity(String userId) {
+        UserEntity user = new UserEntity();
+        user.setId("local-" + userId);
+        user.setUsername("username-" + userId);
+        user.setExternalId(userId);
+        user.setIdentitySourceId(IDENTITY_SOURCE_ID);
+        user.setStatus(UserStatus.ENABLED);
+        user.setFullName("name-" + userId);
+        return user;
+    }
+
+    private void mockLastHistory(TriggerType triggerType, SyncStatus status, String checkpoint) {
+        IdentitySourceSyncHistoryEntity history = new IdentitySourceSyncHistoryEntity();
+        history.setTriggerType(triggerType);
+        history.setStatus(status);
+        history.setCheckpoint(checkpoint);
+        when(historyRepository.findFirstByIdentitySourceIdAndObjectTypeOrderByStartTimeDesc(
+            IDENTITY_SOURCE_ID, IdentitySourceObjectType.USER)).thenReturn(Optional.of(history));
+    }
+}